@@ -0,0 +1,252 @@
+package main.java.com.carrental.model;
+
+import main.java.com.carrental.api.ApiServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Closed-loop load test of the HTTP API: a number of virtual-thread clients
+ * each send one request at a time, and throughput and latency percentiles
+ * are reported once the warm-up is over. This is a plain program, not a JMH
+ * benchmark:
+ * <pre>
+ * java -cp "build/bench/classes:build/classes:lib/jmh/*" main.java.com.carrental.model.ApiLoadTest \
+ *     [--url http://host:port] [--clients 64] [--warmup 10] [--duration 30] [--cars 1000] [--customers 10000]
+ * java -cp ... main.java.com.carrental.model.ApiLoadTest --serve 8080 [--cars 1000] [--customers 10000]
+ * </pre>
+ *
+ * <p>Without {@code --url}, an {@link ApiServer} is started in this JVM
+ * against an in-memory H2 database seeded with {@link BenchmarkData}, so the
+ * H2 driver JAR must be on the class path. With {@code --url}, an already
+ * running server is loaded; {@code --cars} and {@code --customers} then give
+ * the ID ranges to request. Only read endpoints are called, so the test can
+ * be repeated against the same database. With {@code --serve}, only the
+ * seeded server is started, on all interfaces at the given port, and runs
+ * until stopped; point a client on another machine at it with {@code --url}
+ * to keep the client's CPU use out of the server's numbers.</p>
+ *
+ * <p>The request mix is 30% availability searches, 30% quotes, 20% single
+ * cars and 20% customer rental histories. For numbers that mean anything,
+ * run the client on a different machine from the server, or at least give
+ * both several cores.</p>
+ */
+public class ApiLoadTest {
+    private static final int RENTALS_PER_CAR = 20;
+
+    private final String baseUrl;
+    private final int cars;
+    private final int customers;
+    private final LocalDateTime historyEnd = BenchmarkData.historyEnd(RENTALS_PER_CAR);
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+    private final AtomicIntegerArray statuses = new AtomicIntegerArray(600);
+    private volatile boolean recording;
+    private volatile boolean running = true;
+
+    private ApiLoadTest(String baseUrl, int cars, int customers) {
+        this.baseUrl = baseUrl;
+        this.cars = cars;
+        this.customers = customers;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = null;
+        int servePort = -1;
+        int clients = 64;
+        int warmupSeconds = 10;
+        int durationSeconds = 30;
+        int cars = 1000;
+        int customers = 10_000;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--url" -> url = value;
+                case "--serve" -> servePort = Integer.parseInt(value);
+                case "--clients" -> clients = Integer.parseInt(value);
+                case "--warmup" -> warmupSeconds = Integer.parseInt(value);
+                case "--duration" -> durationSeconds = Integer.parseInt(value);
+                case "--cars" -> cars = Integer.parseInt(value);
+                case "--customers" -> customers = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        if (servePort >= 0) {
+            ApiServer server = startLocalServer(new InetSocketAddress(servePort), cars, customers);
+            System.out.printf(Locale.ROOT, "Serving %d cars and %d customers on port %d, %d cores; Ctrl+C to stop%n",
+                cars, customers, server.getAddress().getPort(), Runtime.getRuntime().availableProcessors());
+            Thread.currentThread().join(); // The server's threads do the work until the JVM is stopped
+        }
+
+        ApiServer server = null;
+        if (url == null) {
+            server = startLocalServer(new InetSocketAddress("127.0.0.1", 0), cars, customers);
+            url = "http://127.0.0.1:" + server.getAddress().getPort();
+        }
+        try {
+            new ApiLoadTest(url, cars, customers).run(clients, warmupSeconds, durationSeconds);
+        } finally {
+            if (server != null) {
+                server.stop(0);
+                DatabaseConnection.shutdown();
+            }
+        }
+    }
+
+    private void run(int clients, int warmupSeconds, int durationSeconds) throws InterruptedException {
+        System.out.printf(Locale.ROOT, "%s: %d clients, %d s warm-up, %d s measured, %d cores%n",
+            baseUrl, clients, warmupSeconds, durationSeconds, Runtime.getRuntime().availableProcessors());
+        List<Worker> workers = new ArrayList<>(clients);
+        long elapsedNanos;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                Worker worker = new Worker(new Random(c));
+                workers.add(worker);
+                executor.execute(worker);
+            }
+            Thread.sleep(warmupSeconds * 1000L);
+            long startNanos = System.nanoTime();
+            recording = true;
+            Thread.sleep(durationSeconds * 1000L);
+            recording = false;
+            elapsedNanos = System.nanoTime() - startNanos;
+            running = false;
+        } // Waits for every worker to finish its last request
+        report(workers, elapsedNanos);
+    }
+
+    /**
+     * One client, sending requests back to back and keeping the latencies
+     * of those sent while recording.
+     */
+    private final class Worker implements Runnable {
+        private final Random random;
+        private long[] latencies = new long[1 << 14];
+        private int count;
+
+        Worker(Random random) {
+            this.random = random;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                boolean counted = recording;
+                long start = System.nanoTime();
+                int status = send(random);
+                long nanos = System.nanoTime() - start;
+                if (counted && recording) {
+                    statuses.incrementAndGet(status);
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = nanos;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends one request of the mix.
+     *
+     * @return The HTTP status, or 0 if the request failed without one
+     */
+    private int send(Random random) {
+        String path;
+        int pick = random.nextInt(10);
+        LocalDateTime start = BenchmarkData.EPOCH.plusHours(random.nextInt(
+            (int) Duration.between(BenchmarkData.EPOCH, historyEnd).toHours()));
+        LocalDateTime end = start.plusHours(1 + random.nextInt(96));
+        if (pick < 3) {
+            path = "/api/availability?start=" + start + "&end=" + end;
+        } else if (pick < 6) {
+            path = "/api/quote?carId=" + (1 + random.nextInt(cars)) + "&start=" + start + "&end=" + end;
+        } else if (pick < 8) {
+            path = "/api/cars/" + (1 + random.nextInt(cars));
+        } else {
+            path = "/api/customers/" + (1 + random.nextInt(customers)) + "/rentals";
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(10))
+            .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException ex) {
+            return 0;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    private void report(List<Worker> workers, long elapsedNanos) {
+        int total = 0;
+        for (Worker worker : workers) {
+            total += worker.count;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (Worker worker : workers) {
+            System.arraycopy(worker.latencies, 0, all, offset, worker.count);
+            offset += worker.count;
+        }
+        Arrays.sort(all);
+
+        System.out.printf(Locale.ROOT, "%,d requests in %.1f s: %,.0f requests/s%n",
+            total, elapsedNanos / 1e9, total * 1e9 / elapsedNanos);
+        if (total > 0) {
+            System.out.printf(Locale.ROOT, "latency ms: p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n",
+                percentile(all, 50), percentile(all, 90), percentile(all, 99), percentile(all, 99.9),
+                all[total - 1] / 1e6);
+        }
+        StringBuilder byStatus = new StringBuilder("status:");
+        for (int status = 0; status < statuses.length(); status++) {
+            if (statuses.get(status) > 0) {
+                byStatus.append(' ').append(status == 0 ? "failed" : Integer.toString(status))
+                    .append('=').append(statuses.get(status));
+            }
+        }
+        System.out.println(byStatus);
+    }
+
+    private static double percentile(long[] sorted, double percent) {
+        int index = (int) Math.ceil(percent / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    private static ApiServer startLocalServer(InetSocketAddress address, int cars, int customers)
+            throws SQLException, IOException {
+        DatabaseConfig config = new DatabaseConfig(DatabaseConfig.Mode.EMBEDDED,
+            "jdbc:h2:mem:api_load;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1",
+            "sa", "", DatabaseConfig.embedded().getBootstrapScript());
+        config.setPoolMaxSize(Math.max(8, 2 * Runtime.getRuntime().availableProcessors()));
+        DatabaseConnection.configure(config);
+        Car.addCars(BenchmarkData.cars(cars));
+        Customer.addCustomers(BenchmarkData.customers(Math.max(customers, 1000)));
+        Rental.addRentals(BenchmarkData.rentals(cars, RENTALS_PER_CAR), config.getBatchSize());
+        Car.findAvailableCars(LocalDateTime.now(), null, null); // Loads the catalog and availability index
+
+        ApiServer server = new ApiServer(address);
+        server.start();
+        return server;
+    }
+}
@@ -0,0 +1,81 @@
+package main.java.com.carrental.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures availability checks against the in-memory availability engine,
+ * both for a single car and for the fleet-wide free-car searches.
+ * The shared catalog and index are seeded directly, so no database is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvailabilityBenchmark {
+    private static final int QUERIES = 1024;
+
+    @Param({"1000", "5000"})
+    public int cars;
+
+    @Param({"100"})
+    public int rentalsPerCar;
+
+    private final int[] carIds = new int[QUERIES];
+    private final LocalDateTime[] starts = new LocalDateTime[QUERIES];
+    private final LocalDateTime[] ends = new LocalDateTime[QUERIES];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CarCatalog.getInstance().replaceAll(BenchmarkData.cars(cars));
+        RentalAvailabilityIndex.getInstance().load(BenchmarkData.rentals(cars, rentalsPerCar));
+
+        Random random = new Random(3);
+        long historyMinutes = Duration.between(
+            BenchmarkData.EPOCH, BenchmarkData.historyEnd(rentalsPerCar)).toMinutes();
+        for (int i = 0; i < QUERIES; i++) {
+            carIds[i] = 1 + random.nextInt(cars);
+            starts[i] = BenchmarkData.EPOCH.plusMinutes((long) (random.nextDouble() * historyMinutes));
+            ends[i] = starts[i].plusHours(1 + random.nextInt(72));
+        }
+    }
+
+    @Benchmark
+    public boolean isCarAvailable() throws SQLException {
+        int i = next++ & (QUERIES - 1);
+        return Rental.isCarAvailable(carIds[i], starts[i], ends[i]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Car> findAvailableCars() throws SQLException {
+        int i = next++ & (QUERIES - 1);
+        return Car.findAvailableCars(starts[i], ends[i], null);
+    }
+
+    @Benchmark
+    public Car findCheapestAvailableCar() throws SQLException {
+        int i = next++ & (QUERIES - 1);
+        return Car.findCheapestAvailableCar(starts[i], ends[i], null);
+    }
+}
@@ -0,0 +1,131 @@
+package main.java.com.carrental.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rows per second of the per-row inserts ({@link Car#addCar},
+ * {@link Customer#addCustomer}) against the batch APIs ({@link Car#addCars},
+ * {@link Customer#addCustomers}).
+ *
+ * <p>Runs against the embedded database, so the H2 driver JAR must be in
+ * {@code lib/jmh/} next to the JMH JARs. Without network round trips the
+ * gap is smaller than against a MySQL server, where every per-row insert
+ * also pays a round trip and a commit.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchInsertBenchmark {
+    private static final int ROWS = 1000;
+
+    private int round;
+
+    /**
+     * The batch size, a parameter of the batch benchmarks only.
+     */
+    @State(Scope.Benchmark)
+    public static class Batch {
+        @Param({"50", "500"})
+        public int batchSize;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        DatabaseConfig config = new DatabaseConfig(DatabaseConfig.Mode.EMBEDDED,
+            "jdbc:h2:mem:batch_bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1",
+            "sa", "", DatabaseConfig.embedded().getBootstrapScript());
+        DatabaseConnection.configure(config);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearTables() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM cars");
+            stmt.executeUpdate("DELETE FROM customers");
+        }
+        CarCatalog.getInstance().invalidate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DatabaseConnection.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void addCarPerRow() throws SQLException {
+        for (Car car : nextCars()) {
+            Car.addCar(car);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int[] addCarsBatch(Batch batch) throws SQLException {
+        return Car.addCars(nextCars(), batch.batchSize);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void addCustomerPerRow() throws SQLException {
+        for (Customer customer : nextCustomers()) {
+            Customer.addCustomer(customer);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int[] addCustomersBatch(Batch batch) throws SQLException {
+        return Customer.addCustomers(nextCustomers(), batch.batchSize);
+    }
+
+    /**
+     * @return Cars whose license plates are unique across invocations
+     */
+    private List<Car> nextCars() {
+        int prefix = round++;
+        List<Car> cars = new ArrayList<>(ROWS);
+        for (Car car : BenchmarkData.cars(ROWS)) {
+            car.setLicensePlate(prefix + "-" + car.getLicensePlate());
+            cars.add(car);
+        }
+        return cars;
+    }
+
+    /**
+     * @return Customers whose emails are unique across invocations
+     */
+    private List<Customer> nextCustomers() {
+        int prefix = round++;
+        List<Customer> customers = new ArrayList<>(ROWS);
+        for (Customer customer : BenchmarkData.customers(ROWS)) {
+            customer.setEmail(prefix + "." + customer.getEmail());
+            customers.add(customer);
+        }
+        return customers;
+    }
+}
@@ -0,0 +1,86 @@
+package main.java.com.carrental.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates deterministic fleets, customers and rental histories for the benchmarks.
+ */
+final class BenchmarkData {
+    private static final String[] MAKES = {"Toyota", "Honda", "Suzuki", "Daihatsu", "Mitsubishi", "Hyundai"};
+    private static final String[] MODELS = {"Avanza", "Brio", "Ertiga", "Xenia", "Xpander", "Creta"};
+
+    /** The first rental starts here; later rentals follow on each car's time line. */
+    static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 8, 0);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * @param count The number of cars
+     * @return Cars with IDs 1..count
+     */
+    static List<Car> cars(int count) {
+        Random random = new Random(42);
+        List<Car> cars = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            cars.add(new Car(id,
+                MAKES[random.nextInt(MAKES.length)],
+                MODELS[random.nextInt(MODELS.length)],
+                2010 + random.nextInt(15),
+                "B " + (1000 + id) + " XYZ",
+                50_000 + random.nextInt(20) * 5_000,
+                random.nextInt(10) != 0));
+        }
+        return cars;
+    }
+
+    /**
+     * @param count The number of customers
+     * @return Customers with IDs 1..count
+     */
+    static List<Customer> customers(int count) {
+        List<Customer> customers = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            customers.add(new Customer(id, "First" + id, "Last" + id,
+                "customer" + id + "@example.com", "0812" + (10_000_000 + id)));
+        }
+        return customers;
+    }
+
+    /**
+     * Builds back-to-back rental histories: each car is rented for a few hours
+     * to a few days, with gaps between rentals. The last rental of every
+     * tenth car is left open-ended.
+     *
+     * @param cars The number of cars
+     * @param rentalsPerCar The number of rentals per car
+     * @return Rentals with IDs 1..cars*rentalsPerCar
+     */
+    static List<Rental> rentals(int cars, int rentalsPerCar) {
+        Random random = new Random(7);
+        List<Rental> rentals = new ArrayList<>(cars * rentalsPerCar);
+        int rentalId = 1;
+        for (int carId = 1; carId <= cars; carId++) {
+            LocalDateTime cursor = EPOCH.plusHours(random.nextInt(48));
+            for (int i = 0; i < rentalsPerCar; i++) {
+                LocalDateTime start = cursor;
+                LocalDateTime end = start.plusHours(2 + random.nextInt(72));
+                boolean open = i == rentalsPerCar - 1 && carId % 10 == 0;
+                rentals.add(new Rental(rentalId++, carId, 1 + random.nextInt(1000),
+                    start, open ? null : end, 100_000));
+                cursor = end.plusHours(random.nextInt(48));
+            }
+        }
+        return rentals;
+    }
+
+    /**
+     * @return The end of the generated history, after which every closed rental has ended
+     */
+    static LocalDateTime historyEnd(int rentalsPerCar) {
+        return EPOCH.plusHours((long) rentalsPerCar * 120 + 48);
+    }
+}
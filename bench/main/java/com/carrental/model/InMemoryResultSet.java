@@ -0,0 +1,90 @@
+package main.java.com.carrental.model;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A forward-only stand-in for a JDBC result set over rows held in memory.
+ * Lets the benchmarks measure row-to-entity mapping without a database,
+ * so the numbers are not dominated by network and driver time.
+ *
+ * <p>Only the getters used by the model mappers are supported.</p>
+ */
+final class InMemoryResultSet {
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+    private final Object[][] rows;
+
+    /**
+     * @param columns The column labels, in order
+     * @param rows The row values; each row holds one value per column
+     */
+    InMemoryResultSet(String[] columns, Object[][] rows) {
+        for (int i = 0; i < columns.length; i++) {
+            columnIndexes.put(columns[i], i);
+        }
+        this.rows = rows;
+    }
+
+    /**
+     * Opens a fresh cursor positioned before the first row.
+     *
+     * @return A result set over the rows
+     */
+    ResultSet open() {
+        int[] cursor = {-1};
+        boolean[] lastWasNull = {false};
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[]{ResultSet.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "next":
+                        return ++cursor[0] < rows.length;
+                    case "close":
+                        return null;
+                    case "isClosed":
+                        return cursor[0] >= rows.length;
+                    case "wasNull":
+                        return lastWasNull[0];
+                    case "getInt":
+                    case "getDouble":
+                    case "getBoolean":
+                    case "getString":
+                    case "getTimestamp":
+                    case "getObject":
+                        Object value = rows[cursor[0]][indexOf(args[0])];
+                        lastWasNull[0] = value == null;
+                        return convert(method.getReturnType(), value);
+                    default:
+                        throw new SQLException("Not supported by InMemoryResultSet: " + method.getName());
+                }
+            });
+    }
+
+    private int indexOf(Object column) throws SQLException {
+        if (column instanceof Integer index) {
+            return index - 1;
+        }
+        Integer index = columnIndexes.get((String) column);
+        if (index == null) {
+            throw new SQLException("Unknown column: " + column);
+        }
+        return index;
+    }
+
+    private static Object convert(Class<?> type, Object value) {
+        if (type == int.class) {
+            return value == null ? 0 : ((Number) value).intValue();
+        }
+        if (type == double.class) {
+            return value == null ? 0.0 : ((Number) value).doubleValue();
+        }
+        if (type == boolean.class) {
+            return value != null && (Boolean) value;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,161 @@
+package main.java.com.carrental.model;
+
+import main.java.com.carrental.io.EntityJsonWriter;
+import main.java.com.carrental.io.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares three ways of serializing a list of rentals or cars to UTF-8
+ * JSON bytes:
+ * <ul>
+ *   <li><b>format</b>: one {@link String#format} per entity, joined and encoded at the end;</li>
+ *   <li><b>jsonWriter</b>: the token-based {@link JsonWriter} over an
+ *       {@code OutputStreamWriter}, formatting amounts with {@code BigDecimal}
+ *       as the JSON export does;</li>
+ *   <li><b>entityWriter</b>: {@link EntityJsonWriter}, reusing its buffer between invocations.</li>
+ * </ul>
+ * Run with {@code -prof gc} to compare the bytes allocated per invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private List<Rental> rentals;
+    private List<Car> cars;
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+    private final EntityJsonWriter entityWriter = new EntityJsonWriter(null, 1 << 16);
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(3);
+        rentals = BenchmarkData.rentals(rows / 10, 10);
+        for (Rental rental : rentals) {
+            rental.setTotalCost(random.nextInt(10_000_000) / 100.0); // Amounts with cents, as read from DECIMAL(10,2)
+        }
+        cars = BenchmarkData.cars(rows);
+    }
+
+    @Benchmark
+    public byte[] rentalsFormat() {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < rentals.size(); i++) {
+            Rental rental = rentals.get(i);
+            LocalDateTime end = rental.getReturnDatetime();
+            json.append(String.format(Locale.ROOT,
+                "{\"rental_id\":%d,\"car_id\":%d,\"customer_id\":%d,\"rental_datetime\":\"%s\","
+                    + "\"return_datetime\":%s,\"total_cost\":%.2f}",
+                rental.getRentalId(), rental.getCarId(), rental.getCustomerId(),
+                DATE_TIME_FORMAT.format(rental.getRentalDatetime()),
+                end != null ? "\"" + DATE_TIME_FORMAT.format(end) + "\"" : "null",
+                rental.getTotalCost()));
+            json.append(i + 1 < rentals.size() ? ",\n" : "\n");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int rentalsJsonWriter() throws IOException {
+        bytes.reset();
+        try (JsonWriter json = new JsonWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8))) {
+            json.beginArray();
+            for (Rental rental : rentals) {
+                LocalDateTime end = rental.getReturnDatetime();
+                json.beginObject()
+                    .name("rental_id").value(rental.getRentalId())
+                    .name("car_id").value(rental.getCarId())
+                    .name("customer_id").value(rental.getCustomerId())
+                    .name("rental_datetime").value(DATE_TIME_FORMAT.format(rental.getRentalDatetime()))
+                    .name("return_datetime").value(end != null ? DATE_TIME_FORMAT.format(end) : null)
+                    .name("total_cost").numberValue(amount(rental.getTotalCost()))
+                    .endObject();
+            }
+            json.endArray();
+        }
+        return bytes.size();
+    }
+
+    @Benchmark
+    public int rentalsEntityWriter() throws IOException {
+        entityWriter.reset();
+        entityWriter.rentals(rentals);
+        return entityWriter.size();
+    }
+
+    @Benchmark
+    public byte[] carsFormat() {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < cars.size(); i++) {
+            Car car = cars.get(i);
+            json.append(String.format(Locale.ROOT,
+                "{\"car_id\":%d,\"make\":\"%s\",\"model\":\"%s\",\"year\":%d,\"license_plate\":\"%s\","
+                    + "\"hourly_rate\":%.2f,\"available\":%b}",
+                car.getCarId(), car.getMake(), car.getModel(), car.getYear(), car.getLicensePlate(),
+                car.getHourlyRate(), car.isAvailable()));
+            json.append(i + 1 < cars.size() ? ",\n" : "\n");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int carsJsonWriter() throws IOException {
+        bytes.reset();
+        try (JsonWriter json = new JsonWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8))) {
+            json.beginArray();
+            for (Car car : cars) {
+                json.beginObject()
+                    .name("car_id").value(car.getCarId())
+                    .name("make").value(car.getMake())
+                    .name("model").value(car.getModel())
+                    .name("year").value(car.getYear())
+                    .name("license_plate").value(car.getLicensePlate())
+                    .name("hourly_rate").numberValue(amount(car.getHourlyRate()))
+                    .name("available").value(car.isAvailable())
+                    .endObject();
+            }
+            json.endArray();
+        }
+        return bytes.size();
+    }
+
+    @Benchmark
+    public int carsEntityWriter() throws IOException {
+        entityWriter.reset();
+        entityWriter.cars(cars);
+        return entityWriter.size();
+    }
+
+    private static String amount(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+}
@@ -0,0 +1,96 @@
+package main.java.com.carrental.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the ResultSet-to-entity mapping done by getAllCars, getAllCustomers
+ * and getAllRentals, using an in-memory result set in place of the driver.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private InMemoryResultSet cars;
+    private InMemoryResultSet customers;
+    private InMemoryResultSet rentals;
+
+    @Setup
+    public void setUp() {
+        cars = new InMemoryResultSet(
+            new String[]{"car_id", "make", "model", "year", "license_plate", "hourly_rate", "available"},
+            BenchmarkData.cars(rows).stream().map(car -> new Object[]{
+                car.getCarId(), car.getMake(), car.getModel(), car.getYear(),
+                car.getLicensePlate(), car.getHourlyRate(), car.isAvailable()
+            }).toArray(Object[][]::new));
+        customers = new InMemoryResultSet(
+            new String[]{"customer_id", "first_name", "last_name", "email", "phone_number"},
+            BenchmarkData.customers(rows).stream().map(customer -> new Object[]{
+                customer.getCustomerId(), customer.getFirstName(), customer.getLastName(),
+                customer.getEmail(), customer.getPhoneNumber()
+            }).toArray(Object[][]::new));
+        rentals = new InMemoryResultSet(
+            new String[]{"rental_id", "car_id", "customer_id", "rental_datetime", "return_datetime", "total_cost"},
+            BenchmarkData.rentals(rows / 10, 10).stream().map(rental -> new Object[]{
+                rental.getRentalId(), rental.getCarId(), rental.getCustomerId(),
+                Timestamp.valueOf(rental.getRentalDatetime()),
+                rental.getReturnDatetime() != null ? Timestamp.valueOf(rental.getReturnDatetime()) : null,
+                rental.getTotalCost()
+            }).toArray(Object[][]::new));
+    }
+
+    @Benchmark
+    public List<Car> mapCars() throws SQLException {
+        List<Car> result = new ArrayList<>();
+        try (ResultSet rs = cars.open()) {
+            while (rs.next()) {
+                result.add(Car.fromResultSet(rs));
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Customer> mapCustomers() throws SQLException {
+        List<Customer> result = new ArrayList<>();
+        try (ResultSet rs = customers.open()) {
+            while (rs.next()) {
+                result.add(Customer.fromResultSet(rs));
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Rental> mapRentals() throws SQLException {
+        List<Rental> result = new ArrayList<>();
+        try (ResultSet rs = rentals.open()) {
+            while (rs.next()) {
+                result.add(Rental.fromResultSet(rs));
+            }
+        }
+        return result;
+    }
+}
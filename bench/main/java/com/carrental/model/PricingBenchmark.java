@@ -0,0 +1,73 @@
+package main.java.com.carrental.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of a single quote through {@link Rental#calculateTotalCost},
+ * and of pricing the same windows as one batch on the epoch-second arrays of
+ * the {@link QuoteEngine}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+    private static final int WINDOWS = 1024;
+
+    private final LocalDateTime[] starts = new LocalDateTime[WINDOWS];
+    private final LocalDateTime[] ends = new LocalDateTime[WINDOWS];
+    private final double[] rates = new double[WINDOWS];
+    private final long[] rateCents = new long[WINDOWS];
+    private final long[] startSeconds = new long[WINDOWS];
+    private final long[] endSeconds = new long[WINDOWS];
+    private final long[] totalCents = new long[WINDOWS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        for (int i = 0; i < WINDOWS; i++) {
+            starts[i] = BenchmarkData.EPOCH.plusMinutes(random.nextInt(500_000));
+            ends[i] = starts[i].plusMinutes(30 + random.nextInt(10_000));
+            rates[i] = 50_000 + random.nextInt(20) * 5_000;
+            rateCents[i] = QuoteEngine.toCents(rates[i]);
+            startSeconds[i] = QuoteEngine.toEpochSeconds(starts[i]);
+            endSeconds[i] = QuoteEngine.toEpochSeconds(ends[i]);
+        }
+    }
+
+    @Benchmark
+    public double calculateTotalCost() {
+        int i = next++ & (WINDOWS - 1);
+        return Rental.calculateTotalCost(rates[i], starts[i], ends[i]);
+    }
+
+    @Benchmark
+    public void calculateTotalCostBatch(Blackhole blackhole) {
+        for (int i = 0; i < WINDOWS; i++) {
+            blackhole.consume(Rental.calculateTotalCost(rates[i], starts[i], ends[i]));
+        }
+    }
+
+    @Benchmark
+    public long quoteCentsBatch() {
+        QuoteEngine.quoteCents(rateCents, startSeconds, endSeconds, totalCents, WINDOWS);
+        return totalCents[QuoteEngine.cheapest(totalCents, WINDOWS)];
+    }
+}
@@ -0,0 +1,78 @@
+package main.java.com.carrental.model;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Checks that {@link Rental#calculateTotalCost} and the batch pricing of
+ * the {@link QuoteEngine} charge the same for random windows, including
+ * windows with seconds and windows that end before they start, and that both
+ * match the billing rule computed independently with {@link ChronoUnit}.
+ * This is a plain program, not a JMH benchmark; it exits with status 1 on
+ * the first mismatch:
+ * <pre>
+ * java -cp "build/bench/classes:build/classes" main.java.com.carrental.model.QuoteEngineCheck [--windows 1000000]
+ * </pre>
+ */
+public class QuoteEngineCheck {
+    private static final int BATCH = 1024;
+
+    public static void main(String[] args) {
+        int windows = 1_000_000;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--windows" -> windows = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        Random random = new Random(7);
+        double[] rates = new double[BATCH];
+        LocalDateTime[] starts = new LocalDateTime[BATCH];
+        LocalDateTime[] ends = new LocalDateTime[BATCH];
+        long[] rateCents = new long[BATCH];
+        long[] startSeconds = new long[BATCH];
+        long[] endSeconds = new long[BATCH];
+        long[] totalCents = new long[BATCH];
+
+        for (int checked = 0; checked < windows; checked += BATCH) {
+            int count = Math.min(BATCH, windows - checked);
+            for (int i = 0; i < count; i++) {
+                rates[i] = random.nextInt(10_000_000) / 100.0; // Up to DECIMAL(10,2) precision
+                starts[i] = BenchmarkData.EPOCH.plusSeconds(random.nextInt(50_000_000));
+                // Mostly short windows with seconds on both ends, some of them inverted
+                ends[i] = starts[i].plusSeconds(random.nextInt(400_000) - 1_000);
+                rateCents[i] = QuoteEngine.toCents(rates[i]);
+                startSeconds[i] = QuoteEngine.toEpochSeconds(starts[i]);
+                endSeconds[i] = QuoteEngine.toEpochSeconds(ends[i]);
+            }
+            QuoteEngine.quoteCents(rateCents, startSeconds, endSeconds, totalCents, count);
+
+            for (int i = 0; i < count; i++) {
+                long single = QuoteEngine.toCents(Rental.calculateTotalCost(rates[i], starts[i], ends[i]));
+                long expected = expectedCents(rateCents[i], starts[i], ends[i]);
+                if (single != expected || totalCents[i] != expected) {
+                    System.out.printf(Locale.ROOT, "Mismatch for rate %.2f from %s to %s: single %d, batch %d, expected %d%n",
+                        rates[i], starts[i], ends[i], single, totalCents[i], expected);
+                    System.exit(1);
+                }
+            }
+        }
+        System.out.printf(Locale.ROOT, "%,d windows: single and batch pricing agree%n", windows);
+    }
+
+    /**
+     * The billing rule as the application always stated it: whole minutes,
+     * every started hour in full, nothing for an inverted window.
+     */
+    private static long expectedCents(long rateCents, LocalDateTime start, LocalDateTime end) {
+        if (start.isAfter(end)) {
+            return 0;
+        }
+        long minutes = ChronoUnit.MINUTES.between(start, end);
+        long hours = minutes / 60 + (minutes % 60 != 0 ? 1 : 0);
+        return hours * rateCents;
+    }
+}
@@ -37,5 +37,18 @@ CREATE TABLE IF NOT EXISTS rentals (
     FOREIGN KEY (customer_id) REFERENCES customers(customer_id)
 );
 
+-- One row per car and day, maintained with every rental change; rebuild with
+-- the rebuild-summary command after changing rentals outside the application
+CREATE TABLE IF NOT EXISTS daily_rental_summary (
+    summary_date DATE NOT NULL,
+    car_id INT NOT NULL,
+    rental_count INT NOT NULL DEFAULT 0,
+    booked_seconds BIGINT NOT NULL DEFAULT 0,
+    revenue DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (summary_date, car_id)
+);
+
+-- Default login admin / admin123, stored as a PBKDF2 hash (see PasswordHasher).
+-- Change this password after the first login.
 INSERT INTO users (username, password) 
-VALUES ('admin', 'admin123');
\ No newline at end of file
+VALUES ('admin', 'pbkdf2$600000$Uarr21Gi8zPX8lMwTE81hQ$0TdCpy1YeJ2WRk8mtDm+enjsvFGjaiJetb3JabuZVdw');
\ No newline at end of file
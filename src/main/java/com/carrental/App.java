@@ -4,10 +4,24 @@ import main.java.com.carrental.controller.CarController;
 import main.java.com.carrental.controller.CustomerController;
 import main.java.com.carrental.controller.LoginController;
 import main.java.com.carrental.controller.RentalController;
+import main.java.com.carrental.controller.ReportController;
+import main.java.com.carrental.io.CalibratePasswordHashCommand;
+import main.java.com.carrental.io.ExportCommand;
+import main.java.com.carrental.io.ImportCommand;
+import main.java.com.carrental.io.RebuildSummaryCommand;
+import main.java.com.carrental.io.ServeCommand;
+import main.java.com.carrental.io.VerifyIndexesCommand;
+import main.java.com.carrental.model.DatabaseConfig;
+import main.java.com.carrental.model.DatabaseConnection;
 import main.java.com.carrental.view.LoginFrame;
 import main.java.com.carrental.view.MainFrame;
 
+import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The main application class for the Car Rental System.
@@ -20,9 +34,40 @@ public class App {
     /**
      * The main method that launches the application.
      * 
-     * @param args Command line arguments (not used in this application)
+     * @param args Command line arguments; {@code --embedded} runs against an
+     *             embedded database instead of the MySQL server. Without further
+     *             arguments the GUI is started; otherwise the first argument names
+     *             a headless command, such as {@code import} or {@code export}
      */
     public static void main(String[] args) {
+        // Release pooled database connections when the JVM exits
+        Runtime.getRuntime().addShutdownHook(new Thread(DatabaseConnection::shutdown));
+
+        List<String> commandArgs = new ArrayList<>(List.of(args));
+        if (commandArgs.remove("--embedded")) {
+            System.setProperty("carrental.db.mode", "embedded");
+        }
+        boolean headless = !commandArgs.isEmpty();
+
+        // Select the database before any model call; the embedded database is bootstrapped here
+        try {
+            DatabaseConnection.configure(DatabaseConfig.load());
+        } catch (SQLException | IOException | IllegalArgumentException ex) {
+            if (headless) {
+                System.err.println("Error configuring database: " + ex.getMessage());
+            } else {
+                JOptionPane.showMessageDialog(null,
+                    "Error configuring database: " + ex.getMessage(),
+                    "Database Error",
+                    JOptionPane.ERROR_MESSAGE);
+            }
+            System.exit(1);
+        }
+
+        if (headless) {
+            System.exit(runCommand(commandArgs.get(0), commandArgs.subList(1, commandArgs.size())));
+        }
+
         // Use SwingUtilities.invokeLater to ensure thread-safe GUI operations
         SwingUtilities.invokeLater(() -> {
             // Create the main application frame (initially hidden)
@@ -44,8 +89,39 @@ public class App {
             // RentalController manages the rental panel operations
             new RentalController(mainFrame.getRentalPanel());
 
+            // ReportController builds the reports shown on the reports tab
+            new ReportController(mainFrame.getReportPanel());
+
             // Display the login frame first (main frame remains hidden until successful login)
             loginFrame.setVisible(true);
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs a headless command.
+     *
+     * @param command The command name
+     * @param args The arguments following the command name
+     * @return The process exit code
+     */
+    private static int runCommand(String command, List<String> args) {
+        switch (command) {
+            case "import":
+                return ImportCommand.run(args);
+            case "export":
+                return ExportCommand.run(args);
+            case "rebuild-summary":
+                return RebuildSummaryCommand.run(args);
+            case "verify-indexes":
+                return VerifyIndexesCommand.run(args);
+            case "calibrate-password-hash":
+                return CalibratePasswordHashCommand.run(args);
+            case "serve":
+                return ServeCommand.run(args);
+            default:
+                System.err.println("Unknown command: " + command);
+                System.err.println("Commands: import, export, rebuild-summary, verify-indexes, calibrate-password-hash, serve");
+                return 2;
+        }
+    }
+}
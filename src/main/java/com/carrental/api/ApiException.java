@@ -0,0 +1,29 @@
+package main.java.com.carrental.api;
+
+/**
+ * A request that cannot be served, with the HTTP status to answer it with.
+ * The message is sent to the client, so it must not reveal internals.
+ */
+class ApiException extends Exception {
+    private final int status;
+
+    /**
+     * @param status The HTTP status code, e.g. 400 or 404
+     * @param message The error message for the client
+     */
+    ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    /** @return The HTTP status code */
+    int getStatus() { return status; }
+
+    static ApiException badRequest(String message) {
+        return new ApiException(400, message);
+    }
+
+    static ApiException notFound(String message) {
+        return new ApiException(404, message);
+    }
+}
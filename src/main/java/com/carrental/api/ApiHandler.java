@@ -0,0 +1,104 @@
+package main.java.com.carrental.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import main.java.com.carrental.io.EntityJsonWriter;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Base class of the API endpoints. A subclass reads what it needs from the
+ * model and returns a {@link Response}; this class turns it, or the
+ * exception thrown instead, into a JSON HTTP response. Bodies are encoded
+ * with an {@link EntityJsonWriter} straight into the response stream.
+ *
+ * <p>Each request runs on its own virtual thread (see {@link ApiServer}),
+ * so handlers simply block on the database.</p>
+ */
+abstract class ApiHandler implements HttpHandler {
+    private static final int WRITE_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * Writes a response body.
+     */
+    @FunctionalInterface
+    interface Body {
+        void write(EntityJsonWriter json) throws IOException;
+    }
+
+    /**
+     * A status code and the body to send with it.
+     */
+    record Response(int status, Body body) {
+        static Response ok(Body body) {
+            return new Response(200, body);
+        }
+    }
+
+    /**
+     * Serves one request.
+     *
+     * @param request The request
+     * @return The response to send
+     * @throws ApiException If the request cannot be served
+     * @throws SQLException If a database access error occurs
+     */
+    abstract Response handle(ApiRequest request) throws ApiException, SQLException;
+
+    @Override
+    public final void handle(HttpExchange exchange) throws IOException {
+        try {
+            Response response;
+            try {
+                response = handle(new ApiRequest(exchange));
+            } catch (ApiException ex) {
+                response = error(ex.getStatus(), ex.getMessage());
+            } catch (SQLException ex) {
+                System.err.println("API " + exchange.getRequestMethod() + " " + exchange.getRequestURI()
+                    + ": " + ex.getMessage());
+                response = error(500, "Database error");
+            } catch (RuntimeException ex) {
+                // A bug or a value the model rejects; answer it rather than drop the connection
+                System.err.println("API " + exchange.getRequestMethod() + " " + exchange.getRequestURI()
+                    + ": " + ex.getClass().getName() + ": " + ex.getMessage());
+                response = error(500, "Internal error");
+            }
+            if (response.status() == 405) {
+                exchange.getResponseHeaders().set("Allow", allowedMethods());
+            }
+            send(exchange, response);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * @return The methods this endpoint accepts, for the {@code Allow} header of a 405 response
+     */
+    String allowedMethods() {
+        return "GET";
+    }
+
+    /**
+     * @param request The request
+     * @throws ApiException If the request's method is not {@code GET}
+     */
+    static void requireGet(ApiRequest request) throws ApiException {
+        if (!request.method().equals("GET")) {
+            throw new ApiException(405, "Method not allowed: " + request.method());
+        }
+    }
+
+    private static Response error(int status, String message) {
+        return new Response(status, json -> json.beginObject().name("error").value(message).endObject());
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status(), 0); // Chunked; lists are streamed as they are written
+        try (EntityJsonWriter json = new EntityJsonWriter(exchange.getResponseBody(), WRITE_BUFFER_SIZE)) {
+            response.body().write(json);
+        }
+    }
+}
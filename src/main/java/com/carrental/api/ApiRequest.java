@@ -0,0 +1,219 @@
+package main.java.com.carrental.api;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The parts of an HTTP request an {@link ApiHandler} needs: the method, the
+ * path below the handler's context, and the parameters. Parameters come from
+ * the query string and, for a {@code POST}, from an
+ * {@code application/x-www-form-urlencoded} body; body values win.
+ */
+final class ApiRequest {
+    /** Larger form bodies are rejected; no API call needs more. */
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+    private static final DateTimeFormatter DATE_TIME_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd['T'][' ']HH:mm[:ss]");
+
+    private final String method;
+    private final String[] path;
+    private final Map<String, String> params = new HashMap<>();
+
+    /**
+     * Reads the request line and, for a {@code POST}, the form body.
+     *
+     * @param exchange The exchange being served
+     * @throws IOException If the body cannot be read
+     * @throws ApiException If the body is too large or not a form
+     */
+    ApiRequest(HttpExchange exchange) throws IOException, ApiException {
+        this.method = exchange.getRequestMethod();
+        String context = exchange.getHttpContext().getPath();
+        String rest = exchange.getRequestURI().getRawPath().substring(context.length());
+        this.path = segments(rest);
+        parseForm(exchange.getRequestURI().getRawQuery());
+        if (method.equals("POST")) {
+            String type = exchange.getRequestHeaders().getFirst("Content-Type");
+            if (type != null && !type.startsWith("application/x-www-form-urlencoded")) {
+                throw new ApiException(415, "Send parameters as application/x-www-form-urlencoded");
+            }
+            parseForm(readBody(exchange.getRequestBody()));
+        }
+    }
+
+    /** @return The HTTP method, such as {@code GET} */
+    String method() { return method; }
+
+    /**
+     * @return The decoded path segments below the handler's context; empty for the context itself
+     */
+    String[] path() { return path; }
+
+    /**
+     * @param name The parameter name
+     * @return The parameter value, or null if absent or blank
+     */
+    String param(String name) {
+        String value = params.get(name);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * @param name The parameter name
+     * @return The parameter value
+     * @throws ApiException If the parameter is missing
+     */
+    String requiredParam(String name) throws ApiException {
+        String value = param(name);
+        if (value == null) {
+            throw ApiException.badRequest("Missing parameter " + name);
+        }
+        return value;
+    }
+
+    /**
+     * @param name The parameter name
+     * @param defaultValue The value if the parameter is absent
+     * @return The parameter as an int
+     * @throws ApiException If the parameter is not an integer
+     */
+    int intParam(String name, int defaultValue) throws ApiException {
+        String value = param(name);
+        return value == null ? defaultValue : parseInt(name, value);
+    }
+
+    /**
+     * @param name The parameter name
+     * @return The parameter as an int
+     * @throws ApiException If the parameter is missing or not an integer
+     */
+    int requiredIntParam(String name) throws ApiException {
+        return parseInt(name, requiredParam(name));
+    }
+
+    /**
+     * @param name The parameter name
+     * @return The parameter as a double, or null if absent
+     * @throws ApiException If the parameter is not a number
+     */
+    Double doubleParam(String name) throws ApiException {
+        String value = param(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException ex) {
+            throw ApiException.badRequest("Parameter " + name + " is not a number: " + value);
+        }
+    }
+
+    /**
+     * Reads a date-time given as {@code YYYY-MM-DDTHH:MM[:SS]}; a space may
+     * take the place of the {@code T}.
+     *
+     * @param name The parameter name
+     * @return The parameter as a date-time, or null if absent
+     * @throws ApiException If the parameter is not a date-time
+     */
+    LocalDateTime dateTimeParam(String name) throws ApiException {
+        String value = param(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value, DATE_TIME_FORMAT);
+        } catch (DateTimeParseException ex) {
+            throw ApiException.badRequest("Parameter " + name + " is not a date-time (YYYY-MM-DDTHH:MM[:SS]): " + value);
+        }
+    }
+
+    /**
+     * @param name The parameter name
+     * @return The parameter as a date-time
+     * @throws ApiException If the parameter is missing or not a date-time
+     */
+    LocalDateTime requiredDateTimeParam(String name) throws ApiException {
+        requiredParam(name);
+        return dateTimeParam(name);
+    }
+
+    /**
+     * Parses a path segment that names an entity by ID.
+     *
+     * @param segment The path segment
+     * @return The ID
+     * @throws ApiException If the segment is not a positive integer
+     */
+    static int parseId(String segment) throws ApiException {
+        try {
+            int id = Integer.parseInt(segment);
+            if (id > 0) {
+                return id;
+            }
+        } catch (NumberFormatException ex) {
+            // Reported below
+        }
+        throw ApiException.notFound("No such resource: " + segment);
+    }
+
+    private static int parseInt(String name, String value) throws ApiException {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw ApiException.badRequest("Parameter " + name + " is not an integer: " + value);
+        }
+    }
+
+    private static String[] segments(String rest) {
+        int start = 0;
+        int end = rest.length();
+        while (start < end && rest.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && rest.charAt(end - 1) == '/') {
+            end--;
+        }
+        if (start == end) {
+            return new String[0];
+        }
+        String[] segments = rest.substring(start, end).split("/+");
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = URLDecoder.decode(segments[i], StandardCharsets.UTF_8);
+        }
+        return segments;
+    }
+
+    private void parseForm(String form) throws ApiException {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        try {
+            for (String pair : form.split("&")) {
+                int eq = pair.indexOf('=');
+                String name = eq < 0 ? pair : pair.substring(0, eq);
+                String value = eq < 0 ? "" : pair.substring(eq + 1);
+                params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+            }
+        } catch (IllegalArgumentException ex) {
+            throw ApiException.badRequest("Malformed parameters");
+        }
+    }
+
+    private static String readBody(InputStream in) throws IOException, ApiException {
+        byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            throw new ApiException(413, "Request body too large");
+        }
+        return new String(body, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,78 @@
+package main.java.com.carrental.api;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * An embedded HTTP server exposing the model layer as a JSON API for the web
+ * booking front end:
+ *
+ * <ul>
+ *   <li>{@code /api/cars}: see {@link CarResource}</li>
+ *   <li>{@code /api/customers}: see {@link CustomerResource}</li>
+ *   <li>{@code /api/rentals}: see {@link RentalResource}</li>
+ *   <li>{@code /api/availability}: see {@link AvailabilityResource}</li>
+ *   <li>{@code /api/quote}: see {@link QuoteResource}</li>
+ * </ul>
+ *
+ * <p>Every request runs on its own virtual thread, so a request waiting for
+ * the database or a pooled connection does not hold a platform thread.
+ * Concurrency towards the database is bounded by the connection pool.
+ * Errors are answered with a JSON object holding an {@code error} message.</p>
+ *
+ * <p>The server has no authentication of its own; bind it to a private
+ * interface or put it behind the front end's reverse proxy.</p>
+ */
+public final class ApiServer {
+    /** Connections queued by the operating system before they are accepted. */
+    private static final int BACKLOG = 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a server bound to an address. It does not accept requests
+     * until {@link #start()} is called.
+     *
+     * @param address The address and port to listen on (port 0 picks a free port)
+     * @throws IOException If the address cannot be bound
+     */
+    public ApiServer(InetSocketAddress address) throws IOException {
+        server = HttpServer.create(address, BACKLOG);
+        server.createContext("/api/cars", new CarResource());
+        server.createContext("/api/customers", new CustomerResource());
+        server.createContext("/api/rentals", new RentalResource());
+        server.createContext("/api/availability", new AvailabilityResource());
+        server.createContext("/api/quote", new QuoteResource());
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * @return The address the server listens on
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Stops accepting requests and waits for running ones to finish.
+     *
+     * @param delaySeconds The longest time to wait for running requests
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+}
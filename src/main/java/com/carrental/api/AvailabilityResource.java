@@ -0,0 +1,57 @@
+package main.java.com.carrental.api;
+
+import main.java.com.carrental.model.Car;
+import main.java.com.carrental.model.CarSearchCriteria;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * {@code GET /api/availability?start=&end=} lists the cars that can be rented
+ * for the whole period, ordered by car ID. Without {@code end} the period is
+ * open-ended. The optional {@code make}, {@code model}, {@code minYear},
+ * {@code maxYear}, {@code minRate} and {@code maxRate} narrow the search like
+ * the car filter bar of the desktop client.
+ */
+final class AvailabilityResource extends ApiHandler {
+
+    @Override
+    Response handle(ApiRequest request) throws ApiException, SQLException {
+        requireGet(request);
+        if (request.path().length != 0) {
+            throw ApiException.notFound("No such resource");
+        }
+        LocalDateTime start = request.requiredDateTimeParam("start");
+        LocalDateTime end = request.dateTimeParam("end");
+        if (end != null && !end.isAfter(start)) {
+            throw ApiException.badRequest("end must be after start");
+        }
+
+        CarSearchCriteria criteria = criteria(request);
+        List<Car> cars = Car.findAvailableCars(start, end, criteria);
+        return Response.ok(json -> json.cars(cars));
+    }
+
+    /**
+     * Reads the optional car filters shared with {@link QuoteResource}.
+     *
+     * @param request The request
+     * @return The criteria, or null if no filter is given
+     * @throws ApiException If a filter value is malformed
+     */
+    static CarSearchCriteria criteria(ApiRequest request) throws ApiException {
+        CarSearchCriteria criteria = new CarSearchCriteria();
+        criteria.setMakePrefix(request.param("make"));
+        criteria.setModelPrefix(request.param("model"));
+        if (request.param("minYear") != null) {
+            criteria.setMinYear(request.intParam("minYear", 0));
+        }
+        if (request.param("maxYear") != null) {
+            criteria.setMaxYear(request.intParam("maxYear", 0));
+        }
+        criteria.setMinHourlyRate(request.doubleParam("minRate"));
+        criteria.setMaxHourlyRate(request.doubleParam("maxRate"));
+        return criteria.isEmpty() ? null : criteria;
+    }
+}
@@ -0,0 +1,31 @@
+package main.java.com.carrental.api;
+
+import main.java.com.carrental.model.Car;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * {@code GET /api/cars} lists every car and {@code GET /api/cars/{id}} returns
+ * one. Both are answered from the in-memory car catalog.
+ */
+final class CarResource extends ApiHandler {
+
+    @Override
+    Response handle(ApiRequest request) throws ApiException, SQLException {
+        requireGet(request);
+        String[] path = request.path();
+        if (path.length == 0) {
+            List<Car> cars = Car.getCatalogCars();
+            return Response.ok(json -> json.cars(cars));
+        }
+        if (path.length == 1) {
+            Car car = Car.getCarById(ApiRequest.parseId(path[0]));
+            if (car == null) {
+                throw ApiException.notFound("No such car: " + path[0]);
+            }
+            return Response.ok(json -> json.value(car));
+        }
+        throw ApiException.notFound("No such resource");
+    }
+}
@@ -0,0 +1,59 @@
+package main.java.com.carrental.api;
+
+import main.java.com.carrental.model.Customer;
+import main.java.com.carrental.model.Rental;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Customer endpoints:
+ * <ul>
+ *   <li>{@code GET /api/customers?q=&offset=&limit=}: customers matching a
+ *       search query in ascending ID order, a page at a time; without
+ *       {@code q} every customer matches.</li>
+ *   <li>{@code GET /api/customers/{id}}: one customer.</li>
+ *   <li>{@code GET /api/customers/{id}/rentals}: the customer's rentals, newest first.</li>
+ * </ul>
+ */
+final class CustomerResource extends ApiHandler {
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 500;
+
+    @Override
+    Response handle(ApiRequest request) throws ApiException, SQLException {
+        requireGet(request);
+        String[] path = request.path();
+        if (path.length == 0) {
+            return search(request);
+        }
+        int customerId = ApiRequest.parseId(path[0]);
+        if (path.length == 1) {
+            Customer customer = Customer.getCustomerById(customerId);
+            if (customer == null) {
+                throw ApiException.notFound("No such customer: " + customerId);
+            }
+            return Response.ok(json -> json.value(customer));
+        }
+        if (path.length == 2 && path[1].equals("rentals")) {
+            List<Rental> rentals = Rental.getRentalsByCustomer(customerId);
+            return Response.ok(json -> json.rentals(rentals));
+        }
+        throw ApiException.notFound("No such resource");
+    }
+
+    private static Response search(ApiRequest request) throws ApiException, SQLException {
+        int offset = request.intParam("offset", 0);
+        int limit = request.intParam("limit", DEFAULT_LIMIT);
+        if (offset < 0 || limit < 1 || limit > MAX_LIMIT) {
+            throw ApiException.badRequest("offset must be at least 0 and limit between 1 and " + MAX_LIMIT);
+        }
+        String query = request.param("q");
+        int[] ids = Customer.searchCustomers(query != null ? query : "");
+        int from = Math.min(offset, ids.length);
+        int to = (int) Math.min((long) from + limit, ids.length);
+        List<Customer> customers = Customer.getCustomersById(Arrays.copyOfRange(ids, from, to));
+        return Response.ok(json -> json.customers(customers));
+    }
+}
@@ -0,0 +1,55 @@
+package main.java.com.carrental.api;
+
+import main.java.com.carrental.model.Car;
+import main.java.com.carrental.model.Rental;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * {@code GET /api/quote?carId=&start=&end=} prices a rental of one car
+ * without booking it, and says whether the car is free for the period.
+ * Without {@code carId}, the cheapest car free for the whole period is
+ * quoted instead, narrowed by the same filters as {@link AvailabilityResource}.
+ */
+final class QuoteResource extends ApiHandler {
+
+    @Override
+    Response handle(ApiRequest request) throws ApiException, SQLException {
+        requireGet(request);
+        if (request.path().length != 0) {
+            throw ApiException.notFound("No such resource");
+        }
+        LocalDateTime start = request.requiredDateTimeParam("start");
+        LocalDateTime end = request.requiredDateTimeParam("end");
+        if (!end.isAfter(start)) {
+            throw ApiException.badRequest("end must be after start");
+        }
+
+        Car car;
+        boolean available;
+        if (request.param("carId") != null) {
+            int carId = request.requiredIntParam("carId");
+            car = Car.getCarById(carId);
+            if (car == null) {
+                throw ApiException.notFound("No such car: " + carId);
+            }
+            available = car.isAvailable() && Rental.isCarAvailable(carId, start, end);
+        } else {
+            car = Car.findCheapestAvailableCar(start, end, AvailabilityResource.criteria(request));
+            if (car == null) {
+                throw ApiException.notFound("No car is free for the period");
+            }
+            available = true;
+        }
+        double totalCost = Rental.calculateTotalCost(car.getHourlyRate(), start, end);
+        return Response.ok(json -> json.beginObject()
+            .name("car_id").value(car.getCarId())
+            .name("rental_datetime").value(start)
+            .name("return_datetime").value(end)
+            .name("hourly_rate").amountValue(car.getHourlyRate())
+            .name("total_cost").amountValue(totalCost)
+            .name("available").value(available)
+            .endObject());
+    }
+}
@@ -0,0 +1,85 @@
+package main.java.com.carrental.api;
+
+import main.java.com.carrental.model.Car;
+import main.java.com.carrental.model.Customer;
+import main.java.com.carrental.model.Rental;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Rental endpoints:
+ * <ul>
+ *   <li>{@code GET /api/rentals?after=&limit=}: a page of rentals in ascending
+ *       ID order, after the given rental ID (keyset pagination).</li>
+ *   <li>{@code GET /api/rentals/{id}}: one rental.</li>
+ *   <li>{@code POST /api/rentals} with {@code carId}, {@code customerId},
+ *       {@code start} and an optional {@code end}: books a car, priced like
+ *       the desktop client does. Answers 201 with the new rental, or 409 if
+ *       the car is not available for the period.</li>
+ * </ul>
+ */
+final class RentalResource extends ApiHandler {
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+
+    @Override
+    Response handle(ApiRequest request) throws ApiException, SQLException {
+        String[] path = request.path();
+        if (path.length == 0 && request.method().equals("POST")) {
+            return book(request);
+        }
+        requireGet(request);
+        if (path.length == 0) {
+            int after = request.intParam("after", 0);
+            int limit = request.intParam("limit", DEFAULT_LIMIT);
+            if (limit < 1 || limit > MAX_LIMIT) {
+                throw ApiException.badRequest("limit must be between 1 and " + MAX_LIMIT);
+            }
+            List<Rental> rentals = Rental.getRentalsAfter(after, limit);
+            return Response.ok(json -> json.rentals(rentals));
+        }
+        if (path.length == 1) {
+            Rental rental = Rental.getRentalById(ApiRequest.parseId(path[0]));
+            if (rental == null) {
+                throw ApiException.notFound("No such rental: " + path[0]);
+            }
+            return Response.ok(json -> json.value(rental));
+        }
+        throw ApiException.notFound("No such resource");
+    }
+
+    @Override
+    String allowedMethods() {
+        return "GET, POST";
+    }
+
+    private static Response book(ApiRequest request) throws ApiException, SQLException {
+        int carId = request.requiredIntParam("carId");
+        int customerId = request.requiredIntParam("customerId");
+        LocalDateTime start = request.requiredDateTimeParam("start");
+        LocalDateTime end = request.dateTimeParam("end");
+        if (end != null && !end.isAfter(start)) {
+            throw ApiException.badRequest("end must be after start");
+        }
+
+        Car car = Car.getCarById(carId);
+        if (car == null) {
+            throw ApiException.badRequest("No such car: " + carId);
+        }
+        if (Customer.getCustomerById(customerId) == null) {
+            throw ApiException.badRequest("No such customer: " + customerId);
+        }
+        if (!car.isAvailable()) {
+            throw new ApiException(409, "Car " + carId + " is not available for rental");
+        }
+
+        Rental rental = new Rental(0, carId, customerId, start, end,
+            Rental.calculateTotalCost(car.getHourlyRate(), start, end));
+        if (!Rental.addRentalIfAvailable(rental)) {
+            throw new ApiException(409, "Car " + carId + " is not available for the selected time period");
+        }
+        return new Response(201, json -> json.value(rental));
+    }
+}
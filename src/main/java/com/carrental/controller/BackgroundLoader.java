@@ -0,0 +1,124 @@
+package main.java.com.carrental.controller;
+
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Runs model calls off the Swing Event Dispatch Thread and publishes their
+ * results back on it. Each task runs on its own virtual thread, so a slow
+ * database only delays the table that is waiting for it, never the UI.
+ *
+ * <p>Tasks are submitted under a key such as {@code "cars"}. Submitting a new
+ * task under a key supersedes the previous one: the old task is cancelled and,
+ * if it still finishes, its result is discarded. A progress bar is shown
+ * while any task of this loader is running.</p>
+ *
+ * <p>All methods must be called on the Event Dispatch Thread, and all
+ * callbacks are invoked on it.</p>
+ */
+public class BackgroundLoader {
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final JProgressBar progressBar;
+    private final Map<String, Task> runningTasks = new HashMap<>();
+
+    /**
+     * Constructs a BackgroundLoader that reports activity on the given progress bar.
+     *
+     * @param progressBar The progress bar to show while tasks run (nullable)
+     */
+    public BackgroundLoader(JProgressBar progressBar) {
+        this.progressBar = progressBar;
+    }
+
+    /**
+     * Runs a task in the background, superseding any task running under the same key.
+     *
+     * @param key Identifies the kind of load; a newer task replaces an older one
+     * @param work The model call to run off the Event Dispatch Thread
+     * @param onSuccess Receives the result on the Event Dispatch Thread
+     * @param onFailure Receives any exception on the Event Dispatch Thread
+     * @param <T> The type of the task's result
+     */
+    public <T> void submit(String key, Callable<T> work, Consumer<T> onSuccess,
+                           Consumer<Exception> onFailure) {
+        cancel(key);
+
+        Task task = new Task();
+        runningTasks.put(key, task);
+        updateProgress();
+
+        task.future = EXECUTOR.submit(() -> {
+            try {
+                T result = work.call();
+                SwingUtilities.invokeLater(() -> {
+                    if (finish(key, task)) {
+                        onSuccess.accept(result);
+                    }
+                });
+            } catch (Exception ex) {
+                SwingUtilities.invokeLater(() -> {
+                    if (finish(key, task)) {
+                        onFailure.accept(ex);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Cancels the task running under a key, if any. Its callbacks will not run.
+     *
+     * @param key The key the task was submitted under
+     */
+    public void cancel(String key) {
+        Task previous = runningTasks.remove(key);
+        if (previous != null) {
+            previous.future.cancel(true);
+            updateProgress();
+        }
+    }
+
+    /**
+     * @param key The key a task was submitted under
+     * @return true if a task is still running under the key
+     */
+    public boolean isRunning(String key) {
+        return runningTasks.containsKey(key);
+    }
+
+    /**
+     * Marks a task as finished.
+     *
+     * @return true if the task is still the current one for its key,
+     *         false if it was cancelled or superseded in the meantime
+     */
+    private boolean finish(String key, Task task) {
+        if (runningTasks.get(key) != task) {
+            return false;
+        }
+        runningTasks.remove(key);
+        updateProgress();
+        return true;
+    }
+
+    private void updateProgress() {
+        if (progressBar != null) {
+            progressBar.setVisible(!runningTasks.isEmpty());
+        }
+    }
+
+    /**
+     * Handle for a submitted task; identity distinguishes it from later tasks under the same key.
+     */
+    private static final class Task {
+        private Future<?> future;
+    }
+}
@@ -1,10 +1,14 @@
 package main.java.com.carrental.controller;
 
 import main.java.com.carrental.model.Car;
+import main.java.com.carrental.model.CarSearchCriteria;
 import main.java.com.carrental.view.CarPanel;
+import main.java.com.carrental.view.Theme;
 
 import javax.swing.JOptionPane;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.JTextField;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.sql.SQLException;
 import java.util.List;
 
@@ -12,9 +16,13 @@ import java.util.List;
  * Controller class for managing car-related operations.
  * Handles communication between the Car model and CarPanel view,
  * including CRUD operations and user interactions.
+ *
+ * <p>The filter bar is applied on every keystroke. Filtering and sorting run
+ * on the rows already loaded, so neither reaches the database.</p>
  */
 public class CarController {
     private CarPanel carPanel;
+    private BackgroundLoader loader;
 
     /**
      * Constructs a CarController with the specified CarPanel.
@@ -23,6 +31,7 @@ public class CarController {
      */
     public CarController(CarPanel carPanel) {
         this.carPanel = carPanel;
+        this.loader = new BackgroundLoader(carPanel.getProgressBar());
         initController();
     }
 
@@ -35,41 +44,104 @@ public class CarController {
         carPanel.getAddButton().addActionListener(e -> addCar());
         carPanel.getUpdateButton().addActionListener(e -> updateCar());
         carPanel.getDeleteButton().addActionListener(e -> deleteCar());
+        carPanel.getRefreshButton().addActionListener(e -> loadCars());
         
         // Add selection listener to display selected car details
         carPanel.getCarTable().getSelectionModel().addListSelectionListener(e -> displaySelectedCar());
+
+        // Re-apply the filter whenever one of its inputs changes
+        DocumentListener filterListener = new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) { applyFilter(); }
+            public void removeUpdate(DocumentEvent e) { applyFilter(); }
+            public void changedUpdate(DocumentEvent e) { applyFilter(); }
+        };
+        for (JTextField field : new JTextField[]{carPanel.getFilterMakeField(), carPanel.getFilterModelField(),
+                carPanel.getMinYearField(), carPanel.getMaxYearField(),
+                carPanel.getMinRateField(), carPanel.getMaxRateField()}) {
+            field.getDocument().addDocumentListener(filterListener);
+        }
+        carPanel.getAvailableOnlyCheckBox().addActionListener(e -> applyFilter());
         
         // Load initial car data
         loadCars();
     }
 
     /**
-     * Loads all cars from the database and populates the table.
-     * Displays error message if database operation fails.
+     * Loads all cars from the database in the background and populates the table.
+     * A load started while another is still running supersedes it.
+     * Displays an error message if the database operation fails.
      */
     private void loadCars() {
+        loader.submit("cars", Car::getAllCars, this::showCars, ex ->
+            JOptionPane.showMessageDialog(carPanel,
+                "Error loading cars: " + ex.getMessage(),
+                "Database Error",
+                JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * Replaces the table contents with the given cars.
+     * 
+     * @param cars The cars to display
+     */
+    private void showCars(List<Car> cars) {
+        carPanel.getTableModel().setCars(cars);
+        updateFilterResult();
+    }
+
+    /**
+     * Builds the filter criteria from the filter bar and applies them to the table.
+     * A number field that does not parse is ignored and shown in red.
+     */
+    private void applyFilter() {
+        CarSearchCriteria criteria = new CarSearchCriteria();
+        criteria.setMakePrefix(carPanel.getFilterMakeField().getText());
+        criteria.setModelPrefix(carPanel.getFilterModelField().getText());
+        criteria.setMinYear(parseInteger(carPanel.getMinYearField()));
+        criteria.setMaxYear(parseInteger(carPanel.getMaxYearField()));
+        criteria.setMinHourlyRate(parseDouble(carPanel.getMinRateField()));
+        criteria.setMaxHourlyRate(parseDouble(carPanel.getMaxRateField()));
+        criteria.setAvailableOnly(carPanel.getAvailableOnlyCheckBox().isSelected());
+        carPanel.getRowSorter().setFilter(criteria);
+        updateFilterResult();
+    }
+
+    /**
+     * Shows how many of the loaded cars pass the filter.
+     */
+    private void updateFilterResult() {
+        int shown = carPanel.getRowSorter().getViewRowCount();
+        int total = carPanel.getTableModel().getRowCount();
+        carPanel.getFilterResultLabel().setText(shown == total ? total + " cars" : shown + " of " + total + " cars");
+    }
+
+    /**
+     * @return The whole number in the field, or null if it is blank or invalid
+     */
+    private static Integer parseInteger(JTextField field) {
+        String text = field.getText().trim();
         try {
-            List<Car> cars = Car.getAllCars();
-            DefaultTableModel model = carPanel.getTableModel();
-            model.setRowCount(0); // Clear existing data
-            
-            // Add each car to the table model
-            for (Car car : cars) {
-                model.addRow(new Object[]{
-                    car.getCarId(), 
-                    car.getMake(), 
-                    car.getModel(), 
-                    car.getYear(), 
-                    car.getLicensePlate(), 
-                    car.getHourlyRate(), 
-                    car.isAvailable()
-                });
-            }
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(carPanel, 
-                "Error loading cars: " + ex.getMessage(), 
-                "Database Error", 
-                JOptionPane.ERROR_MESSAGE);
+            Integer value = text.isEmpty() ? null : Integer.valueOf(text);
+            field.setForeground(Theme.TERTIARY_COLOR);
+            return value;
+        } catch (NumberFormatException ex) {
+            field.setForeground(Theme.PRIMARY_COLOR);
+            return null;
+        }
+    }
+
+    /**
+     * @return The decimal number in the field, or null if it is blank or invalid
+     */
+    private static Double parseDouble(JTextField field) {
+        String text = field.getText().trim();
+        try {
+            Double value = text.isEmpty() ? null : Double.valueOf(text);
+            field.setForeground(Theme.TERTIARY_COLOR);
+            return value;
+        } catch (NumberFormatException ex) {
+            field.setForeground(Theme.PRIMARY_COLOR);
+            return null;
         }
     }
 
@@ -93,7 +165,8 @@ public class CarController {
             
             JOptionPane.showMessageDialog(carPanel, "Car added successfully!");
             carPanel.clearForm();
-            loadCars(); // Refresh the table
+            carPanel.getTableModel().addCar(car); // Show the new row with its generated ID
+            updateFilterResult();
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(carPanel, 
                 "Invalid input. Please enter valid numbers for Year and Hourly Rate.", 
@@ -116,7 +189,7 @@ public class CarController {
         if (selectedRow >= 0) {
             try {
                 // Get data from form fields and selected row
-                int carId = (int) carPanel.getTableModel().getValueAt(selectedRow, 0);
+                int carId = selectedCar(selectedRow).getCarId();
                 String make = carPanel.getMakeField().getText();
                 String model = carPanel.getModelField().getText();
                 int year = Integer.parseInt(carPanel.getYearField().getText());
@@ -130,7 +203,8 @@ public class CarController {
                 
                 JOptionPane.showMessageDialog(carPanel, "Car updated successfully!");
                 carPanel.clearForm();
-                loadCars(); // Refresh the table
+                carPanel.getTableModel().updateCar(car);
+                updateFilterResult();
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(carPanel, 
                     "Invalid input. Please enter valid numbers for Year and Hourly Rate.", 
@@ -156,7 +230,7 @@ public class CarController {
     private void deleteCar() {
         int selectedRow = carPanel.getCarTable().getSelectedRow();
         if (selectedRow >= 0) {
-            int carId = (int) carPanel.getTableModel().getValueAt(selectedRow, 0);
+            int carId = selectedCar(selectedRow).getCarId();
             
             // Confirm deletion with user
             int confirm = JOptionPane.showConfirmDialog(carPanel, 
@@ -169,7 +243,8 @@ public class CarController {
                     Car.deleteCar(carId);
                     JOptionPane.showMessageDialog(carPanel, "Car deleted successfully!");
                     carPanel.clearForm();
-                    loadCars(); // Refresh the table
+                    carPanel.getTableModel().removeCar(carId);
+                    updateFilterResult();
                 } catch (SQLException ex) {
                     JOptionPane.showMessageDialog(carPanel, 
                         "Error deleting car: " + ex.getMessage(), 
@@ -185,6 +260,17 @@ public class CarController {
         }
     }
 
+    /**
+     * Returns the car shown in a view row. The table may be filtered and
+     * sorted, so the view row is mapped to its model row first.
+     * 
+     * @param viewRow A row index of the table as displayed
+     * @return The car in that row
+     */
+    private Car selectedCar(int viewRow) {
+        return carPanel.getTableModel().getCarAt(carPanel.getCarTable().convertRowIndexToModel(viewRow));
+    }
+
     /**
      * Displays the details of the selected car in the form fields.
      */
@@ -192,12 +278,13 @@ public class CarController {
         int selectedRow = carPanel.getCarTable().getSelectedRow();
         if (selectedRow >= 0) {
             // Populate form fields with selected car's data
-            carPanel.getMakeField().setText(carPanel.getTableModel().getValueAt(selectedRow, 1).toString());
-            carPanel.getModelField().setText(carPanel.getTableModel().getValueAt(selectedRow, 2).toString());
-            carPanel.getYearField().setText(carPanel.getTableModel().getValueAt(selectedRow, 3).toString());
-            carPanel.getLicensePlateField().setText(carPanel.getTableModel().getValueAt(selectedRow, 4).toString());
-            carPanel.getHourlyRateField().setText(carPanel.getTableModel().getValueAt(selectedRow, 5).toString());
-            carPanel.getAvailableCheckBox().setSelected((boolean) carPanel.getTableModel().getValueAt(selectedRow, 6));
+            Car car = selectedCar(selectedRow);
+            carPanel.getMakeField().setText(car.getMake());
+            carPanel.getModelField().setText(car.getModel());
+            carPanel.getYearField().setText(String.valueOf(car.getYear()));
+            carPanel.getLicensePlateField().setText(car.getLicensePlate());
+            carPanel.getHourlyRateField().setText(String.valueOf(car.getHourlyRate()));
+            carPanel.getAvailableCheckBox().setSelected(car.isAvailable());
         }
     }
 }
\ No newline at end of file
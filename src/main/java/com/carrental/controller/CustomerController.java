@@ -1,20 +1,43 @@
 package main.java.com.carrental.controller;
 
+import main.java.com.carrental.model.Car;
 import main.java.com.carrental.model.Customer;
+import main.java.com.carrental.model.Rental;
 import main.java.com.carrental.view.CustomerPanel;
+import main.java.com.carrental.view.CustomerTableModel;
 
 import javax.swing.JOptionPane;
+import javax.swing.RowFilter;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableRowSorter;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
  * Controller class for managing customer-related operations.
  * Handles the interaction between the Customer model and CustomerPanel view,
- * including CRUD operations and user interface events.
+ * including CRUD operations and user interface events, and shows the rental
+ * history of the selected customer.
+ *
+ * <p>The search box is debounced: a search runs {@link #SEARCH_DELAY_MILLIS}
+ * after the last keystroke, asks the customer search index for the matching
+ * IDs in the background and hides every other row with a row filter.</p>
  */
 public class CustomerController {
+    /** Delay after the last keystroke before a search runs. */
+    private static final int SEARCH_DELAY_MILLIS = 150;
+
     private CustomerPanel customerPanel;
+    private BackgroundLoader loader;
+    private BackgroundLoader historyLoader;
+    private BackgroundLoader searchLoader;
+    private TableRowSorter<CustomerTableModel> sorter;
+    private Timer searchTimer;
 
     /**
      * Constructs a CustomerController with the specified CustomerPanel.
@@ -23,6 +46,10 @@ public class CustomerController {
      */
     public CustomerController(CustomerPanel customerPanel) {
         this.customerPanel = customerPanel;
+        this.loader = new BackgroundLoader(customerPanel.getProgressBar());
+        // Histories are usually cached, so flashing the progress bar per click would only distract
+        this.historyLoader = new BackgroundLoader(null);
+        this.searchLoader = new BackgroundLoader(null);
         initController();
     }
 
@@ -35,41 +62,103 @@ public class CustomerController {
         customerPanel.getAddButton().addActionListener(e -> addCustomer());
         customerPanel.getUpdateButton().addActionListener(e -> updateCustomer());
         customerPanel.getDeleteButton().addActionListener(e -> deleteCustomer());
+        customerPanel.getRefreshButton().addActionListener(e -> loadCustomers());
+
+        // Filter only; the rows stay in the order they were loaded
+        sorter = new TableRowSorter<>(customerPanel.getTableModel());
+        for (int column = 0; column < customerPanel.getTableModel().getColumnCount(); column++) {
+            sorter.setSortable(column, false);
+        }
+        customerPanel.getCustomerTable().setRowSorter(sorter);
+
+        // Restart the debounce timer on every edit of the search box
+        searchTimer = new Timer(SEARCH_DELAY_MILLIS, e -> runSearch());
+        searchTimer.setRepeats(false);
+        customerPanel.getSearchField().getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) { searchTimer.restart(); }
+            public void removeUpdate(DocumentEvent e) { searchTimer.restart(); }
+            public void changedUpdate(DocumentEvent e) { searchTimer.restart(); }
+        });
         
         // Add selection listener to display selected customer details
-        customerPanel.getCustomerTable().getSelectionModel().addListSelectionListener(
-            e -> displaySelectedCustomer());
+        customerPanel.getCustomerTable().getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                displaySelectedCustomer();
+                loadSelectedHistory();
+            }
+        });
         
-        // Load initial customer data
+        // Load initial customer data, and the search index so the first search need not wait for it
         loadCustomers();
+        loader.submit("search-index", () -> {
+            Customer.loadSearchIndex();
+            return null;
+        }, ignored -> { }, ex -> {
+            // Not fatal: the first search loads the index again and reports the error then
+        });
+    }
+
+    /**
+     * Runs the query in the search box against the customer search index in
+     * the background and shows only the matching rows. A search started while
+     * another is still running supersedes it.
+     */
+    private void runSearch() {
+        searchTimer.stop();
+        String query = customerPanel.getSearchField().getText().trim();
+        if (query.isEmpty()) {
+            searchLoader.cancel("search");
+            sorter.setRowFilter(null);
+            customerPanel.getSearchResultLabel().setText(" ");
+            return;
+        }
+        searchLoader.submit("search", () -> Customer.searchCustomers(query), this::showMatches, ex ->
+            JOptionPane.showMessageDialog(customerPanel,
+                "Error searching customers: " + ex.getMessage(),
+                "Database Error",
+                JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * Hides every row whose customer ID is not among the matches.
+     * 
+     * @param customerIds The IDs of the matching customers
+     */
+    private void showMatches(int[] customerIds) {
+        BitSet matches = new BitSet();
+        for (int customerId : customerIds) {
+            matches.set(customerId);
+        }
+        sorter.setRowFilter(new RowFilter<CustomerTableModel, Integer>() {
+            @Override
+            public boolean include(Entry<? extends CustomerTableModel, ? extends Integer> entry) {
+                return matches.get(entry.getModel().getCustomerAt(entry.getIdentifier()).getCustomerId());
+            }
+        });
+        customerPanel.getSearchResultLabel().setText(customerIds.length
+            + (customerIds.length == 1 ? " match" : " matches"));
     }
 
     /**
-     * Loads all customers from the database and populates the table.
+     * Loads all customers from the database in the background and populates the table.
+     * A load started while another is still running supersedes it.
      * Displays an error message if the database operation fails.
      */
     private void loadCustomers() {
-        try {
-            List<Customer> customers = Customer.getAllCustomers();
-            DefaultTableModel model = customerPanel.getTableModel();
-            model.setRowCount(0); // Clear existing data
-            
-            // Add each customer to the table model
-            for (Customer customer : customers) {
-                model.addRow(new Object[]{
-                    customer.getCustomerId(),
-                    customer.getFirstName(),
-                    customer.getLastName(),
-                    customer.getEmail(),
-                    customer.getPhoneNumber()
-                });
-            }
-        } catch (SQLException ex) {
+        loader.submit("customers", Customer::getAllCustomers, this::showCustomers, ex ->
             JOptionPane.showMessageDialog(customerPanel,
                 "Error loading customers: " + ex.getMessage(),
                 "Database Error",
-                JOptionPane.ERROR_MESSAGE);
-        }
+                JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * Replaces the table contents with the given customers.
+     * 
+     * @param customers The customers to display
+     */
+    private void showCustomers(List<Customer> customers) {
+        customerPanel.getTableModel().setCustomers(customers);
     }
 
     /**
@@ -91,7 +180,8 @@ public class CustomerController {
             JOptionPane.showMessageDialog(customerPanel,
                 "Customer added successfully!");
             customerPanel.clearForm();
-            loadCustomers(); // Refresh the table
+            customerPanel.getTableModel().addCustomer(customer); // Show the new row with its generated ID
+            runSearch(); // The new customer may or may not match the current search
         } catch (SQLException ex) {
             JOptionPane.showMessageDialog(customerPanel,
                 "Error adding customer: " + ex.getMessage(),
@@ -109,7 +199,7 @@ public class CustomerController {
         if (selectedRow >= 0) {
             try {
                 // Get data from form fields and selected row
-                int customerId = (int) customerPanel.getTableModel().getValueAt(selectedRow, 0);
+                int customerId = selectedCustomer(selectedRow).getCustomerId();
                 String firstName = customerPanel.getFirstNameField().getText();
                 String lastName = customerPanel.getLastNameField().getText();
                 String email = customerPanel.getEmailField().getText();
@@ -122,7 +212,8 @@ public class CustomerController {
                 JOptionPane.showMessageDialog(customerPanel,
                     "Customer updated successfully!");
                 customerPanel.clearForm();
-                loadCustomers(); // Refresh the table
+                customerPanel.getTableModel().updateCustomer(customer);
+                runSearch();
             } catch (SQLException ex) {
                 JOptionPane.showMessageDialog(customerPanel,
                     "Error updating customer: " + ex.getMessage(),
@@ -143,7 +234,7 @@ public class CustomerController {
     private void deleteCustomer() {
         int selectedRow = customerPanel.getCustomerTable().getSelectedRow();
         if (selectedRow >= 0) {
-            int customerId = (int) customerPanel.getTableModel().getValueAt(selectedRow, 0);
+            int customerId = selectedCustomer(selectedRow).getCustomerId();
             
             // Confirm deletion with user
             int confirm = JOptionPane.showConfirmDialog(customerPanel,
@@ -157,7 +248,8 @@ public class CustomerController {
                     JOptionPane.showMessageDialog(customerPanel,
                         "Customer deleted successfully!");
                     customerPanel.clearForm();
-                    loadCustomers(); // Refresh the table
+                    customerPanel.getTableModel().removeCustomer(customerId);
+                    runSearch();
                 } catch (SQLException ex) {
                     JOptionPane.showMessageDialog(customerPanel,
                         "Error deleting customer: " + ex.getMessage(),
@@ -173,6 +265,71 @@ public class CustomerController {
         }
     }
 
+    /**
+     * Loads the rental history of the selected customer in the background and
+     * shows it below the customer table. Selecting another customer while a
+     * history loads supersedes it.
+     */
+    private void loadSelectedHistory() {
+        int selectedRow = customerPanel.getCustomerTable().getSelectedRow();
+        if (selectedRow < 0) {
+            historyLoader.cancel("history");
+            customerPanel.getHistoryTableModel().setRowCount(0);
+            customerPanel.setHistoryTitle("Rental History");
+            return;
+        }
+
+        Customer customer = selectedCustomer(selectedRow);
+        int customerId = customer.getCustomerId();
+        String name = customer.getFirstName() + " " + customer.getLastName();
+        historyLoader.submit("history", () -> toHistoryRows(Rental.getRentalsByCustomer(customerId)),
+            rows -> showHistory(name, rows), ex ->
+            JOptionPane.showMessageDialog(customerPanel,
+                "Error loading rental history: " + ex.getMessage(),
+                "Database Error",
+                JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * Converts rentals to the cell values of history rows. Runs off the Event
+     * Dispatch Thread, since naming a car may have to load the car catalog.
+     * 
+     * @param rentals The rentals to convert, newest first
+     * @return The row values in column order
+     * @throws SQLException If a car cannot be looked up
+     */
+    private static List<Object[]> toHistoryRows(List<Rental> rentals) throws SQLException {
+        List<Object[]> rows = new ArrayList<>(rentals.size());
+        for (Rental rental : rentals) {
+            Car car = Car.getCarById(rental.getCarId());
+            rows.add(new Object[]{
+                rental.getRentalId(),
+                car != null ? car.getMake() + " " + car.getModel() + " (" + car.getLicensePlate() + ")"
+                    : "#" + rental.getCarId(),
+                rental.getRentalDatetime(),
+                rental.getReturnDatetime() != null ? rental.getReturnDatetime() : "Not returned",
+                String.format("%.2f", rental.getTotalCost())
+            });
+        }
+        return rows;
+    }
+
+    /**
+     * Replaces the history table contents and names the customer in its title.
+     * 
+     * @param name The customer's name
+     * @param rows The history rows in column order, newest first
+     */
+    private void showHistory(String name, List<Object[]> rows) {
+        DefaultTableModel model = customerPanel.getHistoryTableModel();
+        model.setRowCount(0);
+        for (Object[] row : rows) {
+            model.addRow(row);
+        }
+        customerPanel.setHistoryTitle("Rental History - " + name + " (" + rows.size()
+            + (rows.size() == 1 ? " rental)" : " rentals)"));
+    }
+
     /**
      * Displays the details of the selected customer in the form fields.
      */
@@ -180,14 +337,23 @@ public class CustomerController {
         int selectedRow = customerPanel.getCustomerTable().getSelectedRow();
         if (selectedRow >= 0) {
             // Populate form fields with selected customer's data
-            customerPanel.getFirstNameField().setText(
-                customerPanel.getTableModel().getValueAt(selectedRow, 1).toString());
-            customerPanel.getLastNameField().setText(
-                customerPanel.getTableModel().getValueAt(selectedRow, 2).toString());
-            customerPanel.getEmailField().setText(
-                customerPanel.getTableModel().getValueAt(selectedRow, 3).toString());
-            customerPanel.getPhoneField().setText(
-                customerPanel.getTableModel().getValueAt(selectedRow, 4).toString());
+            Customer customer = selectedCustomer(selectedRow);
+            customerPanel.getFirstNameField().setText(customer.getFirstName());
+            customerPanel.getLastNameField().setText(customer.getLastName());
+            customerPanel.getEmailField().setText(customer.getEmail());
+            customerPanel.getPhoneField().setText(customer.getPhoneNumber());
         }
     }
+
+    /**
+     * Returns the customer shown in a view row. The table may be filtered,
+     * so the view row is mapped to its model row first.
+     * 
+     * @param viewRow A row index of the table as displayed
+     * @return The customer in that row
+     */
+    private Customer selectedCustomer(int viewRow) {
+        return customerPanel.getTableModel().getCustomerAt(
+            customerPanel.getCustomerTable().convertRowIndexToModel(viewRow));
+    }
 }
\ No newline at end of file
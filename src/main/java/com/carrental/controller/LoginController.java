@@ -1,20 +1,31 @@
 package main.java.com.carrental.controller;
 
+import main.java.com.carrental.model.SessionManager;
 import main.java.com.carrental.model.User;
 import main.java.com.carrental.view.LoginFrame;
 import main.java.com.carrental.view.MainFrame;
 
 import javax.swing.JOptionPane;
-import java.sql.SQLException;
+import java.awt.AWTEvent;
+import java.awt.Cursor;
+import java.awt.Toolkit;
+import java.util.Arrays;
 
 /**
  * Controller class for handling user authentication and login operations.
  * Manages the interaction between the LoginFrame, MainFrame, and User model.
  * Validates user credentials and controls the transition from login to main application.
+ *
+ * <p>Passwords are verified against their stored hash in the background,
+ * since hashing deliberately takes a noticeable fraction of a second.
+ * A successful login opens a {@link SessionManager} session, which is kept
+ * alive by keyboard and mouse input in any window of the application.</p>
  */
 public class LoginController {
     private LoginFrame loginFrame;
     private MainFrame mainFrame;
+    private BackgroundLoader loader;
+    private SessionManager.Session session;
 
     /**
      * Constructs a LoginController with the specified login and main frames.
@@ -25,6 +36,7 @@ public class LoginController {
     public LoginController(LoginFrame loginFrame, MainFrame mainFrame) {
         this.loginFrame = loginFrame;
         this.mainFrame = mainFrame;
+        this.loader = new BackgroundLoader(null);
         initController();
     }
 
@@ -37,16 +49,17 @@ public class LoginController {
 
     /**
      * Authenticates the user by validating credentials against the database.
+     * The check runs in the background while the login button is disabled.
      * Handles empty fields, invalid credentials, and database errors.
      * On successful login, closes the login frame and opens the main application.
      */
     private void authenticateUser() {
         // Get credentials from the login form
         String username = loginFrame.getUsername();
-        String password = loginFrame.getPassword();
+        char[] password = loginFrame.getPassword().toCharArray();
 
         // Validate empty fields
-        if (username.isEmpty() || password.isEmpty()) {
+        if (username.isEmpty() || password.length == 0) {
             JOptionPane.showMessageDialog(loginFrame, 
                 "Username and password cannot be empty.", 
                 "Login Error", 
@@ -54,15 +67,20 @@ public class LoginController {
             return;
         }
 
-        try {
-            // Retrieve user from database
-            User user = User.getUserByUsername(username);
-            
-            // Validate credentials
-            if (user != null && user.getPassword().equals(password)) {
-                // Note: In production, use password hashing comparison
-                
+        setBusy(true);
+        loader.submit("login", () -> {
+            User user;
+            try {
+                user = User.authenticate(username, password);
+            } finally {
+                Arrays.fill(password, '\0');
+            }
+            return user != null ? SessionManager.getInstance().open(user) : null;
+        }, newSession -> {
+            setBusy(false);
+            if (newSession != null) {
                 // Successful login flow
+                startSession(newSession);
                 JOptionPane.showMessageDialog(loginFrame, "Login Successful!");
                 loginFrame.dispose(); // Close login window
                 mainFrame.setVisible(true); // Show main application
@@ -74,12 +92,44 @@ public class LoginController {
                     JOptionPane.ERROR_MESSAGE);
                 loginFrame.clearFields(); // Clear for retry
             }
-        } catch (SQLException ex) {
+        }, ex -> {
             // Database error handling
+            setBusy(false);
             JOptionPane.showMessageDialog(loginFrame, 
                 "Database error: " + ex.getMessage(), 
                 "Login Error", 
                 JOptionPane.ERROR_MESSAGE);
-        }
+        });
+    }
+
+    /**
+     * Keeps the session of the logged-in user and restarts its idle timeout
+     * on every key press and mouse click.
+     * 
+     * @param newSession The session opened for the user
+     */
+    private void startSession(SessionManager.Session newSession) {
+        session = newSession;
+        String token = newSession.getToken();
+        Toolkit.getDefaultToolkit().addAWTEventListener(
+            e -> SessionManager.getInstance().touch(token),
+            AWTEvent.KEY_EVENT_MASK | AWTEvent.MOUSE_EVENT_MASK);
+    }
+
+    /**
+     * @return The session of the logged-in user, or null before login
+     */
+    public SessionManager.Session getSession() {
+        return session;
+    }
+
+    /**
+     * Blocks further login attempts and shows a wait cursor while a check runs.
+     * 
+     * @param busy true while credentials are being checked
+     */
+    private void setBusy(boolean busy) {
+        loginFrame.getLoginButton().setEnabled(!busy);
+        loginFrame.setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
     }
-}
\ No newline at end of file
+}
@@ -5,13 +5,10 @@ import main.java.com.carrental.model.Rental;
 import main.java.com.carrental.view.RentalPanel;
 
 import javax.swing.JOptionPane;
-import javax.swing.table.DefaultTableModel;
 import java.sql.SQLException;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
-import java.util.List;
 import java.util.Date;
 
 /**
@@ -21,6 +18,7 @@ import java.util.Date;
  */
 public class RentalController {
     private RentalPanel rentalPanel;
+    private BackgroundLoader loader;
 
     /**
      * Constructs a RentalController with the specified RentalPanel.
@@ -29,6 +27,7 @@ public class RentalController {
      */
     public RentalController(RentalPanel rentalPanel) {
         this.rentalPanel = rentalPanel;
+        this.loader = new BackgroundLoader(rentalPanel.getProgressBar());
         initController();
     }
 
@@ -42,42 +41,49 @@ public class RentalController {
         rentalPanel.getUpdateButton().addActionListener(e -> updateRental());
         rentalPanel.getDeleteButton().addActionListener(e -> deleteRental());
         rentalPanel.getCalculateCostButton().addActionListener(e -> calculateAndDisplayCost());
+        rentalPanel.getRefreshButton().addActionListener(e -> loadRentals());
         
         // Add selection listener to display selected rental details
         rentalPanel.getRentalTable().getSelectionModel().addListSelectionListener(
             e -> displaySelectedRental());
         
+        // Fetch table pages lazily as they are scrolled into view
+        rentalPanel.getTableModel().setPageFetcher(this::fetchRentalPage);
+
         // Load initial rental data
         loadRentals();
     }
 
     /**
-     * Loads all rentals from the database and populates the table.
+     * Loads the IDs of all rentals in the background and resets the table with them.
+     * The rows themselves are fetched page by page as the table scrolls.
+     * A load started while another is still running supersedes it.
      * Displays an error message if the database operation fails.
      */
     private void loadRentals() {
-        try {
-            List<Rental> rentals = Rental.getAllRentals();
-            DefaultTableModel model = rentalPanel.getTableModel();
-            model.setRowCount(0); // Clear existing data
-            
-            // Add each rental to the table model
-            for (Rental rental : rentals) {
-                model.addRow(new Object[]{
-                    rental.getRentalId(),
-                    rental.getCarId(),
-                    rental.getCustomerId(),
-                    rental.getRentalDatetime(),
-                    rental.getReturnDatetime(),
-                    rental.getTotalCost()
-                });
-            }
-        } catch (SQLException ex) {
+        loader.submit("rentals", Rental::getRentalIds, rentalPanel.getTableModel()::reset, ex ->
             JOptionPane.showMessageDialog(rentalPanel,
                 "Error loading rentals: " + ex.getMessage(),
                 "Database Error",
-                JOptionPane.ERROR_MESSAGE);
-        }
+                JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * Fetches one page of the rentals table in the background using keyset pagination.
+     * 
+     * @param requestId The table model's ID for this page request
+     * @param page The page index
+     * @param afterRentalId The last rental ID before the page
+     * @param limit The number of rows in the page
+     */
+    private void fetchRentalPage(int requestId, int page, int afterRentalId, int limit) {
+        loader.submit("rentals-page-" + page,
+            () -> Rental.getRentalsAfter(afterRentalId, limit),
+            rentals -> rentalPanel.getTableModel().putPage(requestId, page, rentals),
+            ex -> JOptionPane.showMessageDialog(rentalPanel,
+                "Error loading rentals: " + ex.getMessage(),
+                "Database Error",
+                JOptionPane.ERROR_MESSAGE));
     }
 
     /**
@@ -113,10 +119,7 @@ public class RentalController {
             }
 
             // Get car details for rate calculation
-            Car car = Car.getAllCars().stream()
-                .filter(c -> c.getCarId() == carId)
-                .findFirst()
-                .orElse(null);
+            Car car = Car.getCarById(carId);
                 
             if (car == null) {
                 JOptionPane.showMessageDialog(rentalPanel,
@@ -135,13 +138,20 @@ public class RentalController {
             // Create and save new rental
             Rental rental = new Rental(0, carId, customerId,
                 rentalDatetime, returnDatetime, totalCost);
-            Rental.addRental(rental);
+            if (!Rental.addRentalIfAvailable(rental)) {
+                // Booked or withdrawn by another client since the check above
+                JOptionPane.showMessageDialog(rentalPanel,
+                    "Car is not available for the selected time period.",
+                    "Availability Error",
+                    JOptionPane.ERROR_MESSAGE);
+                return;
+            }
             
             JOptionPane.showMessageDialog(rentalPanel,
                 "Rental added successfully! Total Cost: " + 
                 String.format("%.2f", totalCost));
             rentalPanel.clearForm();
-            loadRentals(); // Refresh the table
+            rentalPanel.getTableModel().addRental(rental); // Show the new row with its generated ID
             
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(rentalPanel,
@@ -170,7 +180,7 @@ public class RentalController {
         if (selectedRow >= 0) {
             try {
                 // Get rental ID from selected row
-                int rentalId = (int) rentalPanel.getTableModel().getValueAt(selectedRow, 0);
+                int rentalId = rentalPanel.getTableModel().getRentalIdAt(selectedRow);
                 
                 // Get updated information from form
                 int carId = Integer.parseInt(rentalPanel.getCarIdField().getText());
@@ -187,8 +197,8 @@ public class RentalController {
                     return;
                 }
 
-                // Check car availability (see note in documentation)
-                if (!Rental.isCarAvailable(carId, rentalDatetime, returnDatetime)) {
+                // Check car availability, ignoring this rental's own booking
+                if (!Rental.isCarAvailable(carId, rentalDatetime, returnDatetime, rentalId)) {
                     JOptionPane.showMessageDialog(rentalPanel,
                         "Car is not available for the selected time period.",
                         "Availability Error",
@@ -197,10 +207,7 @@ public class RentalController {
                 }
 
                 // Get car details for rate calculation
-                Car car = Car.getAllCars().stream()
-                    .filter(c -> c.getCarId() == carId)
-                    .findFirst()
-                    .orElse(null);
+                Car car = Car.getCarById(carId);
                     
                 if (car == null) {
                     JOptionPane.showMessageDialog(rentalPanel,
@@ -225,7 +232,7 @@ public class RentalController {
                     "Rental updated successfully! Total Cost: " + 
                     String.format("%.2f", totalCost));
                 rentalPanel.clearForm();
-                loadRentals(); // Refresh the table
+                rentalPanel.getTableModel().updateRental(rental);
                 
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(rentalPanel,
@@ -257,7 +264,7 @@ public class RentalController {
     private void deleteRental() {
         int selectedRow = rentalPanel.getRentalTable().getSelectedRow();
         if (selectedRow >= 0) {
-            int rentalId = (int) rentalPanel.getTableModel().getValueAt(selectedRow, 0);
+            int rentalId = rentalPanel.getTableModel().getRentalIdAt(selectedRow);
             
             // Confirm deletion with user
             int confirm = JOptionPane.showConfirmDialog(rentalPanel,
@@ -271,7 +278,7 @@ public class RentalController {
                     JOptionPane.showMessageDialog(rentalPanel,
                         "Rental deleted successfully!");
                     rentalPanel.clearForm();
-                    loadRentals(); // Refresh the table
+                    rentalPanel.getTableModel().removeRental(rentalId);
                 } catch (SQLException ex) {
                     JOptionPane.showMessageDialog(rentalPanel,
                         "Error deleting rental: " + ex.getMessage(),
@@ -289,80 +296,47 @@ public class RentalController {
 
     /**
      * Displays the details of the selected rental in the form fields.
-     * Handles date/time parsing and formatting for proper display.
+     * Splits the rental and return datetimes into the date pickers and time spinners.
      */
     private void displaySelectedRental() {
         int selectedRow = rentalPanel.getRentalTable().getSelectedRow();
         if (selectedRow >= 0) {
-            try {
-                // Set basic rental information
-                rentalPanel.getCarIdField().setText(
-                    rentalPanel.getTableModel().getValueAt(selectedRow, 1).toString());
-                rentalPanel.getCustomerIdField().setText(
-                    rentalPanel.getTableModel().getValueAt(selectedRow, 2).toString());
+            Rental rental = rentalPanel.getTableModel().getRentalAt(selectedRow);
+            if (rental == null) {
+                return; // Row's page is still loading
+            }
 
-                // Handle Rental Date and Time parsing
-                Object rentalDateObj = rentalPanel.getTableModel().getValueAt(selectedRow, 3);
-                if (rentalDateObj instanceof String) {
-                    String rentalDateString = (String) rentalDateObj;
-                    String[] dateTimeParts = rentalDateString.split("T");
-                    
-                    if (dateTimeParts.length >= 2) {
-                        // Parse and set Rental Date
-                        Date rentalDate = new SimpleDateFormat("yyyy-MM-dd").parse(dateTimeParts[0]);
-                        if (rentalPanel.getRentalDatePicker() != null) {
-                            rentalPanel.setRentalDatePicker(rentalDate);
-                        }
-                        
-                        // Parse and set Rental Time
-                        java.sql.Time rentalTime = java.sql.Time.valueOf(dateTimeParts[1]);
-                        if (rentalPanel.getRentalTimeSpinner() != null) {
-                            rentalPanel.setRentalTimeSpinner(rentalTime);
-                        }
-                    }
-                }
+            // Set basic rental information
+            rentalPanel.getCarIdField().setText(String.valueOf(rental.getCarId()));
+            rentalPanel.getCustomerIdField().setText(String.valueOf(rental.getCustomerId()));
 
-                // Handle Return Date and Time parsing
-                Object returnDateObj = rentalPanel.getTableModel().getValueAt(selectedRow, 4);
-                if (returnDateObj instanceof String) {
-                    String returnDateString = (String) returnDateObj;
-                    String[] dateTimeParts = returnDateString.split("T");
-                    
-                    if (dateTimeParts.length >= 2) {
-                        // Parse and set Return Date
-                        Date returnDate = new SimpleDateFormat("yyyy-MM-dd").parse(dateTimeParts[0]);
-                        if (rentalPanel.getReturnDatePicker() != null) {
-                            rentalPanel.setReturnDatePicker(returnDate);
-                        }
-                        
-                        // Parse and set Return Time
-                        java.sql.Time returnTime = java.sql.Time.valueOf(dateTimeParts[1]);
-                        if (rentalPanel.getReturnTimeSpinner() != null) {
-                            rentalPanel.setReturnTimeSpinner(returnTime);
-                        }
-                    }
-                }
+            // Set Rental Date and Time
+            LocalDateTime rentalDatetime = rental.getRentalDatetime();
+            rentalPanel.setRentalDatePicker(toDate(rentalDatetime));
+            rentalPanel.setRentalTimeSpinner(java.sql.Time.valueOf(rentalDatetime.toLocalTime()));
 
-                // Set Total Cost
-                rentalPanel.getTotalCostLabel().setText(
-                    rentalPanel.getTableModel().getValueAt(selectedRow, 5).toString());
-                    
-            } catch (ParseException e) {
-                JOptionPane.showMessageDialog(rentalPanel, 
-                    "Error parsing date: " + e.getMessage(), 
-                    "Date Error", JOptionPane.ERROR_MESSAGE);
-            } catch (IllegalArgumentException e) {
-                JOptionPane.showMessageDialog(rentalPanel, 
-                    "Invalid time format: " + e.getMessage(), 
-                    "Time Error", JOptionPane.ERROR_MESSAGE);
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(rentalPanel, 
-                    "Error displaying rental data: " + e.getMessage(), 
-                    "Error", JOptionPane.ERROR_MESSAGE);
+            // Set Return Date and Time when the car has a return datetime
+            LocalDateTime returnDatetime = rental.getReturnDatetime();
+            if (returnDatetime != null) {
+                rentalPanel.setReturnDatePicker(toDate(returnDatetime));
+                rentalPanel.setReturnTimeSpinner(java.sql.Time.valueOf(returnDatetime.toLocalTime()));
             }
+
+            // Set Total Cost
+            rentalPanel.getTotalCostLabel().setText(String.format("%.2f", rental.getTotalCost()));
         }
     }
 
+    /**
+     * Converts the date part of a datetime to a Date at the start of that day.
+     * 
+     * @param dateTime The datetime to convert
+     * @return The date for the date picker
+     */
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.toLocalDate().atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
     /**
      * Calculates and displays the rental cost based on current form inputs.
      * Validates inputs and shows appropriate error messages.
@@ -386,10 +360,7 @@ public class RentalController {
             }
 
             // Get car details for rate calculation
-            Car car = Car.getAllCars().stream()
-                .filter(c -> c.getCarId() == carId)
-                .findFirst()
-                .orElse(null);
+            Car car = Car.getCarById(carId);
                 
             if (car == null) {
                 JOptionPane.showMessageDialog(rentalPanel,
@@ -0,0 +1,175 @@
+package main.java.com.carrental.controller;
+
+import main.java.com.carrental.model.Car;
+import main.java.com.carrental.model.Report;
+import main.java.com.carrental.model.ReportService;
+import main.java.com.carrental.view.ReportPanel;
+
+import javax.swing.JComboBox;
+import javax.swing.JOptionPane;
+import javax.swing.table.DefaultTableModel;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * Controller class for the reports tab.
+ * Builds reports in the background for the range, period and make selected
+ * in the ReportPanel and fills its tables with the results.
+ */
+public class ReportController {
+    private static final int DEFAULT_RANGE_DAYS = 90;
+    private static final int TOP_CUSTOMERS = 10;
+    private static final String ALL_MAKES = "All makes";
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH);
+
+    private ReportPanel reportPanel;
+    private BackgroundLoader loader;
+
+    /**
+     * Constructs a ReportController with the specified ReportPanel.
+     *
+     * @param reportPanel The view component for reports
+     */
+    public ReportController(ReportPanel reportPanel) {
+        this.reportPanel = reportPanel;
+        this.loader = new BackgroundLoader(reportPanel.getProgressBar());
+        initController();
+    }
+
+    /**
+     * Initializes the controller by setting up event listeners,
+     * selecting the default range and running the first report.
+     */
+    private void initController() {
+        reportPanel.getRunButton().addActionListener(e -> runReport());
+
+        LocalDate today = LocalDate.now();
+        reportPanel.setDateRange(today.minusDays(DEFAULT_RANGE_DAYS - 1), today);
+
+        loadMakes();
+        runReport();
+    }
+
+    /**
+     * Fills the make filter with the makes of all cars, in the background.
+     */
+    private void loadMakes() {
+        loader.submit("makes", () -> {
+            TreeSet<String> makes = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            for (Car car : Car.getAllCars()) {
+                makes.add(car.getMake());
+            }
+            return makes;
+        }, makes -> {
+            JComboBox<String> makeComboBox = reportPanel.getMakeComboBox();
+            Object selected = makeComboBox.getSelectedItem();
+            makeComboBox.removeAllItems();
+            makeComboBox.addItem(ALL_MAKES);
+            for (String make : makes) {
+                makeComboBox.addItem(make);
+            }
+            makeComboBox.setSelectedItem(selected);
+        }, ex -> showError("Error loading car makes: " + ex.getMessage()));
+    }
+
+    /**
+     * Builds a report for the selected filters in the background.
+     * A report started while another is still running supersedes it.
+     */
+    private void runReport() {
+        LocalDate from = reportPanel.getFromDate();
+        LocalDate to = reportPanel.getToDate();
+        if (from == null || to == null) {
+            JOptionPane.showMessageDialog(reportPanel,
+                "Please select both a start and an end date.",
+                "Input Error",
+                JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        if (to.isBefore(from)) {
+            JOptionPane.showMessageDialog(reportPanel,
+                "The end date must not be before the start date.",
+                "Input Error",
+                JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        Report.Period period = Report.Period.valueOf(
+            ((String) reportPanel.getPeriodComboBox().getSelectedItem()).toUpperCase(Locale.ROOT));
+        String selectedMake = (String) reportPanel.getMakeComboBox().getSelectedItem();
+        String make = selectedMake == null || selectedMake.equals(ALL_MAKES) ? null : selectedMake;
+
+        loader.submit("report", () -> ReportService.build(from, to, period, make, TOP_CUSTOMERS),
+            this::showReport, ex -> showError("Error building report: " + ex.getMessage()));
+    }
+
+    /**
+     * Replaces the summary and table contents with the given report.
+     *
+     * @param report The report to display
+     */
+    private void showReport(Report report) {
+        double averageHours = report.getAverageRentalHours();
+        reportPanel.getSummaryLabel().setText(String.format(
+            "%s: %,d rentals, revenue %,.2f, average duration %s",
+            report.getMake() != null ? report.getMake() : ALL_MAKES,
+            report.getTotalRentals(),
+            report.getTotalRevenue(),
+            Double.isNaN(averageHours) ? "-" : String.format("%.1f h", averageHours)));
+
+        DefaultTableModel revenueModel = reportPanel.getRevenueTableModel();
+        revenueModel.setRowCount(0);
+        for (Report.RevenueRow row : report.getRevenue()) {
+            revenueModel.addRow(new Object[]{
+                formatPeriod(row.getPeriodStart(), report.getPeriod()),
+                row.getRentals(),
+                String.format("%,.2f", row.getRevenue())
+            });
+        }
+
+        DefaultTableModel utilizationModel = reportPanel.getUtilizationTableModel();
+        utilizationModel.setRowCount(0);
+        for (Report.CarUtilization row : report.getUtilization()) {
+            Car car = row.getCar();
+            utilizationModel.addRow(new Object[]{
+                car.getMake() + " " + car.getModel() + " (" + car.getLicensePlate() + ")",
+                String.format("%,.1f", row.getBookedHours()),
+                String.format("%.1f%%", row.getUtilization() * 100)
+            });
+        }
+
+        DefaultTableModel customerModel = reportPanel.getCustomerTableModel();
+        customerModel.setRowCount(0);
+        for (Report.CustomerRevenue row : report.getTopCustomers()) {
+            customerModel.addRow(new Object[]{
+                row.getName(),
+                row.getRentals(),
+                String.format("%,.2f", row.getRevenue())
+            });
+        }
+    }
+
+    /**
+     * Formats the start of a revenue period for display.
+     */
+    private static String formatPeriod(LocalDate periodStart, Report.Period period) {
+        switch (period) {
+            case WEEK:
+                return "Week of " + periodStart;
+            case MONTH:
+                return periodStart.format(MONTH_FORMAT);
+            default:
+                return periodStart.toString();
+        }
+    }
+
+    private void showError(String message) {
+        JOptionPane.showMessageDialog(reportPanel,
+            message,
+            "Database Error",
+            JOptionPane.ERROR_MESSAGE);
+    }
+}
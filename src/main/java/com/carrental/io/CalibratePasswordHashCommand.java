@@ -0,0 +1,69 @@
+package main.java.com.carrental.io;
+
+import main.java.com.carrental.model.DatabaseConnection;
+import main.java.com.carrental.model.PasswordHasher;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The headless {@code calibrate-password-hash} command, which measures how
+ * many PBKDF2 iterations this machine can run within a login-latency budget
+ * and prints the matching {@code carrental.db.passwordHashIterations} setting.
+ */
+public final class CalibratePasswordHashCommand {
+    private static final long DEFAULT_BUDGET_MILLIS = 250;
+
+    private CalibratePasswordHashCommand() {
+    }
+
+    /**
+     * Runs the command.
+     *
+     * @param args The arguments following {@code calibrate-password-hash}: an optional budget in milliseconds
+     * @return The process exit code: 0 on success, 1 if the configuration cannot be read, 2 on a usage error
+     */
+    public static int run(List<String> args) {
+        long budgetMillis = DEFAULT_BUDGET_MILLIS;
+        try {
+            if (args.size() > 1) {
+                throw new IllegalArgumentException("Too many arguments");
+            }
+            if (args.size() == 1) {
+                budgetMillis = Long.parseLong(args.get(0));
+                if (budgetMillis < 1) {
+                    throw new IllegalArgumentException("The budget must be at least 1 ms");
+                }
+            }
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println("Usage: calibrate-password-hash [budget-ms]   (default " + DEFAULT_BUDGET_MILLIS + ")");
+            return 2;
+        }
+
+        try {
+            int configured = DatabaseConnection.getConfig().getPasswordHashIterations();
+            int iterations = PasswordHasher.calibrate(budgetMillis);
+
+            long start = System.nanoTime();
+            PasswordHasher.hash("calibration-check".toCharArray(), iterations);
+            double measuredMillis = (System.nanoTime() - start) / 1e6;
+
+            System.out.printf(Locale.ROOT, "Configured: %,d iterations%n", configured);
+            System.out.printf(Locale.ROOT, "Budget %d ms: %,d iterations (one hash took %.0f ms)%n",
+                budgetMillis, iterations, measuredMillis);
+            if (iterations < PasswordHasher.DEFAULT_ITERATIONS) {
+                System.out.printf(Locale.ROOT, "Note: below the recommended %,d iterations%n",
+                    PasswordHasher.DEFAULT_ITERATIONS);
+            }
+            System.out.println("carrental.db.passwordHashIterations=" + iterations);
+            return 0;
+        } catch (SQLException ex) {
+            System.err.println("Cannot read the configuration: " + ex.getMessage());
+            return 1;
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+    }
+}
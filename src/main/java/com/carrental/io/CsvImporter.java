@@ -0,0 +1,506 @@
+package main.java.com.carrental.io;
+
+import main.java.com.carrental.model.Car;
+import main.java.com.carrental.model.Customer;
+import main.java.com.carrental.model.Rental;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports cars, customers or rentals from a CSV file.
+ *
+ * <p>The file is streamed with a {@link CsvReader}, so only one transaction's
+ * worth of rows is in memory at a time and files of any size can be imported.
+ * The first record is a header naming the columns, using the column names of
+ * {@code db/car_rental_db.sql}; other columns, such as an exported ID, are
+ * ignored.</p>
+ *
+ * <p>Each row is checked against the table's constraints before it is
+ * written: required columns, column lengths, numeric ranges, unique license
+ * plates and emails, and existing cars and customers for rentals. Valid rows
+ * are written in transactions of {@value #ROWS_PER_TRANSACTION} rows through
+ * the batch insert APIs. If the database still rejects a transaction, its
+ * rows are retried one by one so that only the offending rows are lost.
+ * Rejected rows are written to a side file together with their line number
+ * and the reason.</p>
+ */
+public class CsvImporter {
+    /** A table that can be imported or exported. */
+    public enum Target {
+        CARS("make", "model", "year", "license_plate", "hourly_rate"),
+        CUSTOMERS("first_name", "last_name", "email"),
+        RENTALS("car_id", "customer_id", "rental_datetime");
+
+        private final String[] requiredColumns;
+
+        Target(String... requiredColumns) {
+            this.requiredColumns = requiredColumns;
+        }
+
+        /**
+         * @param name cars, customers or rentals, in any case
+         * @return The matching target
+         * @throws IllegalArgumentException If the name is not a known target
+         */
+        public static Target fromName(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unknown import target: " + name
+                    + " (expected cars, customers or rentals)");
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /** Rows written per transaction. */
+    public static final int ROWS_PER_TRANSACTION = 5_000;
+
+    private static final long PROGRESS_INTERVAL = 100_000;
+    private static final DateTimeFormatter DATE_TIME_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd['T'][' ']HH:mm[:ss]");
+    private static final double MAX_AMOUNT = 99_999_999.99; // DECIMAL(10, 2)
+
+    private final int batchSize;
+    private final PrintStream progress;
+
+    /**
+     * @param batchSize The number of rows sent per JDBC batch
+     * @param progress Where to print progress while importing (nullable)
+     */
+    public CsvImporter(int batchSize, PrintStream progress) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
+        this.progress = progress;
+    }
+
+    /**
+     * Imports a CSV file.
+     *
+     * @param target The table to import into
+     * @param csv The CSV file, UTF-8 encoded, with a header record
+     * @param rejectsFile Where to write rejected rows; created only if a row is rejected
+     * @return The import statistics
+     * @throws IOException If the file cannot be read, is malformed, or lacks a required column
+     * @throws SQLException If the database cannot be reached
+     */
+    public ImportReport importFile(Target target, Path csv, Path rejectsFile) throws IOException, SQLException {
+        long startNanos = System.nanoTime();
+        try (CsvReader reader = new CsvReader(new InputStreamReader(Files.newInputStream(csv), StandardCharsets.UTF_8));
+             Rejects rejects = new Rejects(rejectsFile)) {
+
+            String[] header = reader.readRecord();
+            if (header == null) {
+                throw new IOException(csv + " is empty");
+            }
+            Columns columns = new Columns(header, target.requiredColumns);
+
+            switch (target) {
+                case CARS:
+                    return run(target, new CarLoader(), reader, columns, rejects, startNanos);
+                case CUSTOMERS:
+                    return run(target, new CustomerLoader(), reader, columns, rejects, startNanos);
+                default:
+                    return run(target, new RentalLoader(), reader, columns, rejects, startNanos);
+            }
+        }
+    }
+
+    private <T> ImportReport run(Target target, RowLoader<T> loader, CsvReader reader, Columns columns,
+                                 Rejects rejects, long startNanos) throws IOException, SQLException {
+        int chunkSize = Math.max(ROWS_PER_TRANSACTION, batchSize);
+        List<T> chunk = new ArrayList<>(chunkSize);
+        List<String[]> chunkRecords = new ArrayList<>(chunkSize);
+        long[] chunkLines = new long[chunkSize];
+        long rowsRead = 0;
+        long imported = 0;
+
+        String[] record;
+        while ((record = reader.readRecord()) != null) {
+            rowsRead++;
+            try {
+                T row = loader.parse(new Row(columns, record));
+                chunkLines[chunk.size()] = reader.getRecordLineNumber();
+                chunk.add(row);
+                chunkRecords.add(record);
+            } catch (RowException ex) {
+                rejects.write(record, reader.getRecordLineNumber(), ex.getMessage());
+            }
+
+            if (chunk.size() == chunkSize) {
+                imported += flush(loader, chunk, chunkRecords, chunkLines, rejects);
+            }
+            if (progress != null && rowsRead % PROGRESS_INTERVAL == 0) {
+                progress.println(new ImportReport(target, rowsRead, imported, rejects.count,
+                    System.nanoTime() - startNanos, rejects.file));
+            }
+        }
+        imported += flush(loader, chunk, chunkRecords, chunkLines, rejects);
+
+        return new ImportReport(target, rowsRead, imported, rejects.count,
+            System.nanoTime() - startNanos, rejects.file);
+    }
+
+    /**
+     * Writes a chunk in one transaction, falling back to row-by-row inserts
+     * to isolate rows the database rejects.
+     *
+     * @return The number of rows written
+     */
+    private <T> int flush(RowLoader<T> loader, List<T> chunk, List<String[]> records, long[] lines,
+                          Rejects rejects) throws IOException, SQLException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        int imported = 0;
+        try {
+            loader.insertAll(chunk, batchSize);
+            imported = chunk.size();
+        } catch (SQLException ex) {
+            if (isConnectionFailure(ex)) {
+                throw ex;
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                try {
+                    loader.insertOne(chunk.get(i));
+                    imported++;
+                } catch (SQLException rowEx) {
+                    if (isConnectionFailure(rowEx)) {
+                        throw rowEx;
+                    }
+                    rejects.write(records.get(i), lines[i], rowEx.getMessage());
+                }
+            }
+        }
+        loader.chunkWritten();
+        chunk.clear();
+        records.clear();
+        return imported;
+    }
+
+    /**
+     * SQLState class 08 signals a lost connection; retrying row by row would not help.
+     */
+    private static boolean isConnectionFailure(SQLException ex) {
+        String state = ex.getSQLState();
+        return state != null && state.startsWith("08");
+    }
+
+    /**
+     * Validates rows of one table and writes them.
+     */
+    private interface RowLoader<T> {
+        /**
+         * Validates a row and converts it to an entity.
+         *
+         * @throws RowException If the row violates a constraint
+         * @throws SQLException If a lookup needed for validation fails
+         */
+        T parse(Row row) throws RowException, SQLException;
+
+        void insertAll(List<T> rows, int batchSize) throws SQLException;
+
+        void insertOne(T row) throws SQLException;
+
+        /**
+         * Called after a chunk has been written; rows of the chunk are now visible in the database.
+         */
+        void chunkWritten();
+    }
+
+    private static final class CarLoader implements RowLoader<Car> {
+        private final Set<String> chunkPlates = new HashSet<>();
+
+        @Override
+        public Car parse(Row row) throws RowException, SQLException {
+            String make = row.text("make", 50, true);
+            String model = row.text("model", 50, true);
+            int year = row.integer("year");
+            String licensePlate = row.text("license_plate", 20, true);
+            double hourlyRate = row.amount("hourly_rate", true);
+            boolean available = row.bool("available", true);
+
+            // The plate column is case-insensitive, so duplicates are too
+            if (Car.getCarByLicensePlate(licensePlate) != null
+                    || !chunkPlates.add(licensePlate.toUpperCase(Locale.ROOT))) {
+                throw new RowException("Duplicate license_plate " + licensePlate);
+            }
+            return new Car(0, make, model, year, licensePlate, hourlyRate, available);
+        }
+
+        @Override
+        public void insertAll(List<Car> rows, int batchSize) throws SQLException {
+            Car.addCars(rows, batchSize);
+        }
+
+        @Override
+        public void insertOne(Car row) throws SQLException {
+            Car.addCar(row);
+        }
+
+        @Override
+        public void chunkWritten() {
+            chunkPlates.clear(); // Written plates are now found in the car catalog
+        }
+    }
+
+    private static final class CustomerLoader implements RowLoader<Customer> {
+        private final Set<String> chunkEmails = new HashSet<>();
+
+        @Override
+        public Customer parse(Row row) throws RowException {
+            String firstName = row.text("first_name", 50, true);
+            String lastName = row.text("last_name", 50, true);
+            String email = row.text("email", 100, true);
+            String phoneNumber = row.text("phone_number", 20, false);
+
+            // Emails already in the database are caught by the unique key when the chunk is written
+            if (!chunkEmails.add(email.toLowerCase(Locale.ROOT))) {
+                throw new RowException("Duplicate email " + email);
+            }
+            return new Customer(0, firstName, lastName, email, phoneNumber.isEmpty() ? null : phoneNumber);
+        }
+
+        @Override
+        public void insertAll(List<Customer> rows, int batchSize) throws SQLException {
+            Customer.addCustomers(rows, batchSize);
+        }
+
+        @Override
+        public void insertOne(Customer row) throws SQLException {
+            Customer.addCustomer(row);
+        }
+
+        @Override
+        public void chunkWritten() {
+            chunkEmails.clear();
+        }
+    }
+
+    private static final class RentalLoader implements RowLoader<Rental> {
+        private final int[] customerIds;
+
+        RentalLoader() throws SQLException {
+            this.customerIds = Customer.getCustomerIds();
+        }
+
+        @Override
+        public Rental parse(Row row) throws RowException, SQLException {
+            int carId = row.integer("car_id");
+            int customerId = row.integer("customer_id");
+            LocalDateTime rentalDatetime = row.dateTime("rental_datetime", true);
+            LocalDateTime returnDatetime = row.dateTime("return_datetime", false);
+            double totalCost = row.amount("total_cost", false);
+
+            Car car = Car.getCarById(carId);
+            if (car == null) {
+                throw new RowException("Unknown car_id " + carId);
+            }
+            if (Arrays.binarySearch(customerIds, customerId) < 0) {
+                throw new RowException("Unknown customer_id " + customerId);
+            }
+            if (returnDatetime != null && returnDatetime.isBefore(rentalDatetime)) {
+                throw new RowException("return_datetime is before rental_datetime");
+            }
+            if (Double.isNaN(totalCost)) {
+                totalCost = returnDatetime != null
+                    ? Rental.calculateTotalCost(car.getHourlyRate(), rentalDatetime, returnDatetime)
+                    : 0;
+            }
+            return new Rental(0, carId, customerId, rentalDatetime, returnDatetime, totalCost);
+        }
+
+        @Override
+        public void insertAll(List<Rental> rows, int batchSize) throws SQLException {
+            Rental.addRentals(rows, batchSize);
+        }
+
+        @Override
+        public void insertOne(Rental row) throws SQLException {
+            Rental.addRental(row);
+        }
+
+        @Override
+        public void chunkWritten() {
+        }
+    }
+
+    /**
+     * Maps header names to field positions.
+     */
+    private static final class Columns {
+        private final Map<String, Integer> positions = new HashMap<>();
+
+        Columns(String[] header, String[] required) throws IOException {
+            for (int i = 0; i < header.length; i++) {
+                positions.putIfAbsent(header[i].trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String column : required) {
+                if (!positions.containsKey(column)) {
+                    throw new IOException("Missing required column " + column + " in header");
+                }
+            }
+        }
+
+        int position(String column) {
+            Integer position = positions.get(column);
+            return position != null ? position : -1;
+        }
+    }
+
+    /**
+     * Typed, validated access to the fields of one record.
+     */
+    private static final class Row {
+        private final Columns columns;
+        private final String[] record;
+
+        Row(Columns columns, String[] record) {
+            this.columns = columns;
+            this.record = record;
+        }
+
+        String raw(String column) {
+            int position = columns.position(column);
+            return position >= 0 && position < record.length ? record[position].trim() : "";
+        }
+
+        String text(String column, int maxLength, boolean required) throws RowException {
+            String value = raw(column);
+            if (required && value.isEmpty()) {
+                throw new RowException(column + " is required");
+            }
+            if (value.length() > maxLength) {
+                throw new RowException(column + " is longer than " + maxLength + " characters");
+            }
+            return value;
+        }
+
+        int integer(String column) throws RowException {
+            String value = text(column, 11, true);
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException ex) {
+                throw new RowException(column + " is not a whole number: " + value);
+            }
+        }
+
+        /**
+         * @return The amount, or NaN if the field is blank and not required
+         */
+        double amount(String column, boolean required) throws RowException {
+            String value = text(column, 20, required);
+            if (value.isEmpty()) {
+                return Double.NaN;
+            }
+            double amount;
+            try {
+                amount = Double.parseDouble(value);
+            } catch (NumberFormatException ex) {
+                throw new RowException(column + " is not a number: " + value);
+            }
+            if (!(amount >= 0 && amount <= MAX_AMOUNT)) {
+                throw new RowException(column + " is out of range: " + value);
+            }
+            return amount;
+        }
+
+        boolean bool(String column, boolean defaultValue) throws RowException {
+            String value = raw(column).toLowerCase(Locale.ROOT);
+            switch (value) {
+                case "":
+                    return defaultValue;
+                case "true": case "1": case "yes": case "y":
+                    return true;
+                case "false": case "0": case "no": case "n":
+                    return false;
+                default:
+                    throw new RowException(column + " is not a boolean: " + value);
+            }
+        }
+
+        /**
+         * @return The date-time, or null if the field is blank and not required
+         */
+        LocalDateTime dateTime(String column, boolean required) throws RowException {
+            String value = text(column, 30, required);
+            if (value.isEmpty()) {
+                return null;
+            }
+            try {
+                return LocalDateTime.parse(value, DATE_TIME_FORMAT);
+            } catch (DateTimeParseException ex) {
+                throw new RowException(column + " is not a date-time (YYYY-MM-DD HH:MM:SS): " + value);
+            }
+        }
+    }
+
+    /**
+     * A row that violates a constraint; the message says which.
+     */
+    private static final class RowException extends Exception {
+        RowException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * The side file of rejected rows: line number, reason, then the original fields.
+     * The file is only created when the first row is rejected.
+     */
+    private static final class Rejects implements Closeable {
+        private final Path path;
+        private Path file;
+        private CsvWriter writer;
+        private long count;
+
+        Rejects(Path path) {
+            this.path = path;
+        }
+
+        void write(String[] record, long line, String reason) throws IOException {
+            if (writer == null) {
+                writer = new CsvWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8));
+                file = path;
+                writer.writeRecord("line", "reason", "fields...");
+            }
+            String[] fields = new String[record.length + 2];
+            fields[0] = Long.toString(line);
+            fields[1] = reason;
+            System.arraycopy(record, 0, fields, 2, record.length);
+            writer.writeRecord(fields);
+            count++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package main.java.com.carrental.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A streaming reader for RFC 4180 CSV.
+ * Records are parsed straight out of a fixed-size character buffer, so memory
+ * use is bounded by the longest record rather than by the file size. Quoted
+ * fields may contain commas, doubled quotes and line breaks; both LF and CRLF
+ * line endings are accepted, a leading byte order mark is skipped, and blank
+ * lines are ignored.
+ */
+public class CsvReader implements Closeable {
+    /** Records longer than this are rejected, which also bounds the damage of an unclosed quote. */
+    public static final int MAX_RECORD_LENGTH = 1 << 20;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean started;
+
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> fields = new ArrayList<>();
+    private long lineNumber = 1;
+    private long recordLineNumber;
+
+    /**
+     * @param in The character stream to read; closed by {@link #close()}
+     */
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return The fields of the record, or null at the end of the input
+     * @throws IOException If reading fails, a quote is not closed, or a record
+     *         exceeds {@link #MAX_RECORD_LENGTH}
+     */
+    public String[] readRecord() throws IOException {
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                return null;
+            }
+            if (c == '\n') {
+                lineNumber++;
+                continue; // Blank line
+            }
+            if (c == '\r') {
+                continue;
+            }
+            recordLineNumber = lineNumber;
+            return parseRecord(c);
+        }
+    }
+
+    /**
+     * @return The line on which the last record returned by {@link #readRecord()} started
+     */
+    public long getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private String[] parseRecord(int first) throws IOException {
+        fields.clear();
+        field.setLength(0);
+        int length = 0;
+        boolean quoted = false;     // Inside a quoted section
+        boolean wasQuoted = false;  // The current field started with a quote
+        int c = first;
+
+        while (true) {
+            if (c < 0) {
+                if (quoted) {
+                    throw new IOException("Unclosed quote in record starting on line " + recordLineNumber);
+                }
+                break;
+            }
+            if (++length > MAX_RECORD_LENGTH) {
+                throw new IOException("Record starting on line " + recordLineNumber
+                    + " is longer than " + MAX_RECORD_LENGTH + " characters");
+            }
+
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == ',') {
+                endField();
+                wasQuoted = false;
+            } else if (c == '\n') {
+                lineNumber++;
+                break;
+            } else if (c == '\r') {
+                int next = read();
+                if (next != '\n') {
+                    unread();
+                }
+                lineNumber++;
+                break;
+            } else if (c == '"' && field.length() == 0 && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+        endField();
+        return fields.toArray(new String[0]);
+    }
+
+    private void endField() {
+        fields.add(field.toString());
+        field.setLength(0);
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+            if (!started) {
+                started = true;
+                if (buffer[0] == '\uFEFF') {
+                    position = 1; // Byte order mark
+                    return read();
+                }
+            }
+        }
+        return buffer[position++];
+    }
+
+    /**
+     * Steps back over the character just read. Only valid directly after a
+     * {@link #read()} that did not return -1.
+     */
+    private void unread() {
+        if (limit > 0) {
+            position--;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package main.java.com.carrental.io;
+
+import main.java.com.carrental.model.Car;
+import main.java.com.carrental.model.CarDao;
+import main.java.com.carrental.model.Customer;
+import main.java.com.carrental.model.CustomerDao;
+import main.java.com.carrental.model.DatabaseConnection;
+import main.java.com.carrental.model.Rental;
+import main.java.com.carrental.model.RentalDao;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Exports cars, customers or rentals to a CSV or JSON file.
+ *
+ * <p>Rows are streamed from a forward-only, read-only result set with a
+ * limited fetch size straight into a buffered writer over a
+ * {@link FileChannel}, so memory use does not depend on the table size.
+ * Rentals can be limited to those starting within a date range.</p>
+ *
+ * <p>The data is written to a {@code .part} file next to the target, which
+ * replaces the target only once the export has completed, so a failed export
+ * never leaves a truncated file behind. CSV files use the column names of the
+ * tables and can be read back with {@link CsvImporter}; JSON files hold an
+ * array with one object per row.</p>
+ */
+public class DataExporter {
+    /** The output file format. */
+    public enum Format {
+        CSV, JSON;
+
+        /**
+         * @param name csv or json, in any case
+         * @return The matching format
+         * @throws IllegalArgumentException If the name is not a known format
+         */
+        public static Format fromName(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unknown export format: " + name + " (expected csv or json)");
+            }
+        }
+
+        /**
+         * @param file The output file
+         * @return JSON for a {@code .json} file, CSV otherwise
+         */
+        public static Format forFile(Path file) {
+            return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json") ? JSON : CSV;
+        }
+    }
+
+    private static final long PROGRESS_INTERVAL = 100_000;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String[] CAR_COLUMNS =
+        {"car_id", "make", "model", "year", "license_plate", "hourly_rate", "available"};
+    private static final Kind[] CAR_KINDS =
+        {Kind.NUMBER, Kind.TEXT, Kind.TEXT, Kind.NUMBER, Kind.TEXT, Kind.NUMBER, Kind.BOOLEAN};
+    private static final String[] CUSTOMER_COLUMNS =
+        {"customer_id", "first_name", "last_name", "email", "phone_number"};
+    private static final Kind[] CUSTOMER_KINDS =
+        {Kind.NUMBER, Kind.TEXT, Kind.TEXT, Kind.TEXT, Kind.TEXT};
+    private static final String[] RENTAL_COLUMNS =
+        {"rental_id", "car_id", "customer_id", "rental_datetime", "return_datetime", "total_cost"};
+    private static final Kind[] RENTAL_KINDS =
+        {Kind.NUMBER, Kind.NUMBER, Kind.NUMBER, Kind.TEXT, Kind.TEXT, Kind.NUMBER};
+
+    /** How a field is written in JSON; CSV writes every field as text. */
+    private enum Kind { NUMBER, BOOLEAN, TEXT }
+
+    private final int fetchSize;
+    private final PrintStream progress;
+
+    /**
+     * @param fetchSize The fetch size for the streamed query, see
+     *                  {@link main.java.com.carrental.model.DatabaseConfig#getStreamingFetchSize()}
+     * @param progress Where to print progress while exporting (nullable)
+     */
+    public DataExporter(int fetchSize, PrintStream progress) {
+        this.fetchSize = fetchSize;
+        this.progress = progress;
+    }
+
+    /**
+     * Exports a table.
+     *
+     * @param target The table to export
+     * @param format The file format
+     * @param file The file to write; replaced if it exists
+     * @param from Only rentals starting at or after this time (nullable; rentals only)
+     * @param to Only rentals starting before this time (nullable; rentals only)
+     * @return The number of rows written
+     * @throws IOException If the file cannot be written
+     * @throws SQLException If a database access error occurs
+     * @throws IllegalArgumentException If a date range is given for a table other than rentals
+     */
+    public long export(CsvImporter.Target target, Format format, Path file, LocalDateTime from, LocalDateTime to)
+            throws IOException, SQLException {
+        if (target != CsvImporter.Target.RENTALS && (from != null || to != null)) {
+            throw new IllegalArgumentException("A date range can only be given for rentals");
+        }
+
+        Path part = file.resolveSibling(file.getFileName() + ".part");
+        long rows;
+        boolean completed = false;
+        try {
+            FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            try (Sink sink = format == Format.CSV ? new CsvSink(writer) : new JsonSink(writer);
+                 Connection conn = DatabaseConnection.getConnection()) {
+                switch (target) {
+                    case CARS:
+                        sink.begin(CAR_COLUMNS, CAR_KINDS);
+                        rows = CarDao.scan(conn, fetchSize, car -> sink.write(fields(car)));
+                        break;
+                    case CUSTOMERS:
+                        sink.begin(CUSTOMER_COLUMNS, CUSTOMER_KINDS);
+                        rows = CustomerDao.scan(conn, fetchSize, customer -> sink.write(fields(customer)));
+                        break;
+                    default:
+                        sink.begin(RENTAL_COLUMNS, RENTAL_KINDS);
+                        rows = RentalDao.scan(conn, from, to, fetchSize, rental -> sink.write(fields(rental)));
+                        break;
+                }
+                sink.end();
+            }
+            Files.move(part, file, StandardCopyOption.REPLACE_EXISTING);
+            completed = true;
+        } finally {
+            if (!completed) {
+                Files.deleteIfExists(part);
+            }
+        }
+        return rows;
+    }
+
+    private static String[] fields(Car car) {
+        return new String[] {
+            Integer.toString(car.getCarId()),
+            car.getMake(),
+            car.getModel(),
+            Integer.toString(car.getYear()),
+            car.getLicensePlate(),
+            amount(car.getHourlyRate()),
+            Boolean.toString(car.isAvailable())
+        };
+    }
+
+    private static String[] fields(Customer customer) {
+        return new String[] {
+            Integer.toString(customer.getCustomerId()),
+            customer.getFirstName(),
+            customer.getLastName(),
+            customer.getEmail(),
+            customer.getPhoneNumber()
+        };
+    }
+
+    private static String[] fields(Rental rental) {
+        return new String[] {
+            Integer.toString(rental.getRentalId()),
+            Integer.toString(rental.getCarId()),
+            Integer.toString(rental.getCustomerId()),
+            dateTime(rental.getRentalDatetime()),
+            dateTime(rental.getReturnDatetime()),
+            amount(rental.getTotalCost())
+        };
+    }
+
+    private static String amount(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private static String dateTime(LocalDateTime value) {
+        return value != null ? DATE_TIME_FORMAT.format(value) : null;
+    }
+
+    /**
+     * Writes rows in one file format and reports progress.
+     */
+    private abstract class Sink implements Closeable {
+        private long rows;
+
+        abstract void begin(String[] columns, Kind[] kinds) throws IOException;
+
+        abstract void writeFields(String[] fields) throws IOException;
+
+        abstract void end() throws IOException;
+
+        final void write(String[] fields) throws IOException {
+            writeFields(fields);
+            if (++rows % PROGRESS_INTERVAL == 0 && progress != null) {
+                progress.printf(Locale.ROOT, "%,d rows exported%n", rows);
+            }
+        }
+    }
+
+    private final class CsvSink extends Sink {
+        private final CsvWriter csv;
+
+        CsvSink(Writer writer) {
+            this.csv = new CsvWriter(writer);
+        }
+
+        @Override
+        void begin(String[] columns, Kind[] kinds) throws IOException {
+            csv.writeRecord(columns);
+        }
+
+        @Override
+        void writeFields(String[] fields) throws IOException {
+            csv.writeRecord(fields);
+        }
+
+        @Override
+        void end() {
+        }
+
+        @Override
+        public void close() throws IOException {
+            csv.close();
+        }
+    }
+
+    private final class JsonSink extends Sink {
+        private final JsonWriter json;
+        private String[] columns;
+        private Kind[] kinds;
+
+        JsonSink(Writer writer) {
+            this.json = new JsonWriter(writer);
+        }
+
+        @Override
+        void begin(String[] columns, Kind[] kinds) throws IOException {
+            this.columns = columns;
+            this.kinds = kinds;
+            json.beginArray();
+        }
+
+        @Override
+        void writeFields(String[] fields) throws IOException {
+            json.beginObject();
+            for (int i = 0; i < fields.length; i++) {
+                json.name(columns[i]);
+                if (fields[i] == null) {
+                    json.nullValue();
+                } else if (kinds[i] == Kind.NUMBER) {
+                    json.numberValue(fields[i]);
+                } else if (kinds[i] == Kind.BOOLEAN) {
+                    json.value(Boolean.parseBoolean(fields[i]));
+                } else {
+                    json.value(fields[i]);
+                }
+            }
+            json.endObject();
+        }
+
+        @Override
+        void end() throws IOException {
+            json.endArray();
+        }
+
+        @Override
+        public void close() throws IOException {
+            json.close();
+        }
+    }
+}
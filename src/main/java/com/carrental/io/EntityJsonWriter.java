@@ -0,0 +1,565 @@
+package main.java.com.carrental.io;
+
+import main.java.com.carrental.model.Car;
+import main.java.com.carrental.model.Customer;
+import main.java.com.carrental.model.Rental;
+import main.java.com.carrental.model.User;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes UTF-8 JSON straight into a byte buffer, with methods that write the
+ * model entities. It is meant for lists of thousands of entities, such as
+ * API responses, where {@link JsonWriter} spends most of its time creating
+ * strings: member names are pre-encoded, and numbers, amounts and date-times
+ * are written digit by digit into the buffer.
+ *
+ * <p>Member names are the column names, as in the JSON export. Amounts are
+ * written with two decimals, rounded half up like
+ * {@link BigDecimal#setScale(int, RoundingMode)}, and date-times as ISO-8601
+ * local date-times ({@code 2025-01-31T14:05:00}) without fractions of a
+ * second. A {@link User} is written without its password hash.</p>
+ *
+ * <p>With an {@link OutputStream}, the buffer is written to the stream
+ * whenever it fills up. Without one, the buffer grows, and the document is
+ * read with {@link #toByteArray()} or {@link #writeTo(OutputStream)}; after
+ * {@link #reset()} the same buffer is reused for the next document.
+ * Like {@link JsonWriter}, the writer only inserts separators, and elements
+ * of a top-level array are put on their own lines; everything else,
+ * including a top-level object, is written compactly. It is not thread-safe.</p>
+ */
+public class EntityJsonWriter implements Closeable, Flushable {
+    private static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+    /** Room for the longest token written without a capacity check: a number, amount or date-time. */
+    private static final int MAX_TOKEN_BYTES = 32;
+    /** Amounts up to this many cents are formatted without {@link BigDecimal}. */
+    private static final double MAX_FAST_CENTS = 1e15;
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = bytes("true");
+    private static final byte[] FALSE = bytes("false");
+    private static final byte[] NULL = bytes("null");
+
+    private static final byte[] CAR_ID = encodedName("car_id");
+    private static final byte[] MAKE = encodedName("make");
+    private static final byte[] MODEL = encodedName("model");
+    private static final byte[] YEAR = encodedName("year");
+    private static final byte[] LICENSE_PLATE = encodedName("license_plate");
+    private static final byte[] HOURLY_RATE = encodedName("hourly_rate");
+    private static final byte[] AVAILABLE = encodedName("available");
+    private static final byte[] CUSTOMER_ID = encodedName("customer_id");
+    private static final byte[] FIRST_NAME = encodedName("first_name");
+    private static final byte[] LAST_NAME = encodedName("last_name");
+    private static final byte[] EMAIL = encodedName("email");
+    private static final byte[] PHONE_NUMBER = encodedName("phone_number");
+    private static final byte[] RENTAL_ID = encodedName("rental_id");
+    private static final byte[] RENTAL_DATETIME = encodedName("rental_datetime");
+    private static final byte[] RETURN_DATETIME = encodedName("return_datetime");
+    private static final byte[] TOTAL_COST = encodedName("total_cost");
+    private static final byte[] USER_ID = encodedName("user_id");
+    private static final byte[] USERNAME = encodedName("username");
+
+    private final OutputStream out;
+    private byte[] buf;
+    private int pos;
+    private boolean[] hasElements = new boolean[8];
+    private int depth;
+    /** Whether the document is an array, whose elements go on their own lines; any other document is compact. */
+    private boolean topLevelArray;
+    private boolean afterName;
+
+    /**
+     * Creates a writer that keeps the whole document in a growing buffer.
+     */
+    public EntityJsonWriter() {
+        this(null, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param out The stream to write to; closed by {@link #close()}
+     */
+    public EntityJsonWriter(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param out The stream to write to, or null to keep the document in the buffer
+     * @param bufferSize The initial buffer size in bytes
+     */
+    public EntityJsonWriter(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buf = new byte[Math.max(bufferSize, 2 * MAX_TOKEN_BYTES)];
+    }
+
+    // Entities
+
+    public EntityJsonWriter value(Car car) throws IOException {
+        beginObject();
+        member(CAR_ID).value(car.getCarId());
+        member(MAKE).value(car.getMake());
+        member(MODEL).value(car.getModel());
+        member(YEAR).value(car.getYear());
+        member(LICENSE_PLATE).value(car.getLicensePlate());
+        member(HOURLY_RATE).amountValue(car.getHourlyRate());
+        member(AVAILABLE).value(car.isAvailable());
+        return endObject();
+    }
+
+    public EntityJsonWriter value(Customer customer) throws IOException {
+        beginObject();
+        member(CUSTOMER_ID).value(customer.getCustomerId());
+        member(FIRST_NAME).value(customer.getFirstName());
+        member(LAST_NAME).value(customer.getLastName());
+        member(EMAIL).value(customer.getEmail());
+        member(PHONE_NUMBER).value(customer.getPhoneNumber());
+        return endObject();
+    }
+
+    public EntityJsonWriter value(Rental rental) throws IOException {
+        beginObject();
+        member(RENTAL_ID).value(rental.getRentalId());
+        member(CAR_ID).value(rental.getCarId());
+        member(CUSTOMER_ID).value(rental.getCustomerId());
+        member(RENTAL_DATETIME).value(rental.getRentalDatetime());
+        member(RETURN_DATETIME).value(rental.getReturnDatetime());
+        member(TOTAL_COST).amountValue(rental.getTotalCost());
+        return endObject();
+    }
+
+    /**
+     * Writes a user's ID and username; the password hash is never written.
+     *
+     * @param user The user
+     * @return This writer
+     * @throws IOException If writing fails
+     */
+    public EntityJsonWriter value(User user) throws IOException {
+        beginObject();
+        member(USER_ID).value(user.getUserId());
+        member(USERNAME).value(user.getUsername());
+        return endObject();
+    }
+
+    public EntityJsonWriter cars(List<Car> cars) throws IOException {
+        beginArray();
+        for (Car car : cars) {
+            value(car);
+        }
+        return endArray();
+    }
+
+    public EntityJsonWriter customers(List<Customer> customers) throws IOException {
+        beginArray();
+        for (Customer customer : customers) {
+            value(customer);
+        }
+        return endArray();
+    }
+
+    public EntityJsonWriter rentals(List<Rental> rentals) throws IOException {
+        beginArray();
+        for (Rental rental : rentals) {
+            value(rental);
+        }
+        return endArray();
+    }
+
+    // Tokens
+
+    public EntityJsonWriter beginArray() throws IOException {
+        beforeValue();
+        writeByte('[');
+        push(true);
+        return this;
+    }
+
+    public EntityJsonWriter endArray() throws IOException {
+        pop();
+        writeByte(']');
+        return this;
+    }
+
+    public EntityJsonWriter beginObject() throws IOException {
+        beforeValue();
+        writeByte('{');
+        push(false);
+        return this;
+    }
+
+    public EntityJsonWriter endObject() throws IOException {
+        pop();
+        writeByte('}');
+        return this;
+    }
+
+    /**
+     * Writes a member name; the next call must write its value.
+     *
+     * @param name The member name
+     * @return This writer
+     * @throws IOException If writing fails
+     */
+    public EntityJsonWriter name(String name) throws IOException {
+        beforeValue();
+        writeString(name);
+        writeByte(':');
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * @param value The string to write, or null to write {@code null}
+     * @return This writer
+     * @throws IOException If writing fails
+     */
+    public EntityJsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeString(value);
+        return this;
+    }
+
+    public EntityJsonWriter value(long value) throws IOException {
+        beforeValue();
+        ensureCapacity(MAX_TOKEN_BYTES);
+        pos = writeLong(buf, pos, value);
+        return this;
+    }
+
+    public EntityJsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        writeBytes(value ? TRUE : FALSE);
+        return this;
+    }
+
+    /**
+     * Writes an amount with two decimals, rounded half up.
+     *
+     * @param value The amount
+     * @return This writer
+     * @throws IOException If writing fails
+     * @throws NumberFormatException If the value is infinite or NaN
+     */
+    public EntityJsonWriter amountValue(double value) throws IOException {
+        beforeValue();
+        long cents = Math.round(value * 100);
+        // A double equal to cents / 100 prints as exactly that decimal, so rounding it is a no-op
+        if (Math.abs(value * 100) < MAX_FAST_CENTS && cents / 100.0 == value) {
+            ensureCapacity(MAX_TOKEN_BYTES);
+            pos = writeCents(buf, pos, cents);
+        } else {
+            writeAscii(BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).toPlainString());
+        }
+        return this;
+    }
+
+    /**
+     * @param value The date-time to write, or null to write {@code null}
+     * @return This writer
+     * @throws IOException If writing fails
+     */
+    public EntityJsonWriter value(LocalDateTime value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            writeString(DATE_TIME_FORMAT.format(value));
+            return this;
+        }
+        ensureCapacity(MAX_TOKEN_BYTES);
+        byte[] b = buf;
+        int p = pos;
+        b[p++] = '"';
+        p = write2(b, p, year / 100);
+        p = write2(b, p, year % 100);
+        b[p++] = '-';
+        p = write2(b, p, value.getMonthValue());
+        b[p++] = '-';
+        p = write2(b, p, value.getDayOfMonth());
+        b[p++] = 'T';
+        p = write2(b, p, value.getHour());
+        b[p++] = ':';
+        p = write2(b, p, value.getMinute());
+        b[p++] = ':';
+        p = write2(b, p, value.getSecond());
+        b[p++] = '"';
+        pos = p;
+        return this;
+    }
+
+    public EntityJsonWriter nullValue() throws IOException {
+        beforeValue();
+        writeBytes(NULL);
+        return this;
+    }
+
+    // Buffer
+
+    /**
+     * @return The number of bytes in the buffer
+     */
+    public int size() {
+        return pos;
+    }
+
+    /**
+     * @return A copy of the bytes in the buffer; the whole document if the writer has no stream
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, pos);
+    }
+
+    /**
+     * Writes the buffered bytes to a stream without copying them.
+     *
+     * @param target The stream to write to
+     * @throws IOException If writing fails
+     */
+    public void writeTo(OutputStream target) throws IOException {
+        target.write(buf, 0, pos);
+    }
+
+    /**
+     * Discards the buffered bytes and the nesting state, keeping the buffer
+     * for the next document.
+     */
+    public void reset() {
+        pos = 0;
+        depth = 0;
+        afterName = false;
+    }
+
+    /**
+     * Writes the buffered bytes to the stream and flushes it. Does nothing
+     * without a stream.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            drain();
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            drain();
+            out.close();
+        }
+    }
+
+    private EntityJsonWriter member(byte[] encodedName) throws IOException {
+        beforeValue();
+        writeBytes(encodedName);
+        afterName = true;
+        return this;
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0) {
+            if (hasElements[depth - 1]) {
+                writeByte(',');
+            }
+            hasElements[depth - 1] = true;
+            if (depth == 1 && topLevelArray) {
+                writeByte('\n');
+            }
+        }
+    }
+
+    private void push(boolean array) {
+        if (depth == 0) {
+            topLevelArray = array;
+        }
+        if (depth == hasElements.length) {
+            hasElements = Arrays.copyOf(hasElements, depth * 2);
+        }
+        hasElements[depth++] = false;
+    }
+
+    private void pop() throws IOException {
+        if (--depth == 0 && hasElements[0] && topLevelArray) {
+            writeByte('\n');
+        }
+    }
+
+    /**
+     * Writes a string as UTF-8 with JSON escapes. Unpaired surrogates are
+     * written as {@code \}{@code u} escapes, so the output is always valid.
+     */
+    private void writeString(String value) throws IOException {
+        int length = value.length();
+        ensureCapacity(2);
+        buf[pos++] = '"';
+        int i = 0;
+        while (i < length) {
+            // Copy a run of plain ASCII with one capacity check
+            ensureCapacity(Math.min(length - i, buf.length / 2) + 12);
+            byte[] b = buf;
+            int p = pos;
+            int limit = p + Math.min(length - i, buf.length / 2);
+            char c = 0;
+            while (p < limit && (c = value.charAt(i)) >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                b[p++] = (byte) c;
+                i++;
+            }
+            pos = p;
+            if (p == limit || i == length) {
+                continue;
+            }
+            i++;
+            if (c == '"' || c == '\\') {
+                b[p++] = '\\';
+                b[p++] = (byte) c;
+            } else if (c == '\n') {
+                b[p++] = '\\';
+                b[p++] = 'n';
+            } else if (c == '\r') {
+                b[p++] = '\\';
+                b[p++] = 'r';
+            } else if (c == '\t') {
+                b[p++] = '\\';
+                b[p++] = 't';
+            } else if (c < 0x20) {
+                p = writeUnicodeEscape(b, p, c);
+            } else if (c < 0x800) {
+                b[p++] = (byte) (0xC0 | (c >> 6));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i < length && Character.isLowSurrogate(value.charAt(i))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(i++));
+                b[p++] = (byte) (0xF0 | (codePoint >> 18));
+                b[p++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                b[p++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                b[p++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                p = writeUnicodeEscape(b, p, c);
+            } else {
+                b[p++] = (byte) (0xE0 | (c >> 12));
+                b[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            }
+            pos = p;
+        }
+        writeByte('"');
+    }
+
+    private void writeAscii(String value) throws IOException {
+        ensureCapacity(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            buf[pos++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+    }
+
+    private void writeByte(char c) throws IOException {
+        ensureCapacity(1);
+        buf[pos++] = (byte) c;
+    }
+
+    /**
+     * Makes room for the given number of bytes, draining the buffer to the
+     * stream or growing it.
+     */
+    private void ensureCapacity(int bytes) throws IOException {
+        if (buf.length - pos >= bytes) {
+            return;
+        }
+        if (out != null && bytes <= buf.length) {
+            drain();
+        } else {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + bytes));
+        }
+    }
+
+    private void drain() throws IOException {
+        out.write(buf, 0, pos);
+        pos = 0;
+    }
+
+    private static int writeLong(byte[] b, int p, long value) {
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) {
+                byte[] digits = bytes(Long.toString(value));
+                System.arraycopy(digits, 0, b, p, digits.length);
+                return p + digits.length;
+            }
+            b[p++] = '-';
+            value = -value;
+        }
+        int end = p + digitCount(value);
+        int q = end;
+        do {
+            b[--q] = (byte) ('0' + (int) (value % 10));
+            value /= 10;
+        } while (value != 0);
+        return end;
+    }
+
+    /** Writes cents as a decimal with exactly two fraction digits. */
+    private static int writeCents(byte[] b, int p, long cents) {
+        if (cents < 0) {
+            b[p++] = '-';
+            cents = -cents;
+        }
+        p = writeLong(b, p, cents / 100);
+        b[p++] = '.';
+        return write2(b, p, (int) (cents % 100));
+    }
+
+    private static int write2(byte[] b, int p, int value) {
+        b[p] = (byte) ('0' + value / 10);
+        b[p + 1] = (byte) ('0' + value % 10);
+        return p + 2;
+    }
+
+    private static int writeUnicodeEscape(byte[] b, int p, char c) {
+        b[p++] = '\\';
+        b[p++] = 'u';
+        b[p++] = HEX[(c >> 12) & 0xF];
+        b[p++] = HEX[(c >> 8) & 0xF];
+        b[p++] = HEX[(c >> 4) & 0xF];
+        b[p++] = HEX[c & 0xF];
+        return p;
+    }
+
+    private static int digitCount(long value) {
+        int count = 1;
+        while (value >= 10) {
+            value /= 10;
+            count++;
+        }
+        return count;
+    }
+
+    private static byte[] encodedName(String name) {
+        return bytes("\"" + name + "\":");
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,115 @@
+package main.java.com.carrental.io;
+
+import main.java.com.carrental.model.DatabaseConnection;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The headless {@code export} command:
+ * <pre>
+ * export &lt;cars|customers|rentals&gt; &lt;file&gt; [--format csv|json] [--from &lt;date&gt;] [--to &lt;date&gt;]
+ * </pre>
+ * The format defaults to JSON for a {@code .json} file and CSV otherwise.
+ * {@code --from} and {@code --to} limit rentals to those starting within the
+ * range; they take {@code YYYY-MM-DD} or {@code YYYY-MM-DD HH:MM[:SS]}, and a
+ * date-only {@code --to} includes that whole day.
+ */
+public final class ExportCommand {
+    private static final String USAGE = "Usage: export <cars|customers|rentals> <file> [--format csv|json]"
+        + " [--from <date>] [--to <date>]";
+    private static final DateTimeFormatter DATE_TIME_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd['T'][' ']HH:mm[:ss]");
+
+    private ExportCommand() {
+    }
+
+    /**
+     * Runs the command against the configured database.
+     *
+     * @param args The arguments following {@code export}
+     * @return The process exit code: 0 on success, 1 if the export failed, 2 on a usage error
+     */
+    public static int run(List<String> args) {
+        CsvImporter.Target target;
+        Path file;
+        DataExporter.Format format = null;
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        try {
+            if (args.size() < 2) {
+                throw new IllegalArgumentException("Missing export target or file");
+            }
+            target = CsvImporter.Target.fromName(args.get(0));
+            file = Path.of(args.get(1));
+            for (int i = 2; i < args.size(); i++) {
+                String option = args.get(i);
+                if (i + 1 >= args.size()) {
+                    throw new IllegalArgumentException("Missing value for " + option);
+                }
+                String value = args.get(++i);
+                switch (option) {
+                    case "--format":
+                        format = DataExporter.Format.fromName(value);
+                        break;
+                    case "--from":
+                        from = parseBound(value, false);
+                        break;
+                    case "--to":
+                        to = parseBound(value, true);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + option);
+                }
+            }
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+        if (format == null) {
+            format = DataExporter.Format.forFile(file);
+        }
+
+        try {
+            DataExporter exporter = new DataExporter(DatabaseConnection.getConfig().getStreamingFetchSize(), System.out);
+            long startNanos = System.nanoTime();
+            long rows = exporter.export(target, format, file, from, to);
+            long elapsedNanos = System.nanoTime() - startNanos;
+            System.out.printf(Locale.ROOT, "%s: %,d rows exported to %s in %.1f s (%,.0f rows/s)%n",
+                target, rows, file, elapsedNanos / 1e9, elapsedNanos > 0 ? rows * 1e9 / elapsedNanos : 0);
+            return 0;
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            return 2;
+        } catch (IOException | SQLException ex) {
+            System.err.println("Export failed: " + ex.getMessage());
+            return 1;
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+    }
+
+    /**
+     * @param value A date or date-time
+     * @param end Whether the value is an exclusive upper bound, for which a date means the following midnight
+     */
+    private static LocalDateTime parseBound(String value, boolean end) {
+        try {
+            if (value.length() == 10) {
+                LocalDate date = LocalDate.parse(value);
+                return end ? date.plusDays(1).atStartOfDay() : date.atStartOfDay();
+            }
+            return LocalDateTime.parse(value, DATE_TIME_FORMAT);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Not a date (YYYY-MM-DD[ HH:MM[:SS]]): " + value);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package main.java.com.carrental.io;
+
+import main.java.com.carrental.model.DatabaseConnection;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * The headless {@code import} command:
+ * <pre>
+ * import &lt;cars|customers|rentals&gt; &lt;file.csv&gt; [--rejects &lt;file&gt;] [--batch-size &lt;n&gt;]
+ * </pre>
+ * Rejected rows go to {@code <file.csv>.rejects.csv} unless {@code --rejects}
+ * names another file. The batch size defaults to the configured
+ * {@code carrental.db.batchSize}.
+ */
+public final class ImportCommand {
+    private static final String USAGE =
+        "Usage: import <cars|customers|rentals> <file.csv> [--rejects <file>] [--batch-size <n>]";
+
+    private ImportCommand() {
+    }
+
+    /**
+     * Runs the command against the configured database.
+     *
+     * @param args The arguments following {@code import}
+     * @return The process exit code: 0 on success, 1 if the import failed, 2 on a usage error
+     */
+    public static int run(List<String> args) {
+        CsvImporter.Target target;
+        Path csv;
+        Path rejects = null;
+        Integer batchSize = null;
+        try {
+            if (args.size() < 2) {
+                throw new IllegalArgumentException("Missing import target or file");
+            }
+            target = CsvImporter.Target.fromName(args.get(0));
+            csv = Path.of(args.get(1));
+            for (int i = 2; i < args.size(); i++) {
+                String option = args.get(i);
+                if (i + 1 >= args.size()) {
+                    throw new IllegalArgumentException("Missing value for " + option);
+                }
+                String value = args.get(++i);
+                switch (option) {
+                    case "--rejects":
+                        rejects = Path.of(value);
+                        break;
+                    case "--batch-size":
+                        batchSize = Integer.valueOf(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + option);
+                }
+            }
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        if (!Files.isRegularFile(csv)) {
+            System.err.println("No such file: " + csv);
+            return 1;
+        }
+        if (rejects == null) {
+            rejects = Path.of(csv + ".rejects.csv");
+        }
+
+        try {
+            if (batchSize == null) {
+                batchSize = DatabaseConnection.getConfig().getBatchSize();
+            }
+            CsvImporter importer = new CsvImporter(batchSize, System.out);
+            ImportReport report = importer.importFile(target, csv, rejects);
+            System.out.println(report);
+            return 0;
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            return 2;
+        } catch (IOException | SQLException ex) {
+            System.err.println("Import failed: " + ex.getMessage());
+            return 1;
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package main.java.com.carrental.io;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * The outcome of a {@link CsvImporter} run: row counts, elapsed time and
+ * where rejected rows were written.
+ */
+public class ImportReport {
+    private final CsvImporter.Target target;
+    private final long rowsRead;
+    private final long imported;
+    private final long rejected;
+    private final long elapsedNanos;
+    private final Path rejectsFile;
+
+    /**
+     * @param target The table imported into
+     * @param rowsRead Data rows read, excluding the header
+     * @param imported Rows written to the database
+     * @param rejected Rows written to the rejects file
+     * @param elapsedNanos Time taken
+     * @param rejectsFile The rejects file, or null if no row was rejected
+     */
+    public ImportReport(CsvImporter.Target target, long rowsRead, long imported, long rejected,
+                        long elapsedNanos, Path rejectsFile) {
+        this.target = target;
+        this.rowsRead = rowsRead;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.elapsedNanos = elapsedNanos;
+        this.rejectsFile = rejectsFile;
+    }
+
+    public CsvImporter.Target getTarget() {
+        return target;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public Path getRejectsFile() {
+        return rejectsFile;
+    }
+
+    /**
+     * @return Rows read per second of elapsed time
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos > 0 ? rowsRead * 1_000_000_000.0 / elapsedNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        String summary = String.format(Locale.ROOT, "%s: %,d rows read, %,d imported, %,d rejected in %.1f s (%,.0f rows/s)",
+            target, rowsRead, imported, rejected, elapsedNanos / 1e9, getRowsPerSecond());
+        return rejectsFile != null ? summary + "; rejects in " + rejectsFile : summary;
+    }
+}
@@ -0,0 +1,185 @@
+package main.java.com.carrental.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Writes JSON text as a stream of tokens, so documents of any size can be
+ * written without building them in memory. The writer only inserts the
+ * separators; callers are responsible for producing a well-formed structure.
+ * Elements of a top-level array are put on their own lines.
+ */
+public class JsonWriter implements Closeable, Flushable {
+    private final Writer out;
+    private boolean[] hasElements = new boolean[8];
+    private int depth;
+    private boolean afterName;
+
+    /**
+     * @param out The character stream to write to; closed by {@link #close()}
+     */
+    public JsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        out.write('[');
+        push();
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        pop();
+        out.write(']');
+        return this;
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        out.write('{');
+        push();
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        pop();
+        out.write('}');
+        return this;
+    }
+
+    /**
+     * Writes a member name; the next call must write its value.
+     *
+     * @param name The member name
+     * @return This writer
+     * @throws IOException If writing fails
+     */
+    public JsonWriter name(String name) throws IOException {
+        beforeValue();
+        writeString(name);
+        out.write(':');
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * @param value The string to write, or null to write {@code null}
+     * @return This writer
+     * @throws IOException If writing fails
+     */
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeString(value);
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        out.write(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * Writes a number given as its JSON text, such as a decimal formatted with
+     * {@link java.math.BigDecimal#toPlainString()}.
+     *
+     * @param number The number text, or null to write {@code null}
+     * @return This writer
+     * @throws IOException If writing fails
+     */
+    public JsonWriter numberValue(String number) throws IOException {
+        if (number == null) {
+            return nullValue();
+        }
+        beforeValue();
+        out.write(number);
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        out.write("null");
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0) {
+            if (hasElements[depth - 1]) {
+                out.write(',');
+            }
+            hasElements[depth - 1] = true;
+            if (depth == 1) {
+                out.write('\n');
+            }
+        }
+    }
+
+    private void push() {
+        if (depth == hasElements.length) {
+            hasElements = Arrays.copyOf(hasElements, depth * 2);
+        }
+        hasElements[depth++] = false;
+    }
+
+    private void pop() throws IOException {
+        if (--depth == 0 && hasElements[0]) {
+            out.write('\n');
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String escape;
+            if (c == '"') {
+                escape = "\\\"";
+            } else if (c == '\\') {
+                escape = "\\\\";
+            } else if (c == '\n') {
+                escape = "\\n";
+            } else if (c == '\r') {
+                escape = "\\r";
+            } else if (c == '\t') {
+                escape = "\\t";
+            } else if (c < 0x20) {
+                escape = String.format("\\u%04x", (int) c);
+            } else {
+                continue;
+            }
+            out.write(value, start, i - start);
+            out.write(escape);
+            start = i + 1;
+        }
+        out.write(value, start, value.length() - start);
+        out.write('"');
+    }
+}
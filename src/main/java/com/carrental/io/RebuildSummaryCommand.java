@@ -0,0 +1,53 @@
+package main.java.com.carrental.io;
+
+import main.java.com.carrental.model.DailySummaryDao;
+import main.java.com.carrental.model.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The headless {@code rebuild-summary} command, which recomputes the daily
+ * rental summary from the rentals table in one transaction. Needed only
+ * after rentals were changed outside the application, e.g. with SQL.
+ */
+public final class RebuildSummaryCommand {
+
+    private RebuildSummaryCommand() {
+    }
+
+    /**
+     * Runs the command against the configured database.
+     *
+     * @param args The arguments following {@code rebuild-summary}; none are accepted
+     * @return The process exit code: 0 on success, 1 if the rebuild failed, 2 on a usage error
+     */
+    public static int run(List<String> args) {
+        if (!args.isEmpty()) {
+            System.err.println("Usage: rebuild-summary");
+            return 2;
+        }
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            long startNanos = System.nanoTime();
+            conn.setAutoCommit(false);
+            int rows;
+            try {
+                rows = DailySummaryDao.rebuild(conn, DatabaseConnection.getConfig().getStreamingFetchSize());
+                conn.commit();
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
+            System.out.printf(Locale.ROOT, "daily_rental_summary: %,d rows rebuilt in %.1f s%n",
+                rows, (System.nanoTime() - startNanos) / 1e9);
+            return 0;
+        } catch (SQLException ex) {
+            System.err.println("Rebuild failed: " + ex.getMessage());
+            return 1;
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package main.java.com.carrental.io;
+
+import main.java.com.carrental.api.ApiServer;
+import main.java.com.carrental.model.Car;
+import main.java.com.carrental.model.Customer;
+import main.java.com.carrental.model.DatabaseConnection;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * The headless {@code serve} command, which runs the {@link ApiServer HTTP API}
+ * until the process is stopped:
+ * <pre>
+ * serve [--host &lt;address&gt;] [--port &lt;port&gt;]
+ * </pre>
+ * The server listens on 127.0.0.1:8080 by default. The car catalog,
+ * availability index and customer search index are loaded before the first
+ * request is accepted, so no request pays for loading them.
+ */
+public final class ServeCommand {
+    private static final String USAGE = "Usage: serve [--host <address>] [--port <port>]";
+    private static final String DEFAULT_HOST = "127.0.0.1";
+    private static final int DEFAULT_PORT = 8080;
+
+    private ServeCommand() {
+    }
+
+    /**
+     * Runs the command against the configured database. Returns only if the
+     * server cannot be started; otherwise it runs until the JVM shuts down.
+     *
+     * @param args The arguments following {@code serve}
+     * @return The process exit code: 1 if the server could not be started, 2 on a usage error
+     */
+    public static int run(List<String> args) {
+        String host = DEFAULT_HOST;
+        int port = DEFAULT_PORT;
+        try {
+            for (int i = 0; i < args.size(); i++) {
+                String option = args.get(i);
+                if (i + 1 >= args.size()) {
+                    throw new IllegalArgumentException("Missing value for " + option);
+                }
+                String value = args.get(++i);
+                switch (option) {
+                    case "--host":
+                        host = value;
+                        break;
+                    case "--port":
+                        port = Integer.parseInt(value);
+                        if (port < 0 || port > 65535) {
+                            throw new IllegalArgumentException("Not a port: " + value);
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + option);
+                }
+            }
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex instanceof NumberFormatException ? "Not a port number" : ex.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        ApiServer server;
+        try {
+            Car.findAvailableCars(LocalDateTime.now(), null, null); // Loads the car catalog and availability index
+            Customer.loadSearchIndex();
+            server = new ApiServer(new InetSocketAddress(host, port));
+        } catch (IOException | SQLException ex) {
+            System.err.println("Cannot start server: " + ex.getMessage());
+            DatabaseConnection.shutdown();
+            return 1;
+        }
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(2);
+            stopped.countDown();
+        }));
+        server.start();
+        InetSocketAddress address = server.getAddress();
+        System.out.println("Serving the API on http://" + address.getHostString() + ":" + address.getPort() + "/api/");
+        System.out.println("Press Ctrl+C to stop.");
+        try {
+            stopped.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,58 @@
+package main.java.com.carrental.io;
+
+import main.java.com.carrental.model.DatabaseConnection;
+import main.java.com.carrental.model.SchemaMigrations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * The headless {@code verify-indexes} command, which checks with
+ * {@code EXPLAIN} that the indexes added by the schema migrations are used
+ * by the queries they were added for.
+ */
+public final class VerifyIndexesCommand {
+
+    private VerifyIndexesCommand() {
+    }
+
+    /**
+     * Runs the command against the configured database, which is migrated
+     * to the latest version first.
+     *
+     * @param args The arguments following {@code verify-indexes}; none are accepted
+     * @return The process exit code: 0 if every index is used, 1 if one is not or the check failed, 2 on a usage error
+     */
+    public static int run(List<String> args) {
+        if (!args.isEmpty()) {
+            System.err.println("Usage: verify-indexes");
+            return 2;
+        }
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            System.out.println("Schema version " + SchemaMigrations.currentVersion(conn)
+                + " (latest " + SchemaMigrations.latestVersion() + ")");
+            List<SchemaMigrations.Verification> results = SchemaMigrations.verify(conn);
+            int missing = 0;
+            for (SchemaMigrations.Verification result : results) {
+                System.out.println((result.used() ? "OK       " : "NOT USED ") + result.index()
+                    + " (migration " + result.version() + ")");
+                if (!result.used()) {
+                    missing++;
+                    System.out.println("  query: " + result.query());
+                    System.out.println("  plan:  " + result.plan().replace("\n", "\n         "));
+                }
+            }
+            if (missing > 0) {
+                System.err.println(missing + " of " + results.size() + " indexes not used");
+                return 1;
+            }
+            return 0;
+        } catch (SQLException ex) {
+            System.err.println("Verification failed: " + ex.getMessage());
+            return 1;
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+    }
+}
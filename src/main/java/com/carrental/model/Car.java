@@ -1,13 +1,16 @@
 package main.java.com.carrental.model;
 
 import java.sql.*;
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 
 /**
  * Represents a car entity in the car rental system.
  * This class models the car attributes and provides CRUD operations
- * for database interaction.
+ * for database interaction. Lookups by ID or license plate are served
+ * from an in-memory {@link CarCatalog} that the CRUD operations keep current.
+ * The SQL itself lives in {@link CarDao}.
  */
 public class Car {
     private int carId;
@@ -81,6 +84,13 @@ public class Car {
     /** @param available The availability status to set */
     public void setAvailable(boolean available) { this.available = available; }
 
+    /**
+     * @return A field-by-field copy of this car
+     */
+    Car copy() {
+        return new Car(carId, make, model, year, licensePlate, hourlyRate, available);
+    }
+
     // CRUD operations
     
     /**
@@ -90,57 +100,179 @@ public class Car {
      * @throws SQLException If a database access error occurs
      */
     public static void addCar(Car car) throws SQLException {
-        String sql = "INSERT INTO cars (make, model, year, license_plate, hourly_rate, available) VALUES (?, ?, ?, ?, ?, ?)";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            // Set parameters for the prepared statement
-            stmt.setString(1, car.getMake());
-            stmt.setString(2, car.getModel());
-            stmt.setInt(3, car.getYear());
-            stmt.setString(4, car.getLicensePlate());
-            stmt.setDouble(5, car.getHourlyRate());
-            stmt.setBoolean(6, car.isAvailable());
-            stmt.executeUpdate();
-
-            // Retrieve the auto-generated car ID
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    car.carId = generatedKeys.getInt(1);
-                }
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            car.carId = CarDao.insert(conn, car);
+        }
+        CarCatalog.getInstance().put(car);
+    }
+
+    /**
+     * Adds many cars in a single transaction using JDBC batches of the
+     * configured batch size ({@code carrental.db.batchSize}).
+     * 
+     * @param cars The cars to be added; each car's ID is set to its generated ID
+     * @return The generated car IDs, in the order of the list
+     * @throws SQLException If a database access error occurs; no car is added then
+     */
+    public static int[] addCars(List<Car> cars) throws SQLException {
+        return addCars(cars, DatabaseConnection.getConfig().getBatchSize());
+    }
+
+    /**
+     * Adds many cars in a single transaction using JDBC batches.
+     * 
+     * @param cars The cars to be added; each car's ID is set to its generated ID
+     * @param batchSize The maximum number of rows sent per round trip
+     * @return The generated car IDs, in the order of the list
+     * @throws SQLException If a database access error occurs; no car is added then
+     */
+    public static int[] addCars(List<Car> cars, int batchSize) throws SQLException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        int[] ids;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                ids = CarDao.insertBatch(conn, cars, batchSize);
+                conn.commit();
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
             }
         }
+
+        CarCatalog catalog = CarCatalog.getInstance();
+        for (int i = 0; i < ids.length; i++) {
+            Car car = cars.get(i);
+            car.carId = ids[i];
+            catalog.put(car);
+        }
+        return ids;
     }
 
     /**
-     * Retrieves all cars from the database.
+     * Retrieves all cars from the database and refreshes the car catalog
+     * with the result.
      * 
      * @return A list of all cars
      * @throws SQLException If a database access error occurs
      */
     public static List<Car> getAllCars() throws SQLException {
-        List<Car> cars = new ArrayList<>();
-        String sql = "SELECT * FROM cars";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            // Process each row in the result set
-            while (rs.next()) {
-                cars.add(new Car(
-                    rs.getInt("car_id"),
-                    rs.getString("make"),
-                    rs.getString("model"),
-                    rs.getInt("year"),
-                    rs.getString("license_plate"),
-                    rs.getDouble("hourly_rate"),
-                    rs.getBoolean("available")
-                ));
-            }
-        }
+        List<Car> cars = loadAllCars();
+        CarCatalog.getInstance().replaceAll(cars);
+        return cars;
+    }
+
+    /**
+     * Retrieves all cars from the car catalog, reading the database only if
+     * the catalog is not loaded yet. Used by readers that are served often,
+     * such as the HTTP API.
+     * 
+     * @return A list of all cars, ordered by car ID
+     * @throws SQLException If the catalog has to be loaded and a database access error occurs
+     */
+    public static List<Car> getCatalogCars() throws SQLException {
+        List<Car> cars = CarCatalog.getInstance().findAll();
+        cars.sort(Comparator.comparingInt(Car::getCarId));
+        return cars;
+    }
+
+    /**
+     * Retrieves a car by its ID from the car catalog.
+     * 
+     * @param carId The ID of the car
+     * @return The car if found, null otherwise
+     * @throws SQLException If the catalog has to be loaded and a database access error occurs
+     */
+    public static Car getCarById(int carId) throws SQLException {
+        return CarCatalog.getInstance().findById(carId);
+    }
+
+    /**
+     * Retrieves a car by its license plate from the car catalog.
+     * The comparison ignores case, matching the column's collation.
+     * 
+     * @param licensePlate The license plate to search for
+     * @return The car if found, null otherwise
+     * @throws SQLException If the catalog has to be loaded and a database access error occurs
+     */
+    public static Car getCarByLicensePlate(String licensePlate) throws SQLException {
+        return CarCatalog.getInstance().findByLicensePlate(licensePlate);
+    }
+
+    /**
+     * Finds every car that can be rented for the whole of the given period.
+     * Cars must be flagged as available, satisfy the search criteria, and
+     * have no rental overlapping the period. The search runs entirely against
+     * the in-memory catalog and availability index, so it is cheap enough to
+     * repeat on every keystroke.
+     * 
+     * @param rentalStart The start of the period
+     * @param rentalEnd The end of the period (null for an open-ended period)
+     * @param criteria Optional make, model, year and rate filters (null for none)
+     * @return The free cars, ordered by car ID
+     * @throws SQLException If the catalog or index has to be loaded and a database access error occurs
+     */
+    public static List<Car> findAvailableCars(LocalDateTime rentalStart, LocalDateTime rentalEnd,
+                                              CarSearchCriteria criteria) throws SQLException {
+        List<Car> cars = CarCatalog.getInstance().findRentable(criteria);
+        RentalAvailabilityIndex.getInstance().retainAvailable(cars, rentalStart, rentalEnd);
+        cars.sort(Comparator.comparingInt(Car::getCarId));
         return cars;
     }
 
+    /**
+     * Finds the cheapest car that can be rented for the whole of the given
+     * period, under the same conditions as {@link #findAvailableCars}. The
+     * price of a period only grows with the hourly rate, so the cars are
+     * checked in rate order and the search stops at the first free one,
+     * usually after a handful of checks however large the fleet.
+     * 
+     * @param rentalStart The start of the period
+     * @param rentalEnd The end of the period (null for an open-ended period)
+     * @param criteria Optional make, model, year and rate filters (null for none)
+     * @return The free car with the lowest hourly rate, the lowest car ID on a tie; null if no car is free
+     * @throws SQLException If the catalog or index has to be loaded and a database access error occurs
+     */
+    public static Car findCheapestAvailableCar(LocalDateTime rentalStart, LocalDateTime rentalEnd,
+                                               CarSearchCriteria criteria) throws SQLException {
+        int[] carIds = CarCatalog.getInstance().findRentableIdsByRate(criteria);
+        int carId = RentalAvailabilityIndex.getInstance().findFirstAvailable(carIds, rentalStart, rentalEnd);
+        return carId != 0 ? CarCatalog.getInstance().findById(carId) : null;
+    }
+
+    /**
+     * Reads every row of the cars table without touching the catalog.
+     * 
+     * @return A list of all cars
+     * @throws SQLException If a database access error occurs
+     */
+    static List<Car> loadAllCars() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return CarDao.findAll(conn);
+        }
+    }
+
+    /**
+     * Maps the current row of a cars result set to a Car.
+     * 
+     * @param rs A result set positioned on a row of the cars table
+     * @return The car in that row
+     * @throws SQLException If a database access error occurs
+     */
+    static Car fromResultSet(ResultSet rs) throws SQLException {
+        return new Car(
+            rs.getInt("car_id"),
+            rs.getString("make"),
+            rs.getString("model"),
+            rs.getInt("year"),
+            rs.getString("license_plate"),
+            rs.getDouble("hourly_rate"),
+            rs.getBoolean("available")
+        );
+    }
+
     /**
      * Updates an existing car in the database.
      * 
@@ -148,21 +280,14 @@ public class Car {
      * @throws SQLException If a database access error occurs
      */
     public static void updateCar(Car car) throws SQLException {
-        String sql = "UPDATE cars SET make = ?, model = ?, year = ?, license_plate = ?, hourly_rate = ?, available = ? WHERE car_id = ?";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            // Set parameters for the prepared statement
-            stmt.setString(1, car.getMake());
-            stmt.setString(2, car.getModel());
-            stmt.setInt(3, car.getYear());
-            stmt.setString(4, car.getLicensePlate());
-            stmt.setDouble(5, car.getHourlyRate());
-            stmt.setBoolean(6, car.isAvailable());
-            stmt.setInt(7, car.getCarId());
-            
-            stmt.executeUpdate();
+        boolean updated;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            updated = CarDao.update(conn, car);
+        }
+        if (updated) {
+            CarCatalog.getInstance().put(car);
+        } else {
+            CarCatalog.getInstance().remove(car.getCarId()); // Deleted by another session
         }
     }
 
@@ -173,13 +298,9 @@ public class Car {
      * @throws SQLException If a database access error occurs
      */
     public static void deleteCar(int carId) throws SQLException {
-        String sql = "DELETE FROM cars WHERE car_id = ?";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, carId);
-            stmt.executeUpdate();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            CarDao.delete(conn, carId);
         }
+        CarCatalog.getInstance().remove(carId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,202 @@
+package main.java.com.carrental.model;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory cache of the car table, indexed by car ID and license plate.
+ * The catalog is loaded from the database on first use and kept current by
+ * the CRUD operations in {@link Car}, so per-click lookups such as the hourly
+ * rate for a cost preview no longer scan the whole table.
+ *
+ * <p>Cached cars are private copies; callers always receive their own copy
+ * so edits to a returned object never leak into the cache.</p>
+ */
+class CarCatalog {
+    private static final CarCatalog INSTANCE = new CarCatalog();
+
+    private final IntObjectMap<Car> carsById = new IntObjectMap<>(256);
+    private final Map<String, Car> carsByPlate = new HashMap<>();
+    /** The rentable cars by hourly rate, then car ID; rebuilt on demand after any change. */
+    private Car[] rentableByRate;
+    private boolean loaded;
+
+    private CarCatalog() {
+    }
+
+    /**
+     * @return The shared catalog instance
+     */
+    static CarCatalog getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Looks up a car by ID.
+     *
+     * @param carId The car ID
+     * @return A copy of the cached car, or null if no such car exists
+     * @throws SQLException If the catalog has to be loaded and the load fails
+     */
+    synchronized Car findById(int carId) throws SQLException {
+        ensureLoaded();
+        Car car = carsById.get(carId);
+        return car != null ? car.copy() : null;
+    }
+
+    /**
+     * Looks up a car by license plate, ignoring case and surrounding spaces.
+     *
+     * @param licensePlate The license plate
+     * @return A copy of the cached car, or null if no such car exists
+     * @throws SQLException If the catalog has to be loaded and the load fails
+     */
+    synchronized Car findByLicensePlate(String licensePlate) throws SQLException {
+        if (licensePlate == null) {
+            return null;
+        }
+        ensureLoaded();
+        Car car = carsByPlate.get(plateKey(licensePlate));
+        return car != null ? car.copy() : null;
+    }
+
+    /**
+     * @return Copies of all cached cars, in no particular order
+     * @throws SQLException If the catalog has to be loaded and the load fails
+     */
+    synchronized List<Car> findAll() throws SQLException {
+        ensureLoaded();
+        List<Car> cars = new ArrayList<>(carsById.size());
+        carsById.forEachValue(car -> cars.add(car.copy()));
+        return cars;
+    }
+
+    /**
+     * Collects the cars that are flagged as available and satisfy the criteria.
+     *
+     * @param criteria The search criteria (null matches every car)
+     * @return Copies of the matching cars, in no particular order
+     * @throws SQLException If the catalog has to be loaded and the load fails
+     */
+    synchronized List<Car> findRentable(CarSearchCriteria criteria) throws SQLException {
+        ensureLoaded();
+        List<Car> cars = new ArrayList<>();
+        carsById.forEachValue(car -> {
+            if (car.isAvailable() && (criteria == null || criteria.matches(car))) {
+                cars.add(car.copy());
+            }
+        });
+        return cars;
+    }
+
+    /**
+     * Lists the IDs of the cars that are flagged as available and satisfy the
+     * criteria, cheapest hourly rate first. Cars with the same rate are listed
+     * by car ID.
+     *
+     * @param criteria The search criteria (null matches every car)
+     * @return The matching car IDs in rate order
+     * @throws SQLException If the catalog has to be loaded and the load fails
+     */
+    synchronized int[] findRentableIdsByRate(CarSearchCriteria criteria) throws SQLException {
+        ensureLoaded();
+        if (rentableByRate == null) {
+            List<Car> rentable = new ArrayList<>(carsById.size());
+            carsById.forEachValue(car -> {
+                if (car.isAvailable()) {
+                    rentable.add(car);
+                }
+            });
+            rentable.sort(Comparator.comparingDouble(Car::getHourlyRate).thenComparingInt(Car::getCarId));
+            rentableByRate = rentable.toArray(new Car[0]);
+        }
+        int[] carIds = new int[rentableByRate.length];
+        int count = 0;
+        for (Car car : rentableByRate) {
+            if (criteria == null || criteria.matches(car)) {
+                carIds[count++] = car.getCarId();
+            }
+        }
+        return count == carIds.length ? carIds : Arrays.copyOf(carIds, count);
+    }
+
+    /**
+     * Replaces the catalog contents with a freshly loaded list of cars.
+     *
+     * @param cars All cars currently in the database
+     */
+    synchronized void replaceAll(List<Car> cars) {
+        carsById.clear();
+        carsByPlate.clear();
+        rentableByRate = null;
+        for (Car car : cars) {
+            store(car.copy());
+        }
+        loaded = true;
+    }
+
+    /**
+     * Records an inserted or updated car. Ignored until the catalog is loaded,
+     * since the first load will pick the row up from the database anyway.
+     *
+     * @param car The car as written to the database
+     */
+    synchronized void put(Car car) {
+        if (!loaded) {
+            return;
+        }
+        Car previous = carsById.remove(car.getCarId());
+        if (previous != null) {
+            carsByPlate.remove(plateKey(previous.getLicensePlate()));
+        }
+        rentableByRate = null;
+        store(car.copy());
+    }
+
+    /**
+     * Removes a deleted car from the catalog.
+     *
+     * @param carId The ID of the deleted car
+     */
+    synchronized void remove(int carId) {
+        Car previous = carsById.remove(carId);
+        if (previous != null) {
+            carsByPlate.remove(plateKey(previous.getLicensePlate()));
+            rentableByRate = null;
+        }
+    }
+
+    /**
+     * Discards the cached contents so the next lookup reloads from the database.
+     */
+    synchronized void invalidate() {
+        carsById.clear();
+        carsByPlate.clear();
+        rentableByRate = null;
+        loaded = false;
+    }
+
+    private void ensureLoaded() throws SQLException {
+        if (!loaded) {
+            replaceAll(Car.loadAllCars());
+        }
+    }
+
+    private void store(Car car) {
+        carsById.put(car.getCarId(), car);
+        carsByPlate.put(plateKey(car.getLicensePlate()), car);
+    }
+
+    /**
+     * The license_plate column uses a case-insensitive collation, so the index does too.
+     */
+    private static String plateKey(String licensePlate) {
+        return licensePlate.trim().toUpperCase(Locale.ROOT);
+    }
+}
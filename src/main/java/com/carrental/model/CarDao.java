@@ -0,0 +1,222 @@
+package main.java.com.carrental.model;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data access object for the cars table.
+ * Every operation runs on a connection supplied by the caller, so a unit of
+ * work can run several operations on one connection. Statements prepared on
+ * a pooled connection stay in its {@link StatementCache}, so each SQL string
+ * below is prepared once per connection and then only re-bound and executed.
+ *
+ * <p>The DAO does not touch the {@link CarCatalog}; {@link Car} keeps the
+ * catalog current around these calls.</p>
+ */
+public final class CarDao {
+    private static final String FIND_BY_ID = "SELECT * FROM cars WHERE car_id = ?";
+    private static final String LOCK_BY_ID = "SELECT * FROM cars WHERE car_id = ? FOR UPDATE";
+    private static final String FIND_ALL = "SELECT * FROM cars";
+    private static final String SCAN = "SELECT * FROM cars ORDER BY car_id";
+    private static final String INSERT =
+        "INSERT INTO cars (make, model, year, license_plate, hourly_rate, available) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+        "UPDATE cars SET make = ?, model = ?, year = ?, license_plate = ?, hourly_rate = ?, available = ? WHERE car_id = ?";
+    private static final String DELETE = "DELETE FROM cars WHERE car_id = ?";
+
+    private CarDao() {
+    }
+
+    /**
+     * Reads a single car.
+     *
+     * @param conn The connection to use
+     * @param carId The ID of the car
+     * @return The car, or null if no such car exists
+     * @throws SQLException If a database access error occurs
+     */
+    public static Car findById(Connection conn, int carId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(FIND_BY_ID)) {
+            stmt.setInt(1, carId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? Car.fromResultSet(rs) : null;
+            }
+        }
+    }
+
+    /**
+     * Reads a single car and locks its row until the caller's transaction
+     * ends, so bookings of the same car from any process run one at a time.
+     *
+     * @param conn The connection to use, inside a transaction
+     * @param carId The ID of the car
+     * @return The car, or null if no such car exists
+     * @throws SQLException If a database access error occurs
+     */
+    public static Car lockById(Connection conn, int carId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(LOCK_BY_ID)) {
+            stmt.setInt(1, carId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? Car.fromResultSet(rs) : null;
+            }
+        }
+    }
+
+    /**
+     * Reads every row of the cars table.
+     *
+     * @param conn The connection to use
+     * @return A list of all cars
+     * @throws SQLException If a database access error occurs
+     */
+    public static List<Car> findAll(Connection conn) throws SQLException {
+        List<Car> cars = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(FIND_ALL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                cars.add(Car.fromResultSet(rs));
+            }
+        }
+        return cars;
+    }
+
+    /**
+     * Streams every row of the cars table in car_id order to a handler.
+     * The statement is forward-only and read-only and bypasses the statement
+     * cache, so with a streaming fetch size the driver holds only one fetch
+     * of rows at a time.
+     *
+     * @param conn The connection to use; it is busy until the scan returns
+     * @param fetchSize The fetch size, see {@link DatabaseConfig#getStreamingFetchSize()}
+     * @param handler Receives each car
+     * @return The number of rows read
+     * @throws SQLException If a database access error occurs
+     * @throws IOException If the handler fails
+     */
+    public static long scan(Connection conn, int fetchSize, RowHandler<Car> handler) throws SQLException, IOException {
+        long rows = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(SCAN, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(fetchSize);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(Car.fromResultSet(rs));
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Inserts a car.
+     *
+     * @param conn The connection to use
+     * @param car The car to insert; its ID is ignored
+     * @return The generated car ID, or 0 if the driver returned none
+     * @throws SQLException If a database access error occurs
+     */
+    public static int insert(Connection conn, Car car) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            bind(stmt, car);
+            stmt.executeUpdate();
+
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                return generatedKeys.next() ? generatedKeys.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Inserts many cars with JDBC batches, sending up to {@code batchSize}
+     * rows per round trip. The caller owns the transaction.
+     *
+     * @param conn The connection to use
+     * @param cars The cars to insert; their IDs are ignored
+     * @param batchSize The maximum number of rows per executeBatch call
+     * @return The generated car IDs, in the order of the list
+     * @throws SQLException If a database access error occurs or the driver
+     *         does not return a key for every row
+     */
+    public static int[] insertBatch(Connection conn, List<Car> cars, int batchSize) throws SQLException {
+        int[] ids = new int[cars.size()];
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            int flushed = 0;
+            for (int i = 0; i < cars.size(); i++) {
+                bind(stmt, cars.get(i));
+                stmt.addBatch();
+                if (i + 1 - flushed == batchSize || i == cars.size() - 1) {
+                    stmt.executeBatch();
+                    flushed = readGeneratedKeys(stmt, ids, flushed, i + 1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Updates every column of a car.
+     *
+     * @param conn The connection to use
+     * @param car The car with updated information
+     * @return true if a row was updated
+     * @throws SQLException If a database access error occurs
+     */
+    public static boolean update(Connection conn, Car car) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(UPDATE)) {
+            bind(stmt, car);
+            stmt.setInt(7, car.getCarId());
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Deletes a car.
+     *
+     * @param conn The connection to use
+     * @param carId The ID of the car
+     * @return true if a row was deleted
+     * @throws SQLException If a database access error occurs
+     */
+    public static boolean delete(Connection conn, int carId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(DELETE)) {
+            stmt.setInt(1, carId);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Binds the insert and update columns, in table order, to parameters 1 to 6.
+     */
+    private static void bind(PreparedStatement stmt, Car car) throws SQLException {
+        stmt.setString(1, car.getMake());
+        stmt.setString(2, car.getModel());
+        stmt.setInt(3, car.getYear());
+        stmt.setString(4, car.getLicensePlate());
+        stmt.setDouble(5, car.getHourlyRate());
+        stmt.setBoolean(6, car.isAvailable());
+    }
+
+    /**
+     * Copies the keys generated by the last executeBatch into {@code ids[from..to)}.
+     *
+     * @return {@code to}, the index of the next row to flush
+     */
+    private static int readGeneratedKeys(PreparedStatement stmt, int[] ids, int from, int to) throws SQLException {
+        int next = from;
+        try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+            while (next < to && generatedKeys.next()) {
+                ids[next++] = generatedKeys.getInt(1);
+            }
+        }
+        if (next != to) {
+            throw new SQLException("Expected " + (to - from) + " generated keys but the driver returned " + (next - from));
+        }
+        return to;
+    }
+}
@@ -0,0 +1,95 @@
+package main.java.com.carrental.model;
+
+/**
+ * Filter for fleet searches such as {@link Car#findAvailableCars}.
+ * Every criterion is optional; unset criteria match all cars.
+ * Make and model match case-insensitively on a prefix, so the criteria can be
+ * rebuilt on each keystroke of a search field.
+ */
+public class CarSearchCriteria {
+    private String makePrefix;
+    private String modelPrefix;
+    private Integer minYear;
+    private Integer maxYear;
+    private Double minHourlyRate;
+    private Double maxHourlyRate;
+    private boolean availableOnly;
+
+    /** @return The make prefix to match, or null for any make */
+    public String getMakePrefix() { return makePrefix; }
+
+    /** @return The model prefix to match, or null for any model */
+    public String getModelPrefix() { return modelPrefix; }
+
+    /** @return The earliest manufacturing year, or null for no lower bound */
+    public Integer getMinYear() { return minYear; }
+
+    /** @return The latest manufacturing year, or null for no upper bound */
+    public Integer getMaxYear() { return maxYear; }
+
+    /** @return The lowest acceptable hourly rate, or null for no limit */
+    public Double getMinHourlyRate() { return minHourlyRate; }
+
+    /** @return The highest acceptable hourly rate, or null for no limit */
+    public Double getMaxHourlyRate() { return maxHourlyRate; }
+
+    /** @return Whether only cars flagged as available match */
+    public boolean isAvailableOnly() { return availableOnly; }
+
+    /** @param makePrefix The make prefix to match (blank matches any make) */
+    public void setMakePrefix(String makePrefix) { this.makePrefix = normalize(makePrefix); }
+
+    /** @param modelPrefix The model prefix to match (blank matches any model) */
+    public void setModelPrefix(String modelPrefix) { this.modelPrefix = normalize(modelPrefix); }
+
+    /** @param minYear The earliest manufacturing year (null for no lower bound) */
+    public void setMinYear(Integer minYear) { this.minYear = minYear; }
+
+    /** @param maxYear The latest manufacturing year (null for no upper bound) */
+    public void setMaxYear(Integer maxYear) { this.maxYear = maxYear; }
+
+    /** @param minHourlyRate The lowest acceptable hourly rate (null for no limit) */
+    public void setMinHourlyRate(Double minHourlyRate) { this.minHourlyRate = minHourlyRate; }
+
+    /** @param maxHourlyRate The highest acceptable hourly rate (null for no limit) */
+    public void setMaxHourlyRate(Double maxHourlyRate) { this.maxHourlyRate = maxHourlyRate; }
+
+    /** @param availableOnly Whether only cars flagged as available match */
+    public void setAvailableOnly(boolean availableOnly) { this.availableOnly = availableOnly; }
+
+    /**
+     * @return true if no criterion is set, so every car matches
+     */
+    public boolean isEmpty() {
+        return makePrefix == null && modelPrefix == null && minYear == null && maxYear == null
+            && minHourlyRate == null && maxHourlyRate == null && !availableOnly;
+    }
+
+    /**
+     * Checks a car against every criterion that is set.
+     *
+     * @param car The car to test
+     * @return true if the car satisfies all criteria
+     */
+    public boolean matches(Car car) {
+        return startsWithIgnoreCase(car.getMake(), makePrefix)
+            && startsWithIgnoreCase(car.getModel(), modelPrefix)
+            && (minYear == null || car.getYear() >= minYear)
+            && (maxYear == null || car.getYear() <= maxYear)
+            && (minHourlyRate == null || car.getHourlyRate() >= minHourlyRate)
+            && (maxHourlyRate == null || car.getHourlyRate() <= maxHourlyRate)
+            && (!availableOnly || car.isAvailable());
+    }
+
+    private static boolean startsWithIgnoreCase(String value, String prefix) {
+        return prefix == null
+            || (value != null && value.regionMatches(true, 0, prefix, 0, prefix.length()));
+    }
+
+    private static String normalize(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        return prefix.trim();
+    }
+}
@@ -0,0 +1,489 @@
+package main.java.com.carrental.model;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A small, bounded JDBC connection pool used by {@link DatabaseConnection}.
+ * Physical connections are opened lazily up to a fixed maximum and handed out
+ * wrapped in a proxy whose {@code close()} returns the connection to the pool
+ * instead of closing the socket.
+ *
+ * <p>Idle connections are validated before reuse once they have been idle for
+ * longer than the validation interval, and are retired when they exceed the
+ * maximum idle time or the maximum lifetime.</p>
+ *
+ * <p>Each physical connection keeps its prepared statements open in a
+ * {@link StatementCache}, so {@code prepareStatement(sql)} on a lent connection
+ * returns an already prepared statement when the same SQL ran on that
+ * connection before.</p>
+ */
+public class ConnectionPool {
+    private final String url;
+    private final Properties connectionProperties;
+    private final int maxSize;
+    private final int statementCacheSize;
+    private final long borrowTimeoutMillis;
+    private final long validationIntervalMillis;
+    private final long maxIdleMillis;
+    private final long maxLifetimeMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition connectionReturned = lock.newCondition();
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private int openConnections;
+    private boolean closed;
+
+    // Statistics
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong waitCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong retiredCount = new AtomicLong();
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+
+    /**
+     * Constructs a new ConnectionPool.
+     *
+     * @param url The JDBC connection URL
+     * @param connectionProperties The driver properties, including {@code user} and {@code password}
+     * @param maxSize The maximum number of physical connections
+     * @param statementCacheSize The number of prepared statements cached per connection (0 disables caching)
+     * @param borrowTimeoutMillis How long a caller may wait for a free connection
+     * @param validationIntervalMillis Idle time after which a connection is validated before reuse
+     * @param maxIdleMillis Idle time after which a connection is retired
+     * @param maxLifetimeMillis Age after which a connection is retired
+     */
+    public ConnectionPool(String url, Properties connectionProperties, int maxSize,
+                          int statementCacheSize, long borrowTimeoutMillis, long validationIntervalMillis,
+                          long maxIdleMillis, long maxLifetimeMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1");
+        }
+        this.url = url;
+        this.connectionProperties = new Properties();
+        this.connectionProperties.putAll(connectionProperties);
+        this.maxSize = maxSize;
+        this.statementCacheSize = statementCacheSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.validationIntervalMillis = validationIntervalMillis;
+        this.maxIdleMillis = maxIdleMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new physical connection
+     * if none is idle and the pool has not reached its maximum size.
+     *
+     * @return A pooled connection; closing it returns it to the pool
+     * @throws SQLException If no connection becomes available in time or the
+     *         database cannot be reached
+     */
+    public Connection borrow() throws SQLException {
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+        boolean waited = false;
+
+        while (true) {
+            PooledConnection candidate = null;
+            boolean openNew = false;
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("Connection pool is closed");
+                    }
+                    candidate = idle.pollFirst();
+                    if (candidate != null) {
+                        break;
+                    }
+                    if (openConnections < maxSize) {
+                        openConnections++; // Reserve the slot before connecting outside the lock
+                        openNew = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new SQLException("Timed out after " + borrowTimeoutMillis
+                            + " ms waiting for a database connection (pool size " + maxSize + ")");
+                    }
+                    waited = true;
+                    try {
+                        connectionReturned.awaitNanos(remaining);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", ex);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (openNew) {
+                candidate = openPhysical();
+            } else if (!isUsable(candidate)) {
+                retire(candidate);
+                continue;
+            }
+
+            recordBorrow(startNanos, waited);
+            return candidate.lend();
+        }
+    }
+
+    /**
+     * Closes all idle connections and rejects further borrows.
+     * Connections currently lent out are closed when they are returned.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            PooledConnection pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                pooled.discard();
+                openConnections--;
+                retiredCount.incrementAndGet();
+            }
+            connectionReturned.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return A snapshot of the pool's size and usage statistics
+     */
+    public Stats getStats() {
+        lock.lock();
+        try {
+            return new Stats(maxSize, openConnections, idle.size(),
+                borrowCount.get(), waitCount.get(), totalWaitNanos.get(), maxWaitNanos.get(),
+                createdCount.get(), retiredCount.get(), statementHits.get(), statementMisses.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Opens a new physical connection for a slot already reserved by the caller.
+     */
+    private PooledConnection openPhysical() throws SQLException {
+        try {
+            Connection physical = DriverManager.getConnection(url, connectionProperties);
+            createdCount.incrementAndGet();
+            return new PooledConnection(physical);
+        } catch (SQLException | RuntimeException ex) {
+            releaseSlot();
+            throw ex;
+        }
+    }
+
+    /**
+     * Checks whether an idle connection can be handed out again.
+     */
+    private boolean isUsable(PooledConnection pooled) {
+        long now = System.currentTimeMillis();
+        if (now - pooled.createdAt > maxLifetimeMillis || now - pooled.lastReturnedAt > maxIdleMillis) {
+            return false;
+        }
+        if (now - pooled.lastReturnedAt > validationIntervalMillis) {
+            try {
+                return pooled.physical.isValid(2);
+            } catch (SQLException ex) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a connection to the idle queue, or retires it if it is broken,
+     * expired, or the pool has been closed.
+     */
+    private void giveBack(PooledConnection pooled, boolean broken) {
+        pooled.lastReturnedAt = System.currentTimeMillis();
+        if (broken || pooled.lastReturnedAt - pooled.createdAt > maxLifetimeMillis) {
+            retire(pooled);
+            return;
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                pooled.discard();
+                openConnections--;
+                retiredCount.incrementAndGet();
+            } else {
+                // Most recently used first, so the stalest connections age out at the tail
+                idle.offerFirst(pooled);
+            }
+            connectionReturned.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes a physical connection and frees its slot.
+     */
+    private void retire(PooledConnection pooled) {
+        pooled.discard();
+        retiredCount.incrementAndGet();
+        releaseSlot();
+    }
+
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            openConnections--;
+            connectionReturned.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordBorrow(long startNanos, boolean waited) {
+        long waitNanos = System.nanoTime() - startNanos;
+        borrowCount.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        if (waited) {
+            waitCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * A physical connection owned by the pool together with its bookkeeping.
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private final StatementCache statements;
+        private final long createdAt;
+        private volatile long lastReturnedAt;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statements = new StatementCache(physical, statementCacheSize, statementHits, statementMisses);
+            this.createdAt = System.currentTimeMillis();
+            this.lastReturnedAt = createdAt;
+        }
+
+        /**
+         * Wraps the physical connection in a proxy valid for a single borrow.
+         */
+        Connection lend() {
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new LeaseHandler(this));
+        }
+
+        /**
+         * Closes the cached statements and the physical connection.
+         */
+        void discard() {
+            statements.closeAll();
+            try {
+                physical.close();
+            } catch (SQLException ignored) {
+                // The connection is being discarded anyway
+            }
+        }
+    }
+
+    /**
+     * Routes calls on a lent connection to the physical connection, and turns
+     * {@code close()} into a return to the pool.
+     */
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean returned;
+        private boolean broken;
+
+        LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        pooled.statements.releaseAll();
+                        giveBack(pooled, broken || !resetState());
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            try {
+                if (isCacheablePrepare(method)) {
+                    int autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                    return pooled.statements.prepare((String) args[0], autoGeneratedKeys, (Connection) proxy);
+                }
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException ex) {
+                throw checkFatal(ex.getCause());
+            } catch (SQLException ex) {
+                throw checkFatal(ex);
+            }
+        }
+
+        /**
+         * Only {@code prepareStatement(String)} and {@code prepareStatement(String, int autoGeneratedKeys)}
+         * are cached; the cursor-type and key-column variants go straight to the driver.
+         */
+        private boolean isCacheablePrepare(Method method) {
+            if (!method.getName().equals("prepareStatement")) {
+                return false;
+            }
+            Class<?>[] types = method.getParameterTypes();
+            return types.length == 1 || (types.length == 2 && types[1] == int.class);
+        }
+
+        private Throwable checkFatal(Throwable cause) {
+            if (cause instanceof SQLException sqlEx && isFatal(sqlEx)) {
+                broken = true;
+            }
+            return cause;
+        }
+
+        /**
+         * Restores the default session state so the next borrower starts clean.
+         *
+         * @return false if the connection could not be reset and should be retired
+         */
+        private boolean resetState() {
+            try {
+                if (!pooled.physical.getAutoCommit()) {
+                    pooled.physical.rollback();
+                    pooled.physical.setAutoCommit(true);
+                }
+                if (pooled.physical.isReadOnly()) {
+                    pooled.physical.setReadOnly(false);
+                }
+                pooled.physical.clearWarnings();
+                return true;
+            } catch (SQLException ex) {
+                return false;
+            }
+        }
+
+        /**
+         * SQLState class 08 signals a connection exception; such connections are not reused.
+         */
+        private boolean isFatal(SQLException ex) {
+            String state = ex.getSQLState();
+            return state != null && state.startsWith("08");
+        }
+    }
+
+    /**
+     * An immutable snapshot of pool statistics.
+     */
+    public static final class Stats {
+        private final int maxSize;
+        private final int openConnections;
+        private final int idleConnections;
+        private final long borrowCount;
+        private final long waitCount;
+        private final long totalWaitNanos;
+        private final long maxWaitNanos;
+        private final long createdCount;
+        private final long retiredCount;
+        private final long statementHits;
+        private final long statementMisses;
+
+        Stats(int maxSize, int openConnections, int idleConnections, long borrowCount,
+              long waitCount, long totalWaitNanos, long maxWaitNanos,
+              long createdCount, long retiredCount, long statementHits, long statementMisses) {
+            this.maxSize = maxSize;
+            this.openConnections = openConnections;
+            this.idleConnections = idleConnections;
+            this.borrowCount = borrowCount;
+            this.waitCount = waitCount;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.createdCount = createdCount;
+            this.retiredCount = retiredCount;
+            this.statementHits = statementHits;
+            this.statementMisses = statementMisses;
+        }
+
+        /** @return The maximum number of physical connections */
+        public int getMaxSize() { return maxSize; }
+
+        /** @return The number of physical connections currently open (idle or lent out) */
+        public int getOpenConnections() { return openConnections; }
+
+        /** @return The number of open connections currently idle in the pool */
+        public int getIdleConnections() { return idleConnections; }
+
+        /** @return The number of connections currently lent out */
+        public int getActiveConnections() { return openConnections - idleConnections; }
+
+        /** @return The total number of successful borrows */
+        public long getBorrowCount() { return borrowCount; }
+
+        /** @return The number of borrows that had to wait for a free connection */
+        public long getWaitCount() { return waitCount; }
+
+        /** @return The average time spent in borrow(), in microseconds */
+        public double getAverageWaitMicros() {
+            return borrowCount == 0 ? 0.0 : totalWaitNanos / 1_000.0 / borrowCount;
+        }
+
+        /** @return The longest time spent in a single borrow(), in microseconds */
+        public double getMaxWaitMicros() { return maxWaitNanos / 1_000.0; }
+
+        /** @return The number of physical connections opened since start */
+        public long getCreatedCount() { return createdCount; }
+
+        /** @return The number of physical connections closed since start */
+        public long getRetiredCount() { return retiredCount; }
+
+        /** @return The number of prepareStatement calls served from a statement cache */
+        public long getStatementHits() { return statementHits; }
+
+        /** @return The number of prepareStatement calls that prepared a new statement */
+        public long getStatementMisses() { return statementMisses; }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "open=%d/%d idle=%d borrows=%d waits=%d avgWait=%.1fus maxWait=%.1fus created=%d retired=%d"
+                    + " stmtHits=%d stmtMisses=%d",
+                openConnections, maxSize, idleConnections, borrowCount, waitCount,
+                getAverageWaitMicros(), getMaxWaitMicros(), createdCount, retiredCount,
+                statementHits, statementMisses);
+        }
+    }
+}
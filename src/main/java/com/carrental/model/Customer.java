@@ -7,7 +7,10 @@ import java.util.List;
 /**
  * Represents a customer entity in the car rental system.
  * This class models customer information and provides database CRUD operations
- * for customer management.
+ * for customer management. The SQL itself lives in {@link CustomerDao}.
+ *
+ * <p>Searches are answered by an in-memory {@link CustomerSearchIndex} that
+ * the CRUD operations keep current.</p>
  */
 public class Customer {
     private int customerId;
@@ -72,26 +75,55 @@ public class Customer {
      * @throws SQLException If a database access error occurs
      */
     public static void addCustomer(Customer customer) throws SQLException {
-        String sql = "INSERT INTO customers (first_name, last_name, email, phone_number) VALUES (?, ?, ?, ?)";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            // Set parameters for the prepared statement
-            stmt.setString(1, customer.getFirstName());
-            stmt.setString(2, customer.getLastName());
-            stmt.setString(3, customer.getEmail());
-            stmt.setString(4, customer.getPhoneNumber());
-            
-            stmt.executeUpdate();
-
-            // Retrieve the auto-generated customer ID
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    customer.customerId = generatedKeys.getInt(1);
-                }
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            customer.customerId = CustomerDao.insert(conn, customer);
+        }
+        CustomerSearchIndex.getInstance().put(customer);
+    }
+
+    /**
+     * Adds many customers in a single transaction using JDBC batches of the
+     * configured batch size ({@code carrental.db.batchSize}).
+     * 
+     * @param customers The customers to be added; each customer's ID is set to its generated ID
+     * @return The generated customer IDs, in the order of the list
+     * @throws SQLException If a database access error occurs; no customer is added then
+     */
+    public static int[] addCustomers(List<Customer> customers) throws SQLException {
+        return addCustomers(customers, DatabaseConnection.getConfig().getBatchSize());
+    }
+
+    /**
+     * Adds many customers in a single transaction using JDBC batches.
+     * 
+     * @param customers The customers to be added; each customer's ID is set to its generated ID
+     * @param batchSize The maximum number of rows sent per round trip
+     * @return The generated customer IDs, in the order of the list
+     * @throws SQLException If a database access error occurs; no customer is added then
+     */
+    public static int[] addCustomers(List<Customer> customers, int batchSize) throws SQLException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        int[] ids;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                ids = CustomerDao.insertBatch(conn, customers, batchSize);
+                conn.commit();
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
             }
         }
+
+        CustomerSearchIndex index = CustomerSearchIndex.getInstance();
+        for (int i = 0; i < ids.length; i++) {
+            Customer customer = customers.get(i);
+            customer.customerId = ids[i];
+            index.put(customer);
+        }
+        return ids;
     }
 
     /**
@@ -101,27 +133,100 @@ public class Customer {
      * @throws SQLException If a database access error occurs
      */
     public static List<Customer> getAllCustomers() throws SQLException {
-        List<Customer> customers = new ArrayList<>();
-        String sql = "SELECT * FROM customers";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            // Process each row in the result set
-            while (rs.next()) {
-                customers.add(new Customer(
-                    rs.getInt("customer_id"),
-                    rs.getString("first_name"),
-                    rs.getString("last_name"),
-                    rs.getString("email"),
-                    rs.getString("phone_number")
-                ));
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return CustomerDao.findAll(conn);
+        }
+    }
+
+    /**
+     * Retrieves a customer by ID.
+     * 
+     * @param customerId The ID of the customer
+     * @return The customer if found, null otherwise
+     * @throws SQLException If a database access error occurs
+     */
+    public static Customer getCustomerById(int customerId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return CustomerDao.findById(conn, customerId);
+        }
+    }
+
+    /**
+     * Retrieves several customers by ID, e.g. a page of
+     * {@link #searchCustomers search} results, with one query per hundred IDs.
+     * 
+     * @param customerIds The IDs of the customers
+     * @return The customers found, in the order of the IDs; missing IDs are skipped
+     * @throws SQLException If a database access error occurs
+     */
+    public static List<Customer> getCustomersById(int[] customerIds) throws SQLException {
+        IntObjectMap<Customer> found;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            found = CustomerDao.findByIds(conn, customerIds);
+        }
+        List<Customer> customers = new ArrayList<>(found.size());
+        for (int customerId : customerIds) {
+            Customer customer = found.get(customerId);
+            if (customer != null) {
+                customers.add(customer);
             }
         }
         return customers;
     }
 
+    /**
+     * Finds the customers whose first name, last name, email or phone number
+     * contain every whitespace-separated term of a query, ignoring case.
+     * Terms of one or two characters match the start of a word, and terms
+     * made of digits and phone punctuation match the phone number's digits.
+     * 
+     * @param query The search text; a blank query matches every customer
+     * @return The IDs of the matching customers in ascending order
+     * @throws SQLException If the search index has to be loaded and the load fails
+     */
+    public static int[] searchCustomers(String query) throws SQLException {
+        return CustomerSearchIndex.getInstance().search(query);
+    }
+
+    /**
+     * Loads the customer search index now, so that the first search does not
+     * wait for it. Intended to be called in the background at startup.
+     * 
+     * @throws SQLException If a database access error occurs
+     */
+    public static void loadSearchIndex() throws SQLException {
+        CustomerSearchIndex.getInstance().load();
+    }
+
+    /**
+     * Retrieves the IDs of all customers in ascending order.
+     * 
+     * @return The sorted customer IDs
+     * @throws SQLException If a database access error occurs
+     */
+    public static int[] getCustomerIds() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return CustomerDao.findIds(conn);
+        }
+    }
+
+    /**
+     * Maps the current row of a customers result set to a Customer.
+     * 
+     * @param rs A result set positioned on a row of the customers table
+     * @return The customer in that row
+     * @throws SQLException If a database access error occurs
+     */
+    static Customer fromResultSet(ResultSet rs) throws SQLException {
+        return new Customer(
+            rs.getInt("customer_id"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getString("email"),
+            rs.getString("phone_number")
+        );
+    }
+
     /**
      * Updates an existing customer in the database.
      * 
@@ -129,19 +234,14 @@ public class Customer {
      * @throws SQLException If a database access error occurs
      */
     public static void updateCustomer(Customer customer) throws SQLException {
-        String sql = "UPDATE customers SET first_name = ?, last_name = ?, email = ?, phone_number = ? WHERE customer_id = ?";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            // Set parameters for the prepared statement
-            stmt.setString(1, customer.getFirstName());
-            stmt.setString(2, customer.getLastName());
-            stmt.setString(3, customer.getEmail());
-            stmt.setString(4, customer.getPhoneNumber());
-            stmt.setInt(5, customer.getCustomerId());
-            
-            stmt.executeUpdate();
+        boolean updated;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            updated = CustomerDao.update(conn, customer);
+        }
+        if (updated) {
+            CustomerSearchIndex.getInstance().put(customer);
+        } else {
+            CustomerSearchIndex.getInstance().remove(customer.getCustomerId()); // Deleted by another session
         }
     }
 
@@ -152,13 +252,9 @@ public class Customer {
      * @throws SQLException If a database access error occurs
      */
     public static void deleteCustomer(int customerId) throws SQLException {
-        String sql = "DELETE FROM customers WHERE customer_id = ?";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, customerId);
-            stmt.executeUpdate();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            CustomerDao.delete(conn, customerId);
         }
+        CustomerSearchIndex.getInstance().remove(customerId);
     }
 }
\ No newline at end of file
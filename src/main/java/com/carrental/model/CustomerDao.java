@@ -0,0 +1,258 @@
+package main.java.com.carrental.model;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Data access object for the customers table.
+ * Every operation runs on a connection supplied by the caller; statements
+ * prepared on a pooled connection stay in its {@link StatementCache} and are
+ * reused by later calls on that connection.
+ */
+public final class CustomerDao {
+    private static final String FIND_BY_ID = "SELECT * FROM customers WHERE customer_id = ?";
+    /** IDs bound per {@link #FIND_BY_IDS} query; one fixed size keeps a single statement in the cache. */
+    private static final int IDS_PER_QUERY = 100;
+    private static final String FIND_BY_IDS = "SELECT * FROM customers WHERE customer_id IN ("
+        + String.join(", ", Collections.nCopies(IDS_PER_QUERY, "?")) + ")";
+    private static final String FIND_ALL = "SELECT * FROM customers";
+    private static final String SCAN = "SELECT * FROM customers ORDER BY customer_id";
+    private static final String FIND_IDS = "SELECT customer_id FROM customers ORDER BY customer_id";
+    private static final String INSERT =
+        "INSERT INTO customers (first_name, last_name, email, phone_number) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE =
+        "UPDATE customers SET first_name = ?, last_name = ?, email = ?, phone_number = ? WHERE customer_id = ?";
+    private static final String DELETE = "DELETE FROM customers WHERE customer_id = ?";
+
+    private CustomerDao() {
+    }
+
+    /**
+     * Reads a single customer.
+     *
+     * @param conn The connection to use
+     * @param customerId The ID of the customer
+     * @return The customer, or null if no such customer exists
+     * @throws SQLException If a database access error occurs
+     */
+    public static Customer findById(Connection conn, int customerId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(FIND_BY_ID)) {
+            stmt.setInt(1, customerId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? Customer.fromResultSet(rs) : null;
+            }
+        }
+    }
+
+    /**
+     * Reads many customers with one query per {@value #IDS_PER_QUERY} IDs.
+     * A shorter run of IDs is padded with its last ID, so the same statement
+     * serves every call.
+     *
+     * @param conn The connection to use
+     * @param customerIds The IDs of the customers
+     * @return The customers found, by ID, in no particular order
+     * @throws SQLException If a database access error occurs
+     */
+    public static IntObjectMap<Customer> findByIds(Connection conn, int[] customerIds) throws SQLException {
+        IntObjectMap<Customer> customers = new IntObjectMap<>(customerIds.length);
+        if (customerIds.length == 0) {
+            return customers;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(FIND_BY_IDS)) {
+            for (int from = 0; from < customerIds.length; from += IDS_PER_QUERY) {
+                int to = Math.min(from + IDS_PER_QUERY, customerIds.length);
+                for (int i = 0; i < IDS_PER_QUERY; i++) {
+                    stmt.setInt(i + 1, customerIds[Math.min(from + i, to - 1)]);
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        Customer customer = Customer.fromResultSet(rs);
+                        customers.put(customer.getCustomerId(), customer);
+                    }
+                }
+            }
+        }
+        return customers;
+    }
+
+    /**
+     * Reads every row of the customers table.
+     *
+     * @param conn The connection to use
+     * @return A list of all customers
+     * @throws SQLException If a database access error occurs
+     */
+    public static List<Customer> findAll(Connection conn) throws SQLException {
+        List<Customer> customers = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(FIND_ALL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                customers.add(Customer.fromResultSet(rs));
+            }
+        }
+        return customers;
+    }
+
+    /**
+     * Streams every row of the customers table in customer_id order to a handler.
+     * The statement is forward-only and read-only and bypasses the statement
+     * cache, so with a streaming fetch size the driver holds only one fetch
+     * of rows at a time.
+     *
+     * @param conn The connection to use; it is busy until the scan returns
+     * @param fetchSize The fetch size, see {@link DatabaseConfig#getStreamingFetchSize()}
+     * @param handler Receives each customer
+     * @return The number of rows read
+     * @throws SQLException If a database access error occurs
+     * @throws IOException If the handler fails
+     */
+    public static long scan(Connection conn, int fetchSize, RowHandler<Customer> handler) throws SQLException, IOException {
+        long rows = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(SCAN, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(fetchSize);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(Customer.fromResultSet(rs));
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Reads the IDs of all customers in ascending order.
+     *
+     * @param conn The connection to use
+     * @return The sorted customer IDs
+     * @throws SQLException If a database access error occurs
+     */
+    public static int[] findIds(Connection conn) throws SQLException {
+        int[] ids = new int[1024];
+        int count = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(FIND_IDS);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count << 1);
+                }
+                ids[count++] = rs.getInt(1);
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Inserts a customer.
+     *
+     * @param conn The connection to use
+     * @param customer The customer to insert; its ID is ignored
+     * @return The generated customer ID, or 0 if the driver returned none
+     * @throws SQLException If a database access error occurs
+     */
+    public static int insert(Connection conn, Customer customer) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            bind(stmt, customer);
+            stmt.executeUpdate();
+
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                return generatedKeys.next() ? generatedKeys.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Inserts many customers with JDBC batches, sending up to {@code batchSize}
+     * rows per round trip. The caller owns the transaction.
+     *
+     * @param conn The connection to use
+     * @param customers The customers to insert; their IDs are ignored
+     * @param batchSize The maximum number of rows per executeBatch call
+     * @return The generated customer IDs, in the order of the list
+     * @throws SQLException If a database access error occurs or the driver
+     *         does not return a key for every row
+     */
+    public static int[] insertBatch(Connection conn, List<Customer> customers, int batchSize) throws SQLException {
+        int[] ids = new int[customers.size()];
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            int flushed = 0;
+            for (int i = 0; i < customers.size(); i++) {
+                bind(stmt, customers.get(i));
+                stmt.addBatch();
+                if (i + 1 - flushed == batchSize || i == customers.size() - 1) {
+                    stmt.executeBatch();
+                    flushed = readGeneratedKeys(stmt, ids, flushed, i + 1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Updates every column of a customer.
+     *
+     * @param conn The connection to use
+     * @param customer The customer with updated information
+     * @return true if a row was updated
+     * @throws SQLException If a database access error occurs
+     */
+    public static boolean update(Connection conn, Customer customer) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(UPDATE)) {
+            bind(stmt, customer);
+            stmt.setInt(5, customer.getCustomerId());
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Deletes a customer.
+     *
+     * @param conn The connection to use
+     * @param customerId The ID of the customer
+     * @return true if a row was deleted
+     * @throws SQLException If a database access error occurs
+     */
+    public static boolean delete(Connection conn, int customerId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(DELETE)) {
+            stmt.setInt(1, customerId);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Binds the insert and update columns, in table order, to parameters 1 to 4.
+     */
+    private static void bind(PreparedStatement stmt, Customer customer) throws SQLException {
+        stmt.setString(1, customer.getFirstName());
+        stmt.setString(2, customer.getLastName());
+        stmt.setString(3, customer.getEmail());
+        stmt.setString(4, customer.getPhoneNumber());
+    }
+
+    /**
+     * Copies the keys generated by the last executeBatch into {@code ids[from..to)}.
+     *
+     * @return {@code to}, the index of the next row to flush
+     */
+    private static int readGeneratedKeys(PreparedStatement stmt, int[] ids, int from, int to) throws SQLException {
+        int next = from;
+        try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+            while (next < to && generatedKeys.next()) {
+                ids[next++] = generatedKeys.getInt(1);
+            }
+        }
+        if (next != to) {
+            throw new SQLException("Expected " + (to - from) + " generated keys but the driver returned " + (next - from));
+        }
+        return to;
+    }
+}
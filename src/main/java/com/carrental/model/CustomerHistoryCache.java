@@ -0,0 +1,102 @@
+package main.java.com.carrental.model;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded cache of recently viewed customer rental histories, so a repeat
+ * customer at the counter is answered from memory instead of the database.
+ * Up to {@link #CAPACITY} customers are kept, evicting the least recently
+ * viewed first.
+ *
+ * <p>The CRUD operations in {@link Rental} drop the histories of the customers
+ * they touch. A history is read from the database outside the lock; if a
+ * rental changes while it is being read, the result is returned but not
+ * cached, so the cache never holds a history older than the last change.</p>
+ *
+ * <p>Like {@link CarCatalog}, the cache keeps private copies and hands out
+ * new ones, so edits to a returned rental never leak into the cache.</p>
+ */
+class CustomerHistoryCache {
+    /** Maximum number of customers whose histories are kept. */
+    static final int CAPACITY = 512;
+
+    private static final CustomerHistoryCache INSTANCE = new CustomerHistoryCache();
+
+    private final Map<Integer, Rental[]> histories = new LinkedHashMap<>(CAPACITY * 4 / 3 + 1, 0.75f, true);
+    private long generation;
+
+    private CustomerHistoryCache() {
+    }
+
+    /**
+     * @return The shared cache instance
+     */
+    static CustomerHistoryCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a customer's rentals, newest first, reading them from the
+     * database on a cache miss.
+     *
+     * @param customerId The ID of the customer
+     * @return Copies of the customer's rentals; empty if the customer has none
+     * @throws SQLException If the history has to be read and the read fails
+     */
+    List<Rental> get(int customerId) throws SQLException {
+        long readGeneration;
+        synchronized (this) {
+            Rental[] cached = histories.get(customerId);
+            if (cached != null) {
+                return copyOf(cached);
+            }
+            readGeneration = generation;
+        }
+
+        Rental[] loaded;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            loaded = RentalDao.findByCustomer(conn, customerId).toArray(new Rental[0]);
+        }
+
+        synchronized (this) {
+            if (generation == readGeneration) {
+                histories.put(customerId, loaded);
+                if (histories.size() > CAPACITY) {
+                    histories.remove(histories.keySet().iterator().next());
+                }
+            }
+        }
+        return copyOf(loaded);
+    }
+
+    /**
+     * Drops a customer's history after one of their rentals changed.
+     *
+     * @param customerId The ID of the customer
+     */
+    synchronized void invalidate(int customerId) {
+        histories.remove(customerId);
+        generation++;
+    }
+
+    /**
+     * Drops every cached history, e.g. after a bulk change or a switch of database.
+     */
+    synchronized void invalidateAll() {
+        histories.clear();
+        generation++;
+    }
+
+    private static List<Rental> copyOf(Rental[] rentals) {
+        List<Rental> copies = new ArrayList<>(rentals.length);
+        for (Rental rental : rentals) {
+            copies.add(rental.copy());
+        }
+        return copies;
+    }
+}
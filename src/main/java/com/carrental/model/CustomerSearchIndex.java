@@ -0,0 +1,394 @@
+package main.java.com.carrental.model;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * In-memory type-ahead index over customer names, emails and phone numbers.
+ *
+ * <p>A query is split on whitespace and a customer matches when every term
+ * occurs in one of its fields, ignoring case; a term made of digits and phone
+ * punctuation such as {@code +62 (812)} is compared against the phone number's
+ * digits only. Terms of three or more characters match anywhere in a field and
+ * are looked up through trigram posting lists. Shorter terms match the start
+ * of a word and are looked up through posting lists of one- and two-character
+ * word prefixes. Only the shortest posting list of the query is walked; each
+ * candidate on it is then checked against every term, so hash collisions
+ * between posting keys never produce wrong results.</p>
+ *
+ * <p>The index is loaded with a streaming scan of the customers table on first
+ * use and kept current by the CRUD operations in {@link Customer}. Updated and
+ * deleted customers leave dead slots in the posting lists, which are dropped
+ * by re-indexing the live customers once they outnumber them.</p>
+ */
+class CustomerSearchIndex {
+    private static final CustomerSearchIndex INSTANCE = new CustomerSearchIndex();
+
+    /** Separates the fields of an entry's text; never part of a search term. */
+    private static final char FIELD_SEPARATOR = '\n';
+
+    private static final int PREFIX1_TAG = 0x01000000;
+    private static final int PREFIX2_TAG = 0x02000000;
+    private static final int HASHED_TAG = 0x40000000;
+
+    private Entry[] entries = new Entry[1024];
+    private int slotCount;
+    private int deadCount;
+    private final IntObjectMap<Entry> entriesById = new IntObjectMap<>(1024);
+    private final IntObjectMap<Postings> postings = new IntObjectMap<>(4096);
+    private boolean loaded;
+
+    private CustomerSearchIndex() {
+    }
+
+    /**
+     * @return The shared index instance
+     */
+    static CustomerSearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Finds the customers matching a query.
+     *
+     * @param query The search text; a blank query matches every customer
+     * @return The IDs of the matching customers in ascending order
+     * @throws SQLException If the index has to be loaded and the load fails
+     */
+    synchronized int[] search(String query) throws SQLException {
+        ensureLoaded();
+        String[] terms = terms(query);
+        int[] ids = new int[64];
+        int count = 0;
+
+        if (terms.length == 0) {
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (entries[slot].alive) {
+                    if (count == ids.length) {
+                        ids = Arrays.copyOf(ids, count << 1);
+                    }
+                    ids[count++] = entries[slot].customerId;
+                }
+            }
+            return Arrays.copyOf(ids, count);
+        }
+
+        Postings candidates = null;
+        for (String term : terms) {
+            Postings list = smallestPostings(term);
+            if (list == null) {
+                return new int[0]; // Some term occurs in no customer at all
+            }
+            if (candidates == null || list.size < candidates.size) {
+                candidates = list;
+            }
+        }
+        for (int i = 0; i < candidates.size; i++) {
+            Entry entry = entries[candidates.slots[i]];
+            if (entry.alive && matchesAll(entry.text, terms)) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count << 1);
+                }
+                ids[count++] = entry.customerId;
+            }
+        }
+        ids = Arrays.copyOf(ids, count);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Preloads the index so that the first search does not wait for the scan.
+     *
+     * @throws SQLException If the load fails
+     */
+    synchronized void load() throws SQLException {
+        ensureLoaded();
+    }
+
+    /**
+     * Records an inserted or updated customer. Ignored until the index is
+     * loaded, since the first load will pick the row up from the database anyway.
+     *
+     * @param customer The customer as written to the database
+     */
+    synchronized void put(Customer customer) {
+        if (!loaded) {
+            return;
+        }
+        kill(customer.getCustomerId());
+        add(customer);
+        compactIfSparse();
+    }
+
+    /**
+     * Removes a deleted customer from the index.
+     *
+     * @param customerId The ID of the deleted customer
+     */
+    synchronized void remove(int customerId) {
+        if (loaded) {
+            kill(customerId);
+            compactIfSparse();
+        }
+    }
+
+    /**
+     * Discards the index so the next search reloads it from the database.
+     */
+    synchronized void invalidate() {
+        clear();
+        loaded = false;
+    }
+
+    private void ensureLoaded() throws SQLException {
+        if (loaded) {
+            return;
+        }
+        clear();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            CustomerDao.scan(conn, DatabaseConnection.getConfig().getStreamingFetchSize(), this::add);
+        } catch (IOException ex) {
+            throw new SQLException("Cannot load the customer search index", ex); // add() throws none
+        } catch (SQLException ex) {
+            clear();
+            throw ex;
+        }
+        loaded = true;
+    }
+
+    private void clear() {
+        entries = new Entry[1024];
+        slotCount = 0;
+        deadCount = 0;
+        entriesById.clear();
+        postings.clear();
+    }
+
+    private void add(Customer customer) {
+        String[] fields = {
+            normalize(customer.getFirstName()),
+            normalize(customer.getLastName()),
+            normalize(customer.getEmail()),
+            digitsOf(customer.getPhoneNumber())
+        };
+        Entry entry = new Entry(customer.getCustomerId(), String.join(String.valueOf(FIELD_SEPARATOR), fields));
+        if (slotCount == entries.length) {
+            entries = Arrays.copyOf(entries, slotCount << 1);
+        }
+        int slot = slotCount++;
+        entries[slot] = entry;
+        entriesById.put(entry.customerId, entry);
+
+        for (String field : fields) {
+            for (int i = 0; i + 3 <= field.length(); i++) {
+                posting(trigramKey(field, i)).add(slot);
+            }
+            for (int i = 0; i < field.length(); i++) {
+                if (isWordStart(field, i)) {
+                    posting(PREFIX1_TAG | key1(field.charAt(i))).add(slot);
+                    if (i + 1 < field.length()) {
+                        posting(PREFIX2_TAG | key2(field.charAt(i), field.charAt(i + 1))).add(slot);
+                    }
+                }
+            }
+        }
+    }
+
+    private void kill(int customerId) {
+        Entry entry = entriesById.remove(customerId);
+        if (entry != null) {
+            entry.alive = false;
+            deadCount++;
+        }
+    }
+
+    /**
+     * Re-indexes the live customers once dead slots make up most of the posting lists.
+     */
+    private void compactIfSparse() {
+        if (deadCount < 1024 || deadCount < slotCount - deadCount) {
+            return;
+        }
+        List<Customer> live = new ArrayList<>(slotCount - deadCount);
+        for (int slot = 0; slot < slotCount; slot++) {
+            Entry entry = entries[slot];
+            if (entry.alive) {
+                String[] fields = entry.text.split(String.valueOf(FIELD_SEPARATOR), -1);
+                live.add(new Customer(entry.customerId, fields[0], fields[1], fields[2], fields[3]));
+            }
+        }
+        clear();
+        for (Customer customer : live) {
+            add(customer);
+        }
+    }
+
+    private Postings posting(int key) {
+        Postings list = postings.get(key);
+        if (list == null) {
+            list = new Postings();
+            postings.put(key, list);
+        }
+        return list;
+    }
+
+    /**
+     * @return The shortest posting list that holds every customer matching the term,
+     *         or null if no customer can match it
+     */
+    private Postings smallestPostings(String term) {
+        if (term.length() == 1) {
+            return postings.get(PREFIX1_TAG | key1(term.charAt(0)));
+        }
+        if (term.length() == 2) {
+            return postings.get(PREFIX2_TAG | key2(term.charAt(0), term.charAt(1)));
+        }
+        Postings smallest = null;
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            Postings list = postings.get(trigramKey(term, i));
+            if (list == null) {
+                return null;
+            }
+            if (smallest == null || list.size < smallest.size) {
+                smallest = list;
+            }
+        }
+        return smallest;
+    }
+
+    private static boolean matchesAll(String text, String[] terms) {
+        for (String term : terms) {
+            if (!matches(text, term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks one term against an entry's text: anywhere in a field for long
+     * terms, at the start of a word for terms of one or two characters.
+     */
+    private static boolean matches(String text, String term) {
+        if (term.length() >= 3) {
+            return text.contains(term);
+        }
+        for (int i = text.indexOf(term); i >= 0; i = text.indexOf(term, i + 1)) {
+            if (isWordStart(text, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWordStart(String text, int i) {
+        return Character.isLetterOrDigit(text.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)));
+    }
+
+    /**
+     * Splits a query into normalized terms, reducing phone-like terms to their digits.
+     */
+    private static String[] terms(String query) {
+        if (query == null) {
+            return new String[0];
+        }
+        List<String> terms = new ArrayList<>();
+        for (String word : query.trim().split("\\s+")) {
+            String term = isPhoneLike(word) ? digitsOf(word) : normalize(word);
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms.toArray(new String[0]);
+    }
+
+    private static boolean isPhoneLike(String word) {
+        boolean digit = false;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digit = true;
+            } else if ("+-().".indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return digit;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String digitsOf(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    /**
+     * Packs three Latin-1 characters exactly; other characters are hashed.
+     */
+    private static int trigramKey(String text, int i) {
+        char a = text.charAt(i);
+        char b = text.charAt(i + 1);
+        char c = text.charAt(i + 2);
+        if ((a | b | c) < 0x100) {
+            return a << 16 | b << 8 | c;
+        }
+        return HASHED_TAG | ((a * 31 + b) * 31 + c) & 0x00FFFFFF;
+    }
+
+    private static int key1(char a) {
+        return a < 0x100 ? a : HASHED_TAG | a & 0x00FFFFFF;
+    }
+
+    private static int key2(char a, char b) {
+        return (a | b) < 0x100 ? a << 8 | b : HASHED_TAG | (a * 31 + b) & 0x00FFFFFF;
+    }
+
+    /**
+     * A customer's normalized fields, joined by {@link #FIELD_SEPARATOR}.
+     */
+    private static final class Entry {
+        private final int customerId;
+        private final String text;
+        private boolean alive = true;
+
+        Entry(int customerId, String text) {
+            this.customerId = customerId;
+            this.text = text;
+        }
+    }
+
+    /**
+     * The slots of the entries containing one posting key, in ascending order.
+     */
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size > 0 && slots[size - 1] == slot) {
+                return; // The key occurs more than once in the same customer
+            }
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size << 1);
+            }
+            slots[size++] = slot;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package main.java.com.carrental.model;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Data access object for the daily_rental_summary table, which holds one row
+ * per car and day: the rentals started that day, their revenue, and the time
+ * the car was booked that day. Reports read these rows instead of the
+ * rentals table, so their cost grows with the number of days and cars rather
+ * than with the number of rentals.
+ *
+ * <p>{@link Rental} keeps the table current by applying a {@link Delta} in
+ * the same transaction as each insert, update or delete. A rental is counted
+ * on the day it starts; its booked time is split over the days it spans and
+ * is only counted once it has a return time. {@link #rebuild} recomputes the
+ * table from the rentals, for backfilling or after a bulk change made outside
+ * the application.</p>
+ */
+public final class DailySummaryDao {
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS daily_rental_summary ("
+        + "summary_date DATE NOT NULL, "
+        + "car_id INT NOT NULL, "
+        + "rental_count INT NOT NULL DEFAULT 0, "
+        + "booked_seconds BIGINT NOT NULL DEFAULT 0, "
+        + "revenue DECIMAL(12, 2) NOT NULL DEFAULT 0, "
+        + "PRIMARY KEY (summary_date, car_id))";
+    private static final String UPSERT = "INSERT INTO daily_rental_summary "
+        + "(summary_date, car_id, rental_count, booked_seconds, revenue) VALUES (?, ?, ?, ?, ?) AS new "
+        + "ON DUPLICATE KEY UPDATE rental_count = rental_count + new.rental_count, "
+        + "booked_seconds = booked_seconds + new.booked_seconds, revenue = revenue + new.revenue";
+    /** H2 has no row alias, so it keeps the VALUES() form MySQL deprecated in 8.0.20. */
+    private static final String UPSERT_H2 = "INSERT INTO daily_rental_summary "
+        + "(summary_date, car_id, rental_count, booked_seconds, revenue) VALUES (?, ?, ?, ?, ?) "
+        + "ON DUPLICATE KEY UPDATE rental_count = rental_count + VALUES(rental_count), "
+        + "booked_seconds = booked_seconds + VALUES(booked_seconds), revenue = revenue + VALUES(revenue)";
+    private static final String DELETE_EMPTY = "DELETE FROM daily_rental_summary "
+        + "WHERE summary_date = ? AND car_id = ? AND rental_count = 0 AND booked_seconds = 0";
+    private static final String DELETE_ALL = "DELETE FROM daily_rental_summary";
+    private static final String DAILY_REVENUE =
+        "SELECT summary_date, SUM(rental_count) AS rentals, SUM(revenue) AS revenue FROM daily_rental_summary "
+        + "WHERE summary_date >= ? AND summary_date <= ? AND rental_count > 0 "
+        + "GROUP BY summary_date ORDER BY summary_date";
+    private static final String BOOKED_SECONDS =
+        "SELECT car_id, SUM(booked_seconds) AS booked FROM daily_rental_summary "
+        + "WHERE summary_date >= ? AND summary_date <= ? GROUP BY car_id";
+
+    private DailySummaryDao() {
+    }
+
+    /**
+     * Changes to the summary rows caused by adding or removing rentals,
+     * accumulated per car and day.
+     */
+    public static final class Delta {
+        // Sorted, so concurrent transactions lock the rows they share in the same order
+        private final Map<Key, long[]> rows = new TreeMap<>(
+            Comparator.comparingLong(Key::epochDay).thenComparingInt(Key::carId));
+
+        /**
+         * Adds a rental's contribution to the delta.
+         *
+         * @param rental The rental
+         * @param sign 1 for a rental being added, -1 for one being removed
+         * @return This delta
+         */
+        public Delta add(Rental rental, int sign) {
+            LocalDateTime start = rental.getRentalDatetime();
+            long cents = BigDecimal.valueOf(rental.getTotalCost()).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+            long[] first = row(start.toLocalDate(), rental.getCarId());
+            first[0] += sign;
+            first[2] += sign * cents;
+
+            LocalDateTime end = rental.getReturnDatetime();
+            if (end != null && end.isAfter(start)) {
+                for (LocalDate day = start.toLocalDate(); day.atStartOfDay().isBefore(end); day = day.plusDays(1)) {
+                    LocalDateTime dayStart = day.atStartOfDay();
+                    LocalDateTime dayEnd = dayStart.plusDays(1);
+                    LocalDateTime from = start.isAfter(dayStart) ? start : dayStart;
+                    LocalDateTime to = end.isBefore(dayEnd) ? end : dayEnd;
+                    row(day, rental.getCarId())[1] += sign * ChronoUnit.SECONDS.between(from, to);
+                }
+            }
+            return this;
+        }
+
+        /** @return The number of summary rows the delta touches */
+        public int size() {
+            return rows.size();
+        }
+
+        private long[] row(LocalDate day, int carId) {
+            return rows.computeIfAbsent(new Key(day.toEpochDay(), carId), key -> new long[3]);
+        }
+
+        private record Key(long epochDay, int carId) {
+        }
+    }
+
+    /**
+     * Creates the summary table if the database predates it.
+     *
+     * @param conn The connection to use
+     * @return true if the table was missing and has been created
+     * @throws SQLException If a database access error occurs
+     */
+    public static boolean createTableIfMissing(Connection conn) throws SQLException {
+        if (tableExists(conn)) {
+            return false;
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(CREATE_TABLE);
+        }
+        return true;
+    }
+
+    /**
+     * Applies a delta to the summary rows. The caller owns the transaction,
+     * which should also hold the rental change the delta describes.
+     *
+     * @param conn The connection to use
+     * @param delta The changes to apply
+     * @throws SQLException If a database access error occurs
+     */
+    public static void apply(Connection conn, Delta delta) throws SQLException {
+        if (delta.rows.isEmpty()) {
+            return;
+        }
+        List<Delta.Key> shrunk = new ArrayList<>();
+        // Asked of the connection, not the configuration: migrations call this while the configuration is being set
+        boolean h2 = "H2".equals(conn.getMetaData().getDatabaseProductName());
+        try (PreparedStatement stmt = conn.prepareStatement(h2 ? UPSERT_H2 : UPSERT)) {
+            for (Map.Entry<Delta.Key, long[]> entry : delta.rows.entrySet()) {
+                long[] change = entry.getValue();
+                if (change[0] == 0 && change[1] == 0 && change[2] == 0) {
+                    continue; // e.g. an update that did not move the rental
+                }
+                stmt.setDate(1, Date.valueOf(LocalDate.ofEpochDay(entry.getKey().epochDay())));
+                stmt.setInt(2, entry.getKey().carId());
+                stmt.setLong(3, change[0]);
+                stmt.setLong(4, change[1]);
+                stmt.setBigDecimal(5, BigDecimal.valueOf(change[2], 2));
+                stmt.addBatch();
+                if (change[0] < 0 || change[1] < 0) {
+                    shrunk.add(entry.getKey());
+                }
+            }
+            stmt.executeBatch();
+        }
+
+        // Drop rows no rental contributes to any more
+        if (!shrunk.isEmpty()) {
+            try (PreparedStatement stmt = conn.prepareStatement(DELETE_EMPTY)) {
+                for (Delta.Key key : shrunk) {
+                    stmt.setDate(1, Date.valueOf(LocalDate.ofEpochDay(key.epochDay())));
+                    stmt.setInt(2, key.carId());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Recomputes the whole table from the rentals table. The rentals are
+     * streamed, so memory use is bounded by the number of summary rows.
+     * The caller owns the transaction.
+     *
+     * @param conn The connection to use
+     * @param fetchSize The fetch size, see {@link DatabaseConfig#getStreamingFetchSize()}
+     * @return The number of summary rows written
+     * @throws SQLException If a database access error occurs
+     */
+    public static int rebuild(Connection conn, int fetchSize) throws SQLException {
+        Delta delta = new Delta();
+        try {
+            RentalDao.scan(conn, null, null, fetchSize, rental -> delta.add(rental, 1));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex); // The handler does no I/O
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(DELETE_ALL);
+        }
+        apply(conn, delta);
+        return delta.size();
+    }
+
+    /**
+     * Sums rentals and revenue per day, by start day.
+     *
+     * @param conn The connection to use
+     * @param from The first day
+     * @param to The last day, inclusive
+     * @return One row per day with rentals, in date order
+     * @throws SQLException If a database access error occurs
+     */
+    public static List<Report.RevenueRow> dailyRevenue(Connection conn, LocalDate from, LocalDate to)
+            throws SQLException {
+        List<Report.RevenueRow> rows = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(DAILY_REVENUE)) {
+            stmt.setDate(1, Date.valueOf(from));
+            stmt.setDate(2, Date.valueOf(to));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    BigDecimal revenue = rs.getBigDecimal("revenue");
+                    rows.add(new Report.RevenueRow(rs.getDate("summary_date").toLocalDate(), rs.getLong("rentals"),
+                        (revenue != null ? revenue : BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP)));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Sums the booked time of returned rentals per car.
+     *
+     * @param conn The connection to use
+     * @param from The first day
+     * @param to The last day, inclusive
+     * @return Booked seconds per car ID; cars without bookings are absent
+     * @throws SQLException If a database access error occurs
+     */
+    public static IntObjectMap<long[]> bookedSeconds(Connection conn, LocalDate from, LocalDate to)
+            throws SQLException {
+        IntObjectMap<long[]> booked = new IntObjectMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(BOOKED_SECONDS)) {
+            stmt.setDate(1, Date.valueOf(from));
+            stmt.setDate(2, Date.valueOf(to));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    booked.put(rs.getInt("car_id"), new long[] {rs.getLong("booked")});
+                }
+            }
+        }
+        return booked;
+    }
+
+    private static boolean tableExists(Connection conn) throws SQLException {
+        for (String name : new String[] {"daily_rental_summary", "DAILY_RENTAL_SUMMARY"}) {
+            try (ResultSet rs = conn.getMetaData().getTables(conn.getCatalog(), conn.getSchema(), name,
+                    new String[] {"TABLE"})) {
+                if (rs.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
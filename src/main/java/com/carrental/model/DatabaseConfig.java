@@ -0,0 +1,401 @@
+package main.java.com.carrental.model;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Holds the settings used by {@link DatabaseConnection} to open and pool
+ * connections. Two modes are supported:
+ *
+ * <ul>
+ *   <li><b>mysql</b> (default): the MySQL server described by the constants below.</li>
+ *   <li><b>embedded</b>: an in-process JDBC database (H2 in MySQL compatibility
+ *       mode by default) created from {@code db/car_rental_db.sql} on startup.
+ *       Useful for profiling and load-testing the data layer without an external
+ *       server; the H2 driver JAR must be on the classpath.</li>
+ * </ul>
+ *
+ * <p>The mode, connection settings and JDBC driver tuning are read at startup
+ * by {@link #load()} from {@code db/database.properties} (or the file named by
+ * {@code carrental.db.config}), with system properties of the same names taking
+ * precedence: {@code carrental.db.mode}, {@code carrental.db.url},
+ * {@code carrental.db.user}, {@code carrental.db.password},
+ * {@code carrental.db.script}, {@code carrental.db.poolMaxSize}, {@code carrental.db.statementCacheSize}, {@code carrental.db.batchSize},
+ * {@code carrental.db.fetchSize}, {@code carrental.db.passwordHashIterations},
+ * {@code carrental.db.sessionIdleMinutes}, {@code carrental.db.userCacheTtlSeconds},
+ * {@code carrental.db.profile} and any number of
+ * {@code carrental.db.jdbc.<driverProperty>} entries, which are passed to the
+ * JDBC driver as-is.</p>
+ *
+ * <p>A profile presets MySQL Connector/J properties for a workload, so they
+ * can be switched without recompiling; individual {@code jdbc.*} entries
+ * override the profile. Profiles are ignored for non-MySQL URLs.</p>
+ * <ul>
+ *   <li><b>latency</b>: interactive use. Client- and server-side prepared
+ *       statement caching, TCP keep-alive, short connect and socket timeouts.</li>
+ *   <li><b>bulk</b>: imports, exports and reports. Batched inserts rewritten
+ *       into multi-row statements, cursor-based fetching in chunks of 1000 rows,
+ *       and a long socket timeout.</li>
+ * </ul>
+ */
+public class DatabaseConfig {
+    /** Where the connection settings point. */
+    public enum Mode { MYSQL, EMBEDDED }
+
+    // MySQL connection configuration constants
+    private static final String DB_CONNECTION = "mysql";  // Database type
+    private static final String DB_HOST = "localhost";    // Database server host
+    private static final int DB_PORT = 3306;              // Database server port
+    private static final String DB_DATABASE = "car_rental_db";  // Database name
+
+    // MySQL credentials
+    private static final String DB_USER = "root";         // Database username
+    private static final String DB_PASSWORD = "";         // Database password (empty in this case)
+
+    // JDBC connection URL constructed from configuration constants
+    private static final String DB_URL = "jdbc:" + DB_CONNECTION + "://" +
+                                        DB_HOST + ":" + DB_PORT + "/" + DB_DATABASE;
+
+    // Embedded database defaults
+    private static final String EMBEDDED_URL =
+        "jdbc:h2:mem:" + DB_DATABASE + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1";
+    private static final String EMBEDDED_USER = "sa";
+    private static final String EMBEDDED_PASSWORD = "";
+    private static final String SCHEMA_SCRIPT = "db/car_rental_db.sql";
+
+    // Externalized settings
+    private static final String CONFIG_FILE = "db/database.properties";
+    private static final String PREFIX = "carrental.db.";
+    private static final String JDBC_PREFIX = PREFIX + "jdbc.";
+
+    // Connection pool defaults
+    private static final int POOL_MAX_SIZE = 8;                          // Maximum physical connections
+    private static final int STATEMENT_CACHE_SIZE = 32;                  // Prepared statements kept per connection
+    private static final int BATCH_SIZE = 500;                           // Rows per JDBC batch in bulk inserts
+    private static final int FETCH_SIZE = 1000;                          // Rows per round trip in streamed reads
+    private static final long POOL_BORROW_TIMEOUT_MS = 10_000;           // Wait for a free connection
+    private static final long POOL_VALIDATION_INTERVAL_MS = 5_000;       // Validate idle connections older than this
+    private static final long POOL_MAX_IDLE_MS = 10 * 60 * 1000;         // Retire connections idle longer than this
+    private static final long POOL_MAX_LIFETIME_MS = 30 * 60 * 1000;     // Retire connections older than this
+    private static final int SESSION_IDLE_MINUTES = 30;                  // Expire login sessions idle longer than this
+    private static final int USER_CACHE_TTL_SECONDS = 300;               // Re-read cached user records older than this
+
+    private final Mode mode;
+    private final String url;
+    private final String user;
+    private final String password;
+    private final Path bootstrapScript;
+    private final Properties driverProperties = new Properties();
+    private int poolMaxSize = POOL_MAX_SIZE;
+    private int statementCacheSize = STATEMENT_CACHE_SIZE;
+    private int batchSize = BATCH_SIZE;
+    private int fetchSize = FETCH_SIZE;
+    private int passwordHashIterations = PasswordHasher.DEFAULT_ITERATIONS;
+    private int sessionIdleMinutes = SESSION_IDLE_MINUTES;
+    private int userCacheTtlSeconds = USER_CACHE_TTL_SECONDS;
+    private long poolBorrowTimeoutMillis = POOL_BORROW_TIMEOUT_MS;
+    private long poolValidationIntervalMillis = POOL_VALIDATION_INTERVAL_MS;
+    private long poolMaxIdleMillis = POOL_MAX_IDLE_MS;
+    private long poolMaxLifetimeMillis = POOL_MAX_LIFETIME_MS;
+
+    /**
+     * Constructs a new DatabaseConfig.
+     *
+     * @param mode The connection mode
+     * @param url The JDBC connection URL
+     * @param user The database username
+     * @param password The database password
+     * @param bootstrapScript SQL script run to create the schema on an empty database (nullable)
+     */
+    public DatabaseConfig(Mode mode, String url, String user, String password, Path bootstrapScript) {
+        this.mode = mode;
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.bootstrapScript = bootstrapScript;
+    }
+
+    /**
+     * @return The configuration for the MySQL server described by the built-in constants
+     */
+    public static DatabaseConfig mysql() {
+        return new DatabaseConfig(Mode.MYSQL, DB_URL, DB_USER, DB_PASSWORD, null);
+    }
+
+    /**
+     * @return The configuration for an in-memory H2 database created from db/car_rental_db.sql
+     */
+    public static DatabaseConfig embedded() {
+        return new DatabaseConfig(Mode.EMBEDDED, EMBEDDED_URL, EMBEDDED_USER, EMBEDDED_PASSWORD,
+            Paths.get(SCHEMA_SCRIPT));
+    }
+
+    /**
+     * Loads the configuration from the settings file and system properties.
+     * The file is optional unless named explicitly with {@code carrental.db.config}.
+     *
+     * @return The configuration to use at startup
+     * @throws IOException If the settings file cannot be read
+     * @throws IllegalArgumentException If a mode, profile or number setting is invalid
+     */
+    public static DatabaseConfig load() throws IOException {
+        Properties settings = new Properties();
+        String configFile = System.getProperty(PREFIX + "config");
+        Path path = Paths.get(configFile != null ? configFile : CONFIG_FILE);
+        if (configFile != null || Files.exists(path)) {
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                settings.load(reader);
+            }
+        }
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(PREFIX)) {
+                settings.setProperty(name, System.getProperty(name));
+            }
+        }
+        return fromProperties(settings);
+    }
+
+    /**
+     * Builds a configuration from {@code carrental.db.*} settings, falling back
+     * to the defaults of the selected mode for anything not set.
+     *
+     * @param settings The settings, as found in {@code db/database.properties}
+     * @return The configuration described by the settings
+     * @throws IllegalArgumentException If a mode, profile or number setting is invalid
+     */
+    public static DatabaseConfig fromProperties(Properties settings) {
+        String modeName = settings.getProperty(PREFIX + "mode", "mysql");
+        DatabaseConfig defaults;
+        switch (modeName.trim().toLowerCase(Locale.ROOT)) {
+            case "mysql":
+                defaults = mysql();
+                break;
+            case "embedded":
+                defaults = embedded();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown " + PREFIX + "mode: " + modeName
+                    + " (expected mysql or embedded)");
+        }
+
+        String script = settings.getProperty(PREFIX + "script");
+        DatabaseConfig config = new DatabaseConfig(defaults.mode,
+            settings.getProperty(PREFIX + "url", defaults.url),
+            settings.getProperty(PREFIX + "user", defaults.user),
+            settings.getProperty(PREFIX + "password", defaults.password),
+            script != null ? Paths.get(script) : defaults.bootstrapScript);
+
+        String poolMaxSize = settings.getProperty(PREFIX + "poolMaxSize");
+        if (poolMaxSize != null) {
+            config.setPoolMaxSize(Integer.parseInt(poolMaxSize.trim()));
+        }
+        String cacheSize = settings.getProperty(PREFIX + "statementCacheSize");
+        if (cacheSize != null) {
+            config.setStatementCacheSize(Integer.parseInt(cacheSize.trim()));
+        }
+        String batchSize = settings.getProperty(PREFIX + "batchSize");
+        if (batchSize != null) {
+            config.setBatchSize(Integer.parseInt(batchSize.trim()));
+        }
+        String fetchSize = settings.getProperty(PREFIX + "fetchSize");
+        if (fetchSize != null) {
+            config.setFetchSize(Integer.parseInt(fetchSize.trim()));
+        }
+        String hashIterations = settings.getProperty(PREFIX + "passwordHashIterations");
+        if (hashIterations != null) {
+            config.setPasswordHashIterations(Integer.parseInt(hashIterations.trim()));
+        }
+        String sessionIdle = settings.getProperty(PREFIX + "sessionIdleMinutes");
+        if (sessionIdle != null) {
+            config.setSessionIdleMinutes(Integer.parseInt(sessionIdle.trim()));
+        }
+        String userCacheTtl = settings.getProperty(PREFIX + "userCacheTtlSeconds");
+        if (userCacheTtl != null) {
+            config.setUserCacheTtlSeconds(Integer.parseInt(userCacheTtl.trim()));
+        }
+
+        String profile = settings.getProperty(PREFIX + "profile", "none");
+        if (config.url.startsWith("jdbc:mysql:")) {
+            config.driverProperties.putAll(profileProperties(profile));
+        } else {
+            profileProperties(profile); // Still reject unknown names
+        }
+        for (String name : settings.stringPropertyNames()) {
+            if (name.startsWith(JDBC_PREFIX)) {
+                config.setDriverProperty(name.substring(JDBC_PREFIX.length()), settings.getProperty(name));
+            }
+        }
+        return config;
+    }
+
+    /**
+     * @param profile The profile name: latency, bulk or none
+     * @return The MySQL Connector/J properties preset by the profile
+     */
+    private static Properties profileProperties(String profile) {
+        Properties properties = new Properties();
+        switch (profile.trim().toLowerCase(Locale.ROOT)) {
+            case "none":
+                break;
+            case "latency":
+                properties.setProperty("cachePrepStmts", "true");
+                properties.setProperty("prepStmtCacheSize", "250");
+                properties.setProperty("prepStmtCacheSqlLimit", "2048");
+                properties.setProperty("useServerPrepStmts", "true");
+                properties.setProperty("tcpKeepAlive", "true");
+                properties.setProperty("connectTimeout", "3000");
+                // No socketTimeout: reports, exports and rebuilds run under this profile too
+                break;
+            case "bulk":
+                properties.setProperty("cachePrepStmts", "true");
+                properties.setProperty("useServerPrepStmts", "true");
+                properties.setProperty("rewriteBatchedStatements", "true");
+                properties.setProperty("useCursorFetch", "true");
+                properties.setProperty("defaultFetchSize", "1000");
+                properties.setProperty("tcpKeepAlive", "true");
+                properties.setProperty("connectTimeout", "10000");
+                properties.setProperty("socketTimeout", "600000");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown " + PREFIX + "profile: " + profile
+                    + " (expected latency, bulk or none)");
+        }
+        return properties;
+    }
+
+    // Getters
+    /** @return The connection mode */
+    public Mode getMode() { return mode; }
+
+    /** @return The JDBC connection URL */
+    public String getUrl() { return url; }
+
+    /** @return The database username */
+    public String getUser() { return user; }
+
+    /** @return The database password */
+    public String getPassword() { return password; }
+
+    /** @return The schema script run on an empty database, or null for none */
+    public Path getBootstrapScript() { return bootstrapScript; }
+
+    /** @return A copy of the JDBC driver properties, excluding the credentials */
+    public Properties getDriverProperties() {
+        Properties copy = new Properties();
+        copy.putAll(driverProperties);
+        return copy;
+    }
+
+    /** @return The driver properties together with the user and password, as passed to the driver */
+    public Properties getConnectionProperties() {
+        Properties properties = getDriverProperties();
+        properties.setProperty("user", user);
+        properties.setProperty("password", password);
+        return properties;
+    }
+
+    /** @return The maximum number of pooled physical connections */
+    public int getPoolMaxSize() { return poolMaxSize; }
+
+    /** @return The number of prepared statements cached per pooled connection */
+    public int getStatementCacheSize() { return statementCacheSize; }
+
+    /** @return The default number of rows sent per JDBC batch by bulk inserts */
+    public int getBatchSize() { return batchSize; }
+
+    /** @return The number of rows fetched per round trip by streamed reads such as exports */
+    public int getFetchSize() { return fetchSize; }
+
+    /** @return The PBKDF2 iteration count for newly stored password hashes */
+    public int getPasswordHashIterations() { return passwordHashIterations; }
+
+    /** @return Minutes without activity after which a login session expires */
+    public int getSessionIdleMinutes() { return sessionIdleMinutes; }
+
+    /** @return Seconds a cached user record is trusted before it is read again (0 disables caching) */
+    public int getUserCacheTtlSeconds() { return userCacheTtlSeconds; }
+
+    /**
+     * Returns the fetch size to set on a forward-only, read-only statement so
+     * that the driver streams its result set instead of reading it whole.
+     * MySQL Connector/J only honours a positive fetch size with
+     * {@code useCursorFetch=true} (set by the bulk profile); otherwise it
+     * streams row by row when the fetch size is {@code Integer.MIN_VALUE}.
+     *
+     * @return The fetch size for streamed reads
+     */
+    public int getStreamingFetchSize() {
+        if (url.startsWith("jdbc:mysql:") && !Boolean.parseBoolean(driverProperties.getProperty("useCursorFetch"))) {
+            return Integer.MIN_VALUE;
+        }
+        return fetchSize;
+    }
+
+    /** @return How long a caller may wait for a free pooled connection, in milliseconds */
+    public long getPoolBorrowTimeoutMillis() { return poolBorrowTimeoutMillis; }
+
+    /** @return Idle time after which a pooled connection is validated before reuse, in milliseconds */
+    public long getPoolValidationIntervalMillis() { return poolValidationIntervalMillis; }
+
+    /** @return Idle time after which a pooled connection is retired, in milliseconds */
+    public long getPoolMaxIdleMillis() { return poolMaxIdleMillis; }
+
+    /** @return Age after which a pooled connection is retired, in milliseconds */
+    public long getPoolMaxLifetimeMillis() { return poolMaxLifetimeMillis; }
+
+    // Setters
+    /**
+     * Sets a JDBC driver property such as {@code rewriteBatchedStatements}.
+     *
+     * @param name The driver property name
+     * @param value The value to set
+     */
+    public void setDriverProperty(String name, String value) { driverProperties.setProperty(name, value); }
+
+    /** @param poolMaxSize The maximum number of pooled physical connections to set */
+    public void setPoolMaxSize(int poolMaxSize) { this.poolMaxSize = poolMaxSize; }
+
+    /** @param statementCacheSize The number of prepared statements cached per connection to set (0 disables caching) */
+    public void setStatementCacheSize(int statementCacheSize) { this.statementCacheSize = statementCacheSize; }
+
+    /** @param batchSize The default number of rows per JDBC batch to set */
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    /** @param fetchSize The number of rows per round trip in streamed reads to set */
+    public void setFetchSize(int fetchSize) { this.fetchSize = fetchSize; }
+
+    /** @param passwordHashIterations The PBKDF2 iteration count for new password hashes to set */
+    public void setPasswordHashIterations(int passwordHashIterations) {
+        this.passwordHashIterations = passwordHashIterations;
+    }
+
+    /** @param sessionIdleMinutes The session idle timeout to set, in minutes */
+    public void setSessionIdleMinutes(int sessionIdleMinutes) { this.sessionIdleMinutes = sessionIdleMinutes; }
+
+    /** @param userCacheTtlSeconds The user cache lifetime to set, in seconds (0 disables caching) */
+    public void setUserCacheTtlSeconds(int userCacheTtlSeconds) { this.userCacheTtlSeconds = userCacheTtlSeconds; }
+
+    /** @param poolBorrowTimeoutMillis The borrow timeout to set, in milliseconds */
+    public void setPoolBorrowTimeoutMillis(long poolBorrowTimeoutMillis) {
+        this.poolBorrowTimeoutMillis = poolBorrowTimeoutMillis;
+    }
+
+    /** @param poolValidationIntervalMillis The validation interval to set, in milliseconds */
+    public void setPoolValidationIntervalMillis(long poolValidationIntervalMillis) {
+        this.poolValidationIntervalMillis = poolValidationIntervalMillis;
+    }
+
+    /** @param poolMaxIdleMillis The maximum idle time to set, in milliseconds */
+    public void setPoolMaxIdleMillis(long poolMaxIdleMillis) { this.poolMaxIdleMillis = poolMaxIdleMillis; }
+
+    /** @param poolMaxLifetimeMillis The maximum connection lifetime to set, in milliseconds */
+    public void setPoolMaxLifetimeMillis(long poolMaxLifetimeMillis) {
+        this.poolMaxLifetimeMillis = poolMaxLifetimeMillis;
+    }
+}
@@ -1,40 +1,121 @@
 package main.java.com.carrental.model;
 
+import java.io.IOException;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 /**
  * Provides database connection management for the car rental system.
  * This class handles the creation and configuration of database connections
- * using JDBC for MySQL database.
+ * using JDBC. Connections are served from a bounded {@link ConnectionPool}
+ * so callers do not pay a TCP and MySQL handshake per operation.
+ *
+ * <p>The target database is described by a {@link DatabaseConfig}: the MySQL
+ * server by default, or an embedded in-process database when selected at
+ * startup with {@link #configure}. Without an explicit call, the configuration
+ * is loaded with {@link DatabaseConfig#load()} on first use.</p>
  */
 public class DatabaseConnection {
-    // Database connection configuration constants
-    private static final String DB_CONNECTION = "mysql";  // Database type
-    private static final String DB_HOST = "localhost";    // Database server host
-    private static final int DB_PORT = 3306;              // Database server port
-    private static final String DB_DATABASE = "car_rental_db";  // Database name
-    
-    // Database credentials
-    private static final String DB_USER = "root";         // Database username
-    private static final String DB_PASSWORD = "";         // Database password (empty in this case)
-    
-    // JDBC connection URL constructed from configuration constants
-    private static final String DB_URL = "jdbc:" + DB_CONNECTION + "://" + 
-                                        DB_HOST + ":" + DB_PORT + "/" + DB_DATABASE;
-    
+    private static DatabaseConfig config;
+    private static volatile ConnectionPool pool;
+
+    /**
+     * Switches to a new database configuration. Any existing pool is closed,
+     * the model caches and login sessions are discarded, and for a configuration with a bootstrap
+     * script the schema is created if the database is empty. Then any
+     * {@link SchemaMigrations schema migrations} the database has not seen yet
+     * are applied.
+     *
+     * @param newConfig The configuration to use from now on
+     * @throws SQLException If the bootstrap script or a migration cannot be run
+     */
+    public static synchronized void configure(DatabaseConfig newConfig) throws SQLException {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+            config = null;
+        }
+        ConnectionPool newPool = new ConnectionPool(
+            newConfig.getUrl(), newConfig.getConnectionProperties(), newConfig.getPoolMaxSize(),
+            newConfig.getStatementCacheSize(), newConfig.getPoolBorrowTimeoutMillis(), newConfig.getPoolValidationIntervalMillis(),
+            newConfig.getPoolMaxIdleMillis(), newConfig.getPoolMaxLifetimeMillis());
+        try (Connection conn = newPool.borrow()) {
+            if (newConfig.getBootstrapScript() != null) {
+                SchemaBootstrap.bootstrap(conn, newConfig.getBootstrapScript());
+            }
+            SchemaMigrations.migrate(conn, newConfig);
+        } catch (SQLException ex) {
+            newPool.close();
+            throw ex;
+        }
+
+        // Publish the pool only once the schema exists
+        config = newConfig;
+        pool = newPool;
+        CarCatalog.getInstance().invalidate();
+        RentalAvailabilityIndex.getInstance().invalidate();
+        CustomerHistoryCache.getInstance().invalidateAll();
+        CustomerSearchIndex.getInstance().invalidate();
+        UserCache.getInstance().invalidateAll();
+        SessionManager.getInstance().closeAll();
+    }
+
+    /**
+     * @return The configuration in use, loading it if none was set
+     * @throws SQLException If the configuration has to be loaded and loading or its bootstrap fails
+     */
+    public static synchronized DatabaseConfig getConfig() throws SQLException {
+        if (config == null) {
+            try {
+                configure(DatabaseConfig.load());
+            } catch (IOException ex) {
+                throw new SQLException("Cannot read database settings", ex);
+            }
+        }
+        return config;
+    }
+
     /**
      * Establishes and returns a connection to the database.
-     * 
+     *
      * @return A Connection object representing the database connection
      * @throws SQLException If a database access error occurs or the connection fails
-     * 
-     * @implNote This method uses DriverManager to create a new connection
-     *           using the pre-configured database URL, username, and password.
-     *           The caller is responsible for properly closing the connection.
+     *
+     * @implNote This method borrows a connection from the shared pool, opening
+     *           a new one with the configured database URL, username, and
+     *           password only when no idle connection is available.
+     *           The caller is responsible for properly closing the connection,
+     *           which returns it to the pool.
      */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        return pool().borrow();
+    }
+
+    /**
+     * @return A snapshot of the connection pool's size, wait-time and borrow statistics
+     * @throws SQLException If the pool has to be created and its bootstrap fails
+     */
+    public static ConnectionPool.Stats getPoolStats() throws SQLException {
+        return pool().getStats();
+    }
+
+    /**
+     * Closes all pooled connections. Intended to be called on application exit.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private static ConnectionPool pool() throws SQLException {
+        ConnectionPool current = pool;
+        if (current != null) {
+            return current;
+        }
+        synchronized (DatabaseConnection.class) {
+            getConfig();
+            return pool;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,162 @@
+package main.java.com.carrental.model;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Salted, adaptive password hashing with PBKDF2 (HMAC-SHA256) from the JDK.
+ *
+ * <p>A hash is stored as {@code pbkdf2$<iterations>$<salt>$<hash>}, with salt
+ * and hash in Base64, so the cost travels with each hash and can be raised
+ * later: a hash with fewer iterations than configured still verifies and is
+ * replaced on the next successful login (see {@link User#authenticate}). A
+ * stored value without the {@code pbkdf2$} prefix is a password saved in
+ * plain text by an older version and is compared as such.</p>
+ *
+ * <p>The iteration count is {@link DatabaseConfig#getPasswordHashIterations()}.
+ * Each login costs one hash, so choose it against a login-latency budget with
+ * {@link #calibrate}.</p>
+ */
+public final class PasswordHasher {
+    /** The cost recommended by OWASP for PBKDF2-HMAC-SHA256; a few hundred milliseconds on a current CPU. */
+    public static final int DEFAULT_ITERATIONS = 600_000;
+
+    /** The lowest cost accepted for new hashes. */
+    public static final int MIN_ITERATIONS = 10_000;
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2$";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private PasswordHasher() {
+    }
+
+    /**
+     * Hashes a password with a new random salt.
+     *
+     * @param password The password in plain text
+     * @param iterations The PBKDF2 iteration count
+     * @return The hash in storage format
+     */
+    public static String hash(char[] password, int iterations) {
+        if (iterations < MIN_ITERATIONS) {
+            throw new IllegalArgumentException("At least " + MIN_ITERATIONS + " iterations are required");
+        }
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + base64.encodeToString(salt) + "$"
+            + base64.encodeToString(pbkdf2(password, salt, iterations, HASH_BITS));
+    }
+
+    /**
+     * Checks a password against a stored value in constant time.
+     *
+     * @param password The password in plain text
+     * @param stored The stored hash, or a legacy plain-text password
+     * @return true if the password matches
+     */
+    public static boolean verify(char[] password, String stored) {
+        if (stored == null) {
+            return false;
+        }
+        if (!isHashed(stored)) {
+            ByteBuffer encoded = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+            byte[] given = new byte[encoded.remaining()];
+            encoded.get(given);
+            boolean matches = MessageDigest.isEqual(given, stored.getBytes(StandardCharsets.UTF_8));
+            Arrays.fill(given, (byte) 0);
+            Arrays.fill(encoded.array(), (byte) 0);
+            return matches;
+        }
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            int iterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(pbkdf2(password, salt, iterations, expected.length * 8), expected);
+        } catch (IllegalArgumentException ex) {
+            return false; // Malformed hash; nobody can log in with it
+        }
+    }
+
+    /**
+     * @param stored The stored hash, or a legacy plain-text password
+     * @param iterations The currently configured iteration count
+     * @return true if the value is plain text or was hashed with fewer iterations
+     */
+    public static boolean needsRehash(String stored, int iterations) {
+        if (stored == null || !isHashed(stored)) {
+            return true;
+        }
+        String[] parts = stored.split("\\$");
+        try {
+            return parts.length != 4 || Integer.parseInt(parts[1]) < iterations;
+        } catch (NumberFormatException ex) {
+            return true;
+        }
+    }
+
+    /**
+     * @param stored A stored password value
+     * @return true if it is a hash rather than a legacy plain-text password
+     */
+    public static boolean isHashed(String stored) {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+
+    /**
+     * Measures this machine and returns the largest iteration count whose
+     * hash takes no longer than the budget, rounded down to a multiple of
+     * 10,000. A small probe is hashed for several seconds, until its best time
+     * stops improving, so the result reflects compiled code; the first login
+     * after a start runs slower while the JIT warms up. Run it on hardware
+     * like the production machine.
+     *
+     * @param budgetMillis The time one login may spend hashing, in milliseconds
+     * @return The iteration count, at least {@link #MIN_ITERATIONS}
+     */
+    public static int calibrate(long budgetMillis) {
+        char[] sample = "calibration-sample".toCharArray();
+        byte[] salt = new byte[SALT_BYTES];
+        int probe = 20_000;
+
+        // Probe for at least five seconds, then until five runs in a row are no 5% faster
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        long best = Long.MAX_VALUE;
+        int unchanged = 0;
+        for (int i = 0; i < 1000 && (unchanged < 5 || System.nanoTime() < deadline); i++) {
+            long start = System.nanoTime();
+            pbkdf2(sample, salt, probe, HASH_BITS);
+            long elapsed = System.nanoTime() - start;
+            unchanged = elapsed < best - best / 20 ? 0 : unchanged + 1;
+            best = Math.min(best, elapsed);
+        }
+        long iterations = budgetMillis * 1_000_000L * probe / Math.max(1, best);
+        return (int) Math.max(MIN_ITERATIONS, Math.min(Integer.MAX_VALUE - 10_000, iterations / 10_000 * 10_000));
+    }
+
+    private static byte[] pbkdf2(char[] password, byte[] salt, int iterations, int bits) {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, bits);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ALGORITHM + " is not available", ex); // Required on every Java SE platform
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
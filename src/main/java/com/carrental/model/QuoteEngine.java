@@ -0,0 +1,117 @@
+package main.java.com.carrental.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Rental pricing in exact money. Amounts are whole cents in a {@code long},
+ * matching the {@code DECIMAL(10,2)} rate and cost columns. A rental is
+ * billed for the whole minutes it lasts, per started hour: any partial hour
+ * counts as a full one, while seconds short of a full minute are not billed.
+ *
+ * <p>Besides pricing one quote, the engine prices many (rate, window) pairs
+ * in a single call. Windows are given as epoch seconds, the seconds of the
+ * local date-time on a UTC time line (see {@link #toEpochSeconds}), in
+ * parallel primitive arrays, so a batch touches no {@code LocalDateTime} and
+ * allocates nothing. Single quotes and batches go through the same
+ * arithmetic, so they always agree.</p>
+ *
+ * <p>{@link Rental#calculateTotalCost} delegates here, and
+ * {@link Car#findCheapestAvailableCar} relies on the price of a window being
+ * monotonic in the hourly rate.</p>
+ */
+public final class QuoteEngine {
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int MINUTES_PER_HOUR = 60;
+
+    private QuoteEngine() {
+    }
+
+    /**
+     * Converts a date-time to epoch seconds, dropping any fraction of a second.
+     *
+     * @param dateTime The date-time
+     * @return The seconds since 1970-01-01T00:00 of the local date-time
+     */
+    public static long toEpochSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Converts an amount read from a {@code DECIMAL(10,2)} column to cents.
+     *
+     * @param amount The amount
+     * @return The amount in cents, rounded to the nearest cent
+     */
+    public static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    /**
+     * @param cents An amount in cents
+     * @return The amount as a double, the nearest one to the exact decimal value
+     */
+    public static double toAmount(long cents) {
+        return cents / 100.0;
+    }
+
+    /**
+     * @param startSecond The start of the rental in epoch seconds
+     * @param endSecond The end of the rental in epoch seconds
+     * @return The number of hours billed for the whole minutes between the two,
+     *         rounding any partial hour up; 0 if the end is not after the start
+     */
+    public static long billableHours(long startSecond, long endSecond) {
+        long minutes = endSecond > startSecond ? (endSecond - startSecond) / SECONDS_PER_MINUTE : 0;
+        return (minutes + MINUTES_PER_HOUR - 1) / MINUTES_PER_HOUR;
+    }
+
+    /**
+     * Prices one rental.
+     *
+     * @param rateCents The hourly rate in cents
+     * @param startSecond The start of the rental in epoch seconds
+     * @param endSecond The end of the rental in epoch seconds
+     * @return The total cost in cents; 0 if the end is not after the start
+     * @throws ArithmeticException If the total does not fit in a long
+     */
+    public static long quoteCents(long rateCents, long startSecond, long endSecond) {
+        return Math.multiplyExact(billableHours(startSecond, endSecond), rateCents);
+    }
+
+    /**
+     * Prices a batch of rentals. Entry {@code i} of each array describes one
+     * candidate: the car's hourly rate and the rental window in epoch seconds.
+     * Each entry is priced exactly as {@link #quoteCents(long, long, long)} would.
+     *
+     * @param rateCents The hourly rates in cents
+     * @param startSeconds The window starts in epoch seconds
+     * @param endSeconds The window ends in epoch seconds
+     * @param totalCents Receives the total costs in cents
+     * @param count The number of entries to price, from index 0
+     * @throws ArithmeticException If a total does not fit in a long
+     */
+    public static void quoteCents(long[] rateCents, long[] startSeconds, long[] endSeconds,
+                                  long[] totalCents, int count) {
+        for (int i = 0; i < count; i++) {
+            totalCents[i] = quoteCents(rateCents[i], startSeconds[i], endSeconds[i]);
+        }
+    }
+
+    /**
+     * Finds the cheapest entry of a priced batch.
+     *
+     * @param totalCents The total costs in cents, as filled in by {@link #quoteCents(long[], long[], long[], long[], int)}
+     * @param count The number of entries to consider, from index 0
+     * @return The index of the lowest cost, the first one on a tie; -1 if count is 0
+     */
+    public static int cheapest(long[] totalCents, int count) {
+        int best = count > 0 ? 0 : -1;
+        for (int i = 1; i < count; i++) {
+            if (totalCents[i] < totalCents[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
@@ -2,14 +2,21 @@ package main.java.com.carrental.model;
 
 import java.sql.*;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Represents a rental transaction in the car rental system.
  * This class models rental information including timing, costs,
- * and provides operations for rental management.
+ * and provides operations for rental management. Availability checks
+ * are answered by an in-memory {@link RentalAvailabilityIndex} that the
+ * CRUD operations keep current. The SQL itself lives in {@link RentalDao}.
+ *
+ * <p>Each change is written in one transaction together with its effect on
+ * the {@link DailySummaryDao daily summary}, so reports never see a rental
+ * without its summary or the other way round.</p>
+ *
+ * <p>Customer rental histories are served from a {@link CustomerHistoryCache},
+ * which the CRUD operations clear for every customer whose rentals they change.</p>
  */
 public class Rental {
     private int rentalId;
@@ -79,6 +86,13 @@ public class Rental {
     /** @param totalCost The total cost to set */
     public void setTotalCost(double totalCost) { this.totalCost = totalCost; }
 
+    /**
+     * @return A field-by-field copy of this rental
+     */
+    Rental copy() {
+        return new Rental(rentalId, carId, customerId, rentalDatetime, returnDatetime, totalCost);
+    }
+
     // CRUD operations
     
     /**
@@ -88,29 +102,123 @@ public class Rental {
      * @throws SQLException If a database access error occurs
      */
     public static void addRental(Rental rental) throws SQLException {
-        String sql = "INSERT INTO rentals (car_id, customer_id, rental_datetime, return_datetime, total_cost) " +
-                     "VALUES (?, ?, ?, ?, ?)";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            // Set parameters for the prepared statement
-            stmt.setInt(1, rental.getCarId());
-            stmt.setInt(2, rental.getCustomerId());
-            stmt.setTimestamp(3, Timestamp.valueOf(rental.getRentalDatetime()));
-            stmt.setTimestamp(4, rental.getReturnDatetime() != null ? 
-                Timestamp.valueOf(rental.getReturnDatetime()) : null);
-            stmt.setDouble(5, rental.getTotalCost());
-            
-            stmt.executeUpdate();
-
-            // Retrieve the auto-generated rental ID
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    rental.rentalId = generatedKeys.getInt(1);
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int rentalId = RentalDao.insert(conn, rental);
+                DailySummaryDao.apply(conn, new DailySummaryDao.Delta().add(rental, 1));
+                conn.commit();
+                rental.rentalId = rentalId;
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
+        }
+        RentalAvailabilityIndex.getInstance().put(rental);
+        CustomerHistoryCache.getInstance().invalidate(rental.getCustomerId());
+    }
+
+    /**
+     * Adds a new rental unless its car is flagged unavailable or already
+     * booked for an overlapping period.
+     *
+     * <p>The in-memory index only rejects obvious conflicts early. The
+     * deciding check runs in the insert transaction: the car's row is locked
+     * with {@code SELECT ... FOR UPDATE} and the rentals table is queried for
+     * an overlap, so bookings made by other processes on the same database,
+     * such as a desktop client beside the HTTP API, are seen and two
+     * bookings of one car cannot both succeed. A conflict the index missed
+     * means it is stale, so it is reloaded on its next use; the locked car
+     * row replaces the catalog's copy either way.</p>
+     * 
+     * @param rental The rental object to be added
+     * @return true if the rental was added, false if the car is not available
+     * @throws SQLException If a database access error occurs
+     */
+    public static boolean addRentalIfAvailable(Rental rental) throws SQLException {
+        int carId = rental.getCarId();
+        if (!isCarAvailable(carId, rental.getRentalDatetime(), rental.getReturnDatetime())) {
+            return false;
+        }
+        Car car;
+        boolean overlaps;
+        boolean added;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                car = CarDao.lockById(conn, carId);
+                boolean rentable = car != null && car.isAvailable();
+                overlaps = rentable
+                    && RentalDao.hasOverlap(conn, carId, rental.getRentalDatetime(), rental.getReturnDatetime());
+                added = rentable && !overlaps;
+                if (!added) {
+                    conn.rollback();
+                } else {
+                    int rentalId = RentalDao.insert(conn, rental);
+                    DailySummaryDao.apply(conn, new DailySummaryDao.Delta().add(rental, 1));
+                    conn.commit();
+                    rental.rentalId = rentalId;
                 }
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
+        }
+        if (car != null) {
+            CarCatalog.getInstance().put(car);
+        } else {
+            CarCatalog.getInstance().remove(carId);
+        }
+        if (!added) {
+            if (overlaps) {
+                RentalAvailabilityIndex.getInstance().invalidate();
             }
+            return false;
         }
+        RentalAvailabilityIndex.getInstance().put(rental);
+        CustomerHistoryCache.getInstance().invalidate(rental.getCustomerId());
+        return true;
+    }
+
+    /**
+     * Adds many rentals in a single transaction using JDBC batches.
+     * Availability is not checked; callers importing history are expected
+     * to have validated the rows.
+     * 
+     * @param rentals The rentals to be added; each rental's ID is set to its generated ID
+     * @param batchSize The maximum number of rows sent per round trip
+     * @return The generated rental IDs, in the order of the list
+     * @throws SQLException If a database access error occurs; no rental is added then
+     */
+    public static int[] addRentals(List<Rental> rentals, int batchSize) throws SQLException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        int[] ids;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                ids = RentalDao.insertBatch(conn, rentals, batchSize);
+                DailySummaryDao.Delta delta = new DailySummaryDao.Delta();
+                for (Rental rental : rentals) {
+                    delta.add(rental, 1);
+                }
+                DailySummaryDao.apply(conn, delta);
+                conn.commit();
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
+        }
+
+        RentalAvailabilityIndex index = RentalAvailabilityIndex.getInstance();
+        for (int i = 0; i < ids.length; i++) {
+            Rental rental = rentals.get(i);
+            rental.rentalId = ids[i];
+            index.put(rental);
+        }
+        CustomerHistoryCache.getInstance().invalidateAll();
+        return ids;
     }
 
     /**
@@ -120,27 +228,80 @@ public class Rental {
      * @throws SQLException If a database access error occurs
      */
     public static List<Rental> getAllRentals() throws SQLException {
-        List<Rental> rentals = new ArrayList<>();
-        String sql = "SELECT * FROM rentals";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            // Process each row in the result set
-            while (rs.next()) {
-                rentals.add(new Rental(
-                    rs.getInt("rental_id"),
-                    rs.getInt("car_id"),
-                    rs.getInt("customer_id"),
-                    rs.getTimestamp("rental_datetime").toLocalDateTime(),
-                    rs.getTimestamp("return_datetime") != null ? 
-                        rs.getTimestamp("return_datetime").toLocalDateTime() : null,
-                    rs.getDouble("total_cost")
-                ));
-            }
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return RentalDao.findAll(conn);
+        }
+    }
+
+    /**
+     * Retrieves a customer's rentals, newest first. Recently viewed
+     * customers are answered from memory without a database round trip.
+     * 
+     * @param customerId The ID of the customer
+     * @return The customer's rentals; empty if the customer has none
+     * @throws SQLException If a database access error occurs
+     */
+    public static List<Rental> getRentalsByCustomer(int customerId) throws SQLException {
+        return CustomerHistoryCache.getInstance().get(customerId);
+    }
+
+    /**
+     * Retrieves the IDs of all rentals in ascending order.
+     * Reads only the primary key index, so it stays cheap for large tables.
+     * 
+     * @return The sorted rental IDs
+     * @throws SQLException If a database access error occurs
+     */
+    public static int[] getRentalIds() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return RentalDao.findIds(conn);
         }
-        return rentals;
+    }
+
+    /**
+     * Retrieves a rental by ID.
+     * 
+     * @param rentalId The ID of the rental
+     * @return The rental if found, null otherwise
+     * @throws SQLException If a database access error occurs
+     */
+    public static Rental getRentalById(int rentalId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return RentalDao.findById(conn, rentalId);
+        }
+    }
+
+    /**
+     * Retrieves one page of rentals using keyset pagination on rental_id.
+     * 
+     * @param afterRentalId Only rentals with a greater ID are returned (0 for the first page)
+     * @param limit The maximum number of rentals to return
+     * @return Up to {@code limit} rentals in ascending ID order
+     * @throws SQLException If a database access error occurs
+     */
+    public static List<Rental> getRentalsAfter(int afterRentalId, int limit) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return RentalDao.findAfter(conn, afterRentalId, limit);
+        }
+    }
+
+    /**
+     * Maps the current row of a rentals result set to a Rental.
+     * 
+     * @param rs A result set positioned on a row of the rentals table
+     * @return The rental in that row
+     * @throws SQLException If a database access error occurs
+     */
+    static Rental fromResultSet(ResultSet rs) throws SQLException {
+        Timestamp returnTimestamp = rs.getTimestamp("return_datetime");
+        return new Rental(
+            rs.getInt("rental_id"),
+            rs.getInt("car_id"),
+            rs.getInt("customer_id"),
+            rs.getTimestamp("rental_datetime").toLocalDateTime(),
+            returnTimestamp != null ? returnTimestamp.toLocalDateTime() : null,
+            rs.getDouble("total_cost")
+        );
     }
 
     /**
@@ -150,22 +311,29 @@ public class Rental {
      * @throws SQLException If a database access error occurs
      */
     public static void updateRental(Rental rental) throws SQLException {
-        String sql = "UPDATE rentals SET car_id = ?, customer_id = ?, rental_datetime = ?, " +
-                     "return_datetime = ?, total_cost = ? WHERE rental_id = ?";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            // Set parameters for the prepared statement
-            stmt.setInt(1, rental.getCarId());
-            stmt.setInt(2, rental.getCustomerId());
-            stmt.setTimestamp(3, Timestamp.valueOf(rental.getRentalDatetime()));
-            stmt.setTimestamp(4, rental.getReturnDatetime() != null ? 
-                Timestamp.valueOf(rental.getReturnDatetime()) : null);
-            stmt.setDouble(5, rental.getTotalCost());
-            stmt.setInt(6, rental.getRentalId());
-            
-            stmt.executeUpdate();
+        Rental previous;
+        boolean updated;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                previous = RentalDao.findById(conn, rental.getRentalId());
+                updated = previous != null && RentalDao.update(conn, rental);
+                if (updated) {
+                    DailySummaryDao.apply(conn, new DailySummaryDao.Delta().add(previous, -1).add(rental, 1));
+                }
+                conn.commit();
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
+        }
+        if (updated) {
+            RentalAvailabilityIndex.getInstance().put(rental);
+        }
+        CustomerHistoryCache histories = CustomerHistoryCache.getInstance();
+        histories.invalidate(rental.getCustomerId());
+        if (previous != null) {
+            histories.invalidate(previous.getCustomerId()); // The rental may have moved to another customer
         }
     }
 
@@ -176,50 +344,62 @@ public class Rental {
      * @throws SQLException If a database access error occurs
      */
     public static void deleteRental(int rentalId) throws SQLException {
-        String sql = "DELETE FROM rentals WHERE rental_id = ?";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, rentalId);
-            stmt.executeUpdate();
+        Rental previous;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                previous = RentalDao.findById(conn, rentalId);
+                if (previous != null && RentalDao.delete(conn, rentalId)) {
+                    DailySummaryDao.apply(conn, new DailySummaryDao.Delta().add(previous, -1));
+                }
+                conn.commit();
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
+        }
+        RentalAvailabilityIndex.getInstance().remove(rentalId);
+        if (previous != null) {
+            CustomerHistoryCache.getInstance().invalidate(previous.getCustomerId());
         }
     }
 
     /**
      * Checks if a car is available for rental during a specified time period.
+     * Existing rentals without a return datetime block the car from their start
+     * onwards, and a null rentalEnd checks an open-ended period.
      * 
      * @param carId The ID of the car to check
      * @param rentalStart The proposed start time of the rental
-     * @param rentalEnd The proposed end time of the rental
+     * @param rentalEnd The proposed end time of the rental (nullable)
      * @return true if the car is available, false otherwise
      * @throws SQLException If a database access error occurs
      */
     public static boolean isCarAvailable(int carId, LocalDateTime rentalStart, LocalDateTime rentalEnd) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM rentals WHERE car_id = ? AND " +
-                    "((rental_datetime < ? AND return_datetime > ?) OR " +
-                    "(rental_datetime < ? AND return_datetime IS NULL)) " +
-                    "AND return_datetime IS NOT NULL";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, carId);
-            stmt.setTimestamp(2, Timestamp.valueOf(rentalEnd));
-            stmt.setTimestamp(3, Timestamp.valueOf(rentalStart));
-            stmt.setTimestamp(4, Timestamp.valueOf(rentalEnd));
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1) == 0;
-                }
-            }
-        }
-        return false;
+        return isCarAvailable(carId, rentalStart, rentalEnd, 0);
+    }
+
+    /**
+     * Checks if a car is available for rental during a specified time period,
+     * ignoring one existing rental. Used when editing a rental so that it does
+     * not conflict with its own booking.
+     * 
+     * @param carId The ID of the car to check
+     * @param rentalStart The proposed start time of the rental
+     * @param rentalEnd The proposed end time of the rental (nullable)
+     * @param excludeRentalId The ID of the rental to ignore
+     * @return true if the car is available, false otherwise
+     * @throws SQLException If a database access error occurs
+     */
+    public static boolean isCarAvailable(int carId, LocalDateTime rentalStart, LocalDateTime rentalEnd,
+                                         int excludeRentalId) throws SQLException {
+        return RentalAvailabilityIndex.getInstance().isAvailable(carId, rentalStart, rentalEnd, excludeRentalId);
     }
 
     /**
      * Calculates the total cost of a rental based on the hourly rate and time period.
+     * Every started hour is billed in full. The sum is computed in whole cents
+     * by the {@link QuoteEngine}, so it is exact for rates read from the database.
      * 
      * @param hourlyRate The hourly rate of the car
      * @param rentalStart The start time of the rental
@@ -232,14 +412,7 @@ public class Rental {
             return 0.0;
         }
         
-        // Calculate full hours
-        long hours = ChronoUnit.HOURS.between(rentalStart, rentalEnd);
-        
-        // Add 1 hour if there's any partial hour
-        if (ChronoUnit.MINUTES.between(rentalStart, rentalEnd) % 60 != 0) {
-            hours++;
-        }
-        
-        return hourlyRate * hours;
+        return QuoteEngine.toAmount(QuoteEngine.quoteCents(QuoteEngine.toCents(hourlyRate),
+            QuoteEngine.toEpochSeconds(rentalStart), QuoteEngine.toEpochSeconds(rentalEnd)));
     }
 }
\ No newline at end of file
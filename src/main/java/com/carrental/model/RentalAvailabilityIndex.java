@@ -0,0 +1,302 @@
+package main.java.com.carrental.model;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * In-memory availability engine for rentals.
+ * Keeps, per car, the booked time ranges sorted by start time together with
+ * a running maximum of their end times, so a conflict check is a binary
+ * search instead of a COUNT(*) query against the rentals table.
+ *
+ * <p>Times are stored as seconds of the local date-time on a UTC time line,
+ * which preserves ordering of the DATETIME values stored in the database.
+ * A rental without a return date-time is open-ended and blocks the car
+ * from its start onwards.</p>
+ *
+ * <p>The index is loaded from the database on first use and kept current by
+ * the CRUD operations in {@link Rental}.</p>
+ */
+class RentalAvailabilityIndex {
+    /** Marks the end of an open-ended range. */
+    static final long OPEN_END = Long.MAX_VALUE;
+
+    private static final RentalAvailabilityIndex INSTANCE = new RentalAvailabilityIndex();
+
+    private final IntObjectMap<CarBookings> bookingsByCar = new IntObjectMap<>(256);
+    private final IntObjectMap<CarBookings> bookingsByRental = new IntObjectMap<>(1024);
+    private boolean loaded;
+
+    /**
+     * Creates an empty, unloaded index. Production code uses {@link #getInstance()}.
+     */
+    RentalAvailabilityIndex() {
+    }
+
+    /**
+     * @return The shared index instance
+     */
+    static RentalAvailabilityIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Checks whether a car has no booking overlapping the given period.
+     *
+     * @param carId The ID of the car
+     * @param start The start of the period
+     * @param end The end of the period, or null for an open-ended period
+     * @param excludeRentalId A rental to ignore (the one being edited), or 0 for none
+     * @return true if the car is free for the whole period
+     * @throws SQLException If the index has to be loaded and the load fails
+     */
+    synchronized boolean isAvailable(int carId, LocalDateTime start, LocalDateTime end,
+                                     int excludeRentalId) throws SQLException {
+        ensureLoaded();
+        CarBookings bookings = bookingsByCar.get(carId);
+        return bookings == null || !bookings.overlaps(toSeconds(start), toEndSeconds(end), excludeRentalId);
+    }
+
+    /**
+     * Removes from the list every car with a booking overlapping the given period.
+     * All cars are checked under a single lock acquisition.
+     *
+     * @param cars The candidate cars; modified in place
+     * @param start The start of the period
+     * @param end The end of the period, or null for an open-ended period
+     * @throws SQLException If the index has to be loaded and the load fails
+     */
+    synchronized void retainAvailable(List<Car> cars, LocalDateTime start, LocalDateTime end) throws SQLException {
+        ensureLoaded();
+        long startSeconds = toSeconds(start);
+        long endSeconds = toEndSeconds(end);
+        cars.removeIf(car -> {
+            CarBookings bookings = bookingsByCar.get(car.getCarId());
+            return bookings != null && bookings.overlaps(startSeconds, endSeconds, 0);
+        });
+    }
+
+    /**
+     * Finds the first car in the given order with no booking overlapping the
+     * given period. All cars are checked under a single lock acquisition, and
+     * the walk stops at the first free one.
+     *
+     * @param carIds The candidate car IDs, in order of preference
+     * @param start The start of the period
+     * @param end The end of the period, or null for an open-ended period
+     * @return The ID of the first free car, or 0 if none is free
+     * @throws SQLException If the index has to be loaded and the load fails
+     */
+    synchronized int findFirstAvailable(int[] carIds, LocalDateTime start, LocalDateTime end) throws SQLException {
+        ensureLoaded();
+        long startSeconds = toSeconds(start);
+        long endSeconds = toEndSeconds(end);
+        for (int carId : carIds) {
+            CarBookings bookings = bookingsByCar.get(carId);
+            if (bookings == null || !bookings.overlaps(startSeconds, endSeconds, 0)) {
+                return carId;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Records an inserted or updated rental, replacing any previous range it had.
+     * Ignored until the index is loaded, since the first load reads it from the database.
+     *
+     * @param rental The rental as written to the database
+     */
+    synchronized void put(Rental rental) {
+        if (!loaded) {
+            return;
+        }
+        remove(rental.getRentalId());
+        add(rental.getRentalId(), rental.getCarId(),
+            toSeconds(rental.getRentalDatetime()), toEndSeconds(rental.getReturnDatetime()));
+    }
+
+    /**
+     * Removes a deleted rental's range.
+     *
+     * @param rentalId The ID of the deleted rental
+     */
+    synchronized void remove(int rentalId) {
+        CarBookings bookings = bookingsByRental.remove(rentalId);
+        if (bookings != null) {
+            bookings.remove(rentalId);
+        }
+    }
+
+    /**
+     * Replaces the index contents with the given rentals and marks the index loaded.
+     *
+     * @param rentals All rentals to index
+     */
+    synchronized void load(List<Rental> rentals) {
+        bookingsByCar.clear();
+        bookingsByRental.clear();
+        for (Rental rental : rentals) {
+            add(rental.getRentalId(), rental.getCarId(),
+                toSeconds(rental.getRentalDatetime()), toEndSeconds(rental.getReturnDatetime()));
+        }
+        loaded = true;
+    }
+
+    /**
+     * Discards the cached ranges so the next check reloads from the database.
+     */
+    synchronized void invalidate() {
+        bookingsByCar.clear();
+        bookingsByRental.clear();
+        loaded = false;
+    }
+
+    private void ensureLoaded() throws SQLException {
+        if (loaded) {
+            return;
+        }
+        String sql = "SELECT rental_id, car_id, rental_datetime, return_datetime FROM rentals";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                Timestamp returnTimestamp = rs.getTimestamp(4);
+                add(rs.getInt(1), rs.getInt(2),
+                    toSeconds(rs.getTimestamp(3).toLocalDateTime()),
+                    returnTimestamp != null ? toSeconds(returnTimestamp.toLocalDateTime()) : OPEN_END);
+            }
+        } catch (SQLException ex) {
+            bookingsByCar.clear();
+            bookingsByRental.clear();
+            throw ex;
+        }
+        loaded = true;
+    }
+
+    private void add(int rentalId, int carId, long start, long end) {
+        CarBookings bookings = bookingsByCar.get(carId);
+        if (bookings == null) {
+            bookings = new CarBookings();
+            bookingsByCar.put(carId, bookings);
+        }
+        bookings.add(rentalId, start, end);
+        bookingsByRental.put(rentalId, bookings);
+    }
+
+    /**
+     * Converts a date-time to seconds on the index's time line.
+     */
+    static long toSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Converts an end date-time, treating null as open-ended.
+     */
+    static long toEndSeconds(LocalDateTime dateTime) {
+        return dateTime != null ? toSeconds(dateTime) : OPEN_END;
+    }
+
+    /**
+     * The booked ranges of a single car, kept in parallel arrays sorted by start.
+     * {@code maxEnds[i]} is the latest end among ranges {@code 0..i}, which lets
+     * a single binary search decide whether any earlier-starting range still
+     * reaches into the queried period.
+     */
+    static final class CarBookings {
+        private int[] rentalIds = new int[4];
+        private long[] starts = new long[4];
+        private long[] ends = new long[4];
+        private long[] maxEnds = new long[4];
+        private int size;
+
+        /**
+         * Checks whether any range overlaps the half-open period [start, end).
+         */
+        boolean overlaps(long start, long end, int excludeRentalId) {
+            // Ranges at positions below 'candidates' all start before the period ends
+            int candidates = countStartingBefore(end);
+            if (candidates == 0 || maxEnds[candidates - 1] <= start) {
+                return false;
+            }
+            if (excludeRentalId == 0) {
+                return true;
+            }
+            // Walk back only through the ranges that can still reach the period
+            for (int i = candidates - 1; i >= 0 && maxEnds[i] > start; i--) {
+                if (ends[i] > start && rentalIds[i] != excludeRentalId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void add(int rentalId, long start, long end) {
+            if (size == starts.length) {
+                int capacity = size << 1;
+                rentalIds = Arrays.copyOf(rentalIds, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                maxEnds = Arrays.copyOf(maxEnds, capacity);
+            }
+            int pos = countStartingBefore(start + 1);
+            int tail = size - pos;
+            System.arraycopy(rentalIds, pos, rentalIds, pos + 1, tail);
+            System.arraycopy(starts, pos, starts, pos + 1, tail);
+            System.arraycopy(ends, pos, ends, pos + 1, tail);
+            rentalIds[pos] = rentalId;
+            starts[pos] = start;
+            ends[pos] = end;
+            size++;
+            recomputeMaxEnds(pos);
+        }
+
+        void remove(int rentalId) {
+            for (int pos = 0; pos < size; pos++) {
+                if (rentalIds[pos] == rentalId) {
+                    int tail = size - pos - 1;
+                    System.arraycopy(rentalIds, pos + 1, rentalIds, pos, tail);
+                    System.arraycopy(starts, pos + 1, starts, pos, tail);
+                    System.arraycopy(ends, pos + 1, ends, pos, tail);
+                    size--;
+                    recomputeMaxEnds(pos);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * @return The number of ranges whose start is strictly before the given time
+         */
+        private int countStartingBefore(long time) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < time) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void recomputeMaxEnds(int from) {
+            long max = from > 0 ? maxEnds[from - 1] : Long.MIN_VALUE;
+            for (int i = from; i < size; i++) {
+                max = Math.max(max, ends[i]);
+                maxEnds[i] = max;
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package main.java.com.carrental.model;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * A column-oriented, in-memory copy of the rentals relevant to a date range,
+ * used by {@link ReportService} for ad-hoc slices, such as a single car make,
+ * that have no matching SQL query. The snapshot is streamed once and every
+ * figure of the report is then computed from it. Each column is a primitive
+ * array, so a pass touches only the columns it needs and allocates nothing
+ * per rental.
+ *
+ * <p>Times are stored as seconds since 1970-01-01T00:00 of the database's
+ * local time; costs as cents.</p>
+ */
+final class RentalColumns {
+    private static final long SECONDS_PER_DAY = 86_400;
+    private static final long OPEN = Long.MAX_VALUE; // End of a rental without a return time
+
+    private int size;
+    private int[] carIds = new int[1024];
+    private int[] customerIds = new int[1024];
+    private long[] starts = new long[1024];
+    private long[] ends = new long[1024];
+    private long[] costCents = new long[1024];
+
+    private RentalColumns() {
+    }
+
+    /**
+     * Streams the rentals that overlap a range into columns.
+     *
+     * @param conn The connection to use
+     * @param from The start of the range
+     * @param to The end of the range, exclusive
+     * @param fetchSize The fetch size, see {@link DatabaseConfig#getStreamingFetchSize()}
+     * @return The rentals starting before {@code to} and not returned before {@code from}
+     * @throws SQLException If a database access error occurs
+     */
+    static RentalColumns load(Connection conn, LocalDateTime from, LocalDateTime to, int fetchSize)
+            throws SQLException {
+        RentalColumns columns = new RentalColumns();
+        long fromSeconds = toSeconds(from);
+        try {
+            RentalDao.scan(conn, null, to, fetchSize, rental -> {
+                long end = rental.getReturnDatetime() != null ? toSeconds(rental.getReturnDatetime()) : OPEN;
+                if (end > fromSeconds) {
+                    columns.add(rental, end);
+                }
+            });
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex); // The handler does no I/O
+        }
+        return columns;
+    }
+
+    static long toSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /** @return The number of rentals held */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Sums rentals and revenue per day, by start day.
+     *
+     * @param from The first day
+     * @param to The last day, inclusive
+     * @param cars Selects the cars to include
+     * @return One row per day with rentals, in date order
+     */
+    List<Report.RevenueRow> dailyRevenue(LocalDate from, LocalDate to, IntPredicate cars) {
+        long firstDay = from.toEpochDay();
+        int days = (int) (to.toEpochDay() - firstDay + 1);
+        long[] rentals = new long[days];
+        long[] cents = new long[days];
+        for (int i = 0; i < size; i++) {
+            long day = Math.floorDiv(starts[i], SECONDS_PER_DAY) - firstDay;
+            if (day >= 0 && day < days && cars.test(carIds[i])) {
+                rentals[(int) day]++;
+                cents[(int) day] += costCents[i];
+            }
+        }
+
+        List<Report.RevenueRow> rows = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            if (rentals[day] > 0) {
+                rows.add(new Report.RevenueRow(LocalDate.ofEpochDay(firstDay + day), rentals[day],
+                    BigDecimal.valueOf(cents[day], 2)));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Sums the booked time per car, clipped to a range. A rental without a
+     * return time counts until {@code now}.
+     *
+     * @param from The start of the range, in seconds
+     * @param to The end of the range, exclusive, in seconds
+     * @param now The current time, in seconds
+     * @return Booked seconds per car ID; cars without bookings are absent
+     */
+    IntObjectMap<long[]> bookedSeconds(long from, long to, long now) {
+        IntObjectMap<long[]> booked = new IntObjectMap<>();
+        for (int i = 0; i < size; i++) {
+            long start = Math.max(starts[i], from);
+            long end = Math.min(ends[i] == OPEN ? Math.max(now, starts[i]) : ends[i], to);
+            if (end > start) {
+                long[] total = booked.get(carIds[i]);
+                if (total == null) {
+                    booked.put(carIds[i], total = new long[1]);
+                }
+                total[0] += end - start;
+            }
+        }
+        return booked;
+    }
+
+    /**
+     * @param from The start of the range, in seconds
+     * @param to The end of the range, exclusive, in seconds
+     * @param cars Selects the cars to include
+     * @return The average duration in seconds of returned rentals starting within the range, or NaN if there are none
+     */
+    double averageDurationSeconds(long from, long to, IntPredicate cars) {
+        long count = 0;
+        long totalSeconds = 0;
+        for (int i = 0; i < size; i++) {
+            if (starts[i] >= from && starts[i] < to && ends[i] != OPEN && cars.test(carIds[i])) {
+                count++;
+                totalSeconds += ends[i] - starts[i];
+            }
+        }
+        return count > 0 ? (double) totalSeconds / count : Double.NaN;
+    }
+
+    /**
+     * Finds the customers with the highest revenue among rentals starting within a range.
+     *
+     * @param from The start of the range, in seconds
+     * @param to The end of the range, exclusive, in seconds
+     * @param cars Selects the cars to include
+     * @param limit The maximum number of customers to return
+     * @return Triples of {customer ID, rentals, cents}, highest revenue first
+     */
+    long[][] topCustomers(long from, long to, IntPredicate cars, int limit) {
+        IntObjectMap<long[]> totals = new IntObjectMap<>();
+        for (int i = 0; i < size; i++) {
+            if (starts[i] >= from && starts[i] < to && cars.test(carIds[i])) {
+                long[] total = totals.get(customerIds[i]);
+                if (total == null) {
+                    totals.put(customerIds[i], total = new long[] {customerIds[i], 0, 0});
+                }
+                total[1]++;
+                total[2] += costCents[i];
+            }
+        }
+
+        long[][] ranked = new long[totals.size()][];
+        int[] keys = totals.keys();
+        for (int i = 0; i < keys.length; i++) {
+            ranked[i] = totals.get(keys[i]);
+        }
+        Arrays.sort(ranked, (a, b) -> a[2] != b[2] ? Long.compare(b[2], a[2]) : Long.compare(a[0], b[0]));
+        return Arrays.copyOf(ranked, Math.min(limit, ranked.length));
+    }
+
+    private void add(Rental rental, long end) {
+        if (size == starts.length) {
+            int capacity = size << 1;
+            carIds = Arrays.copyOf(carIds, capacity);
+            customerIds = Arrays.copyOf(customerIds, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            costCents = Arrays.copyOf(costCents, capacity);
+        }
+        carIds[size] = rental.getCarId();
+        customerIds[size] = rental.getCustomerId();
+        starts[size] = toSeconds(rental.getRentalDatetime());
+        ends[size] = end;
+        costCents[size] = Math.round(rental.getTotalCost() * 100);
+        size++;
+    }
+}
@@ -0,0 +1,333 @@
+package main.java.com.carrental.model;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Data access object for the rentals table.
+ * Every operation runs on a connection supplied by the caller; statements
+ * prepared on a pooled connection stay in its {@link StatementCache}. The
+ * keyset page query in particular runs once per page scrolled into view and
+ * is only re-bound after its first use on a connection.
+ *
+ * <p>The DAO does not touch the {@link RentalAvailabilityIndex}; {@link Rental}
+ * keeps the index current around these calls.</p>
+ */
+public final class RentalDao {
+    private static final String FIND_BY_ID = "SELECT * FROM rentals WHERE rental_id = ?";
+    private static final String FIND_ALL = "SELECT * FROM rentals";
+    private static final String FIND_IDS = "SELECT rental_id FROM rentals ORDER BY rental_id";
+    private static final String SCAN = "SELECT * FROM rentals";
+    private static final String FIND_BY_CUSTOMER = "SELECT rental_id, car_id, customer_id, rental_datetime, "
+        + "return_datetime, total_cost FROM rentals WHERE customer_id = ? ORDER BY rental_datetime DESC, rental_id DESC";
+    private static final String FIND_AFTER = "SELECT * FROM rentals WHERE rental_id > ? ORDER BY rental_id LIMIT ?";
+    private static final String INSERT =
+        "INSERT INTO rentals (car_id, customer_id, rental_datetime, return_datetime, total_cost) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE rentals SET car_id = ?, customer_id = ?, rental_datetime = ?, "
+        + "return_datetime = ?, total_cost = ? WHERE rental_id = ?";
+    private static final String DELETE = "DELETE FROM rentals WHERE rental_id = ?";
+    // Both served by idx_rentals_car_period
+    private static final String FIND_OVERLAP = "SELECT rental_id FROM rentals WHERE car_id = ? "
+        + "AND rental_datetime < ? AND (return_datetime IS NULL OR return_datetime > ?) LIMIT 1";
+    private static final String FIND_OVERLAP_OPEN_END = "SELECT rental_id FROM rentals WHERE car_id = ? "
+        + "AND (return_datetime IS NULL OR return_datetime > ?) LIMIT 1";
+
+    private RentalDao() {
+    }
+
+    /**
+     * Reads a single rental.
+     *
+     * @param conn The connection to use
+     * @param rentalId The ID of the rental
+     * @return The rental, or null if no such rental exists
+     * @throws SQLException If a database access error occurs
+     */
+    public static Rental findById(Connection conn, int rentalId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(FIND_BY_ID)) {
+            stmt.setInt(1, rentalId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? Rental.fromResultSet(rs) : null;
+            }
+        }
+    }
+
+    /**
+     * Reads every row of the rentals table.
+     *
+     * @param conn The connection to use
+     * @return A list of all rentals
+     * @throws SQLException If a database access error occurs
+     */
+    public static List<Rental> findAll(Connection conn) throws SQLException {
+        List<Rental> rentals = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(FIND_ALL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                rentals.add(Rental.fromResultSet(rs));
+            }
+        }
+        return rentals;
+    }
+
+    /**
+     * Reads a customer's rentals, newest first. The query is answered from
+     * the idx_rentals_customer_history index, which holds every column read,
+     * so it touches only the customer's own index entries.
+     *
+     * @param conn The connection to use
+     * @param customerId The ID of the customer
+     * @return The customer's rentals ordered by start time, newest first
+     * @throws SQLException If a database access error occurs
+     */
+    public static List<Rental> findByCustomer(Connection conn, int customerId) throws SQLException {
+        List<Rental> rentals = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(FIND_BY_CUSTOMER)) {
+            stmt.setInt(1, customerId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rentals.add(Rental.fromResultSet(rs));
+                }
+            }
+        }
+        return rentals;
+    }
+
+    /**
+     * Streams rentals in rental_id order to a handler, optionally limited to
+     * rentals starting within a date range. The statement is forward-only and
+     * read-only and bypasses the statement cache, so with a streaming fetch
+     * size the driver holds only one fetch of rows at a time.
+     *
+     * @param conn The connection to use; it is busy until the scan returns
+     * @param from Only rentals starting at or after this time (nullable)
+     * @param to Only rentals starting before this time (nullable)
+     * @param fetchSize The fetch size, see {@link DatabaseConfig#getStreamingFetchSize()}
+     * @param handler Receives each rental
+     * @return The number of rows read
+     * @throws SQLException If a database access error occurs
+     * @throws IOException If the handler fails
+     */
+    public static long scan(Connection conn, LocalDateTime from, LocalDateTime to, int fetchSize,
+                            RowHandler<Rental> handler) throws SQLException, IOException {
+        StringBuilder sql = new StringBuilder(SCAN);
+        if (from != null) {
+            sql.append(" WHERE rental_datetime >= ?");
+        }
+        if (to != null) {
+            sql.append(from != null ? " AND" : " WHERE").append(" rental_datetime < ?");
+        }
+        sql.append(" ORDER BY rental_id");
+
+        long rows = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY)) {
+            int index = 1;
+            if (from != null) {
+                stmt.setTimestamp(index++, Timestamp.valueOf(from));
+            }
+            if (to != null) {
+                stmt.setTimestamp(index, Timestamp.valueOf(to));
+            }
+            stmt.setFetchSize(fetchSize);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(Rental.fromResultSet(rs));
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Reads the IDs of all rentals in ascending order.
+     * Reads only the primary key index, so it stays cheap for large tables.
+     *
+     * @param conn The connection to use
+     * @return The sorted rental IDs
+     * @throws SQLException If a database access error occurs
+     */
+    public static int[] findIds(Connection conn) throws SQLException {
+        int[] ids = new int[1024];
+        int count = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(FIND_IDS);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count << 1);
+                }
+                ids[count++] = rs.getInt(1);
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Reads one page of rentals using keyset pagination on rental_id.
+     *
+     * @param conn The connection to use
+     * @param afterRentalId Only rentals with a greater ID are returned (0 for the first page)
+     * @param limit The maximum number of rentals to return
+     * @return Up to {@code limit} rentals in ascending ID order
+     * @throws SQLException If a database access error occurs
+     */
+    public static List<Rental> findAfter(Connection conn, int afterRentalId, int limit) throws SQLException {
+        List<Rental> rentals = new ArrayList<>(limit);
+        try (PreparedStatement stmt = conn.prepareStatement(FIND_AFTER)) {
+            stmt.setInt(1, afterRentalId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rentals.add(Rental.fromResultSet(rs));
+                }
+            }
+        }
+        return rentals;
+    }
+
+    /**
+     * Inserts a rental.
+     *
+     * @param conn The connection to use
+     * @param rental The rental to insert; its ID is ignored
+     * @return The generated rental ID, or 0 if the driver returned none
+     * @throws SQLException If a database access error occurs
+     */
+    public static int insert(Connection conn, Rental rental) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            bind(stmt, rental);
+            stmt.executeUpdate();
+
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                return generatedKeys.next() ? generatedKeys.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Inserts many rentals with JDBC batches, sending up to {@code batchSize}
+     * rows per round trip. The caller owns the transaction.
+     *
+     * @param conn The connection to use
+     * @param rentals The rentals to insert; their IDs are ignored
+     * @param batchSize The maximum number of rows per executeBatch call
+     * @return The generated rental IDs, in the order of the list
+     * @throws SQLException If a database access error occurs or the driver
+     *         does not return a key for every row
+     */
+    public static int[] insertBatch(Connection conn, List<Rental> rentals, int batchSize) throws SQLException {
+        int[] ids = new int[rentals.size()];
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            int flushed = 0;
+            for (int i = 0; i < rentals.size(); i++) {
+                bind(stmt, rentals.get(i));
+                stmt.addBatch();
+                if (i + 1 - flushed == batchSize || i == rentals.size() - 1) {
+                    stmt.executeBatch();
+                    flushed = readGeneratedKeys(stmt, ids, flushed, i + 1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Checks whether a car has a rental overlapping the half-open period
+     * [start, end), using the same rule as the {@link RentalAvailabilityIndex}.
+     *
+     * @param conn The connection to use
+     * @param carId The ID of the car
+     * @param start The start of the period
+     * @param end The end of the period, or null for an open-ended period
+     * @return true if any rental of the car overlaps the period
+     * @throws SQLException If a database access error occurs
+     */
+    public static boolean hasOverlap(Connection conn, int carId, LocalDateTime start, LocalDateTime end)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(end != null ? FIND_OVERLAP : FIND_OVERLAP_OPEN_END)) {
+            int index = 1;
+            stmt.setInt(index++, carId);
+            if (end != null) {
+                stmt.setTimestamp(index++, toTimestamp(end));
+            }
+            stmt.setTimestamp(index, toTimestamp(start));
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Updates every column of a rental.
+     *
+     * @param conn The connection to use
+     * @param rental The rental with updated information
+     * @return true if a row was updated
+     * @throws SQLException If a database access error occurs
+     */
+    public static boolean update(Connection conn, Rental rental) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(UPDATE)) {
+            bind(stmt, rental);
+            stmt.setInt(6, rental.getRentalId());
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Deletes a rental.
+     *
+     * @param conn The connection to use
+     * @param rentalId The ID of the rental
+     * @return true if a row was deleted
+     * @throws SQLException If a database access error occurs
+     */
+    public static boolean delete(Connection conn, int rentalId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(DELETE)) {
+            stmt.setInt(1, rentalId);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Binds the insert and update columns, in table order, to parameters 1 to 5.
+     */
+    private static void bind(PreparedStatement stmt, Rental rental) throws SQLException {
+        stmt.setInt(1, rental.getCarId());
+        stmt.setInt(2, rental.getCustomerId());
+        stmt.setTimestamp(3, toTimestamp(rental.getRentalDatetime()));
+        stmt.setTimestamp(4, toTimestamp(rental.getReturnDatetime()));
+        stmt.setDouble(5, rental.getTotalCost());
+    }
+
+    /**
+     * Copies the keys generated by the last executeBatch into {@code ids[from..to)}.
+     *
+     * @return {@code to}, the index of the next row to flush
+     */
+    private static int readGeneratedKeys(PreparedStatement stmt, int[] ids, int from, int to) throws SQLException {
+        int next = from;
+        try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+            while (next < to && generatedKeys.next()) {
+                ids[next++] = generatedKeys.getInt(1);
+            }
+        }
+        if (next != to) {
+            throw new SQLException("Expected " + (to - from) + " generated keys but the driver returned " + (next - from));
+        }
+        return to;
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+}
@@ -0,0 +1,150 @@
+package main.java.com.carrental.model;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+/**
+ * The result of {@link ReportService#build}: revenue per period, utilization
+ * per car, average rental duration and the top customers for a date range.
+ * A report is an immutable snapshot and may be handed between threads.
+ */
+public class Report {
+    /** The length of the periods revenue is grouped by. */
+    public enum Period {
+        DAY, WEEK, MONTH;
+
+        /**
+         * @param date A day
+         * @return The first day of the period containing it; weeks start on Monday
+         */
+        public LocalDate startOf(LocalDate date) {
+            switch (this) {
+                case WEEK:
+                    return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH:
+                    return date.withDayOfMonth(1);
+                default:
+                    return date;
+            }
+        }
+    }
+
+    /** Rentals started and their revenue within one period. */
+    public static final class RevenueRow {
+        private final LocalDate periodStart;
+        private final long rentals;
+        private final BigDecimal revenue;
+
+        public RevenueRow(LocalDate periodStart, long rentals, BigDecimal revenue) {
+            this.periodStart = periodStart;
+            this.rentals = rentals;
+            this.revenue = revenue;
+        }
+
+        public LocalDate getPeriodStart() { return periodStart; }
+        public long getRentals() { return rentals; }
+        public BigDecimal getRevenue() { return revenue; }
+    }
+
+    /** The hours a car was booked within the range, relative to the hours in the range. */
+    public static final class CarUtilization {
+        private final Car car;
+        private final double bookedHours;
+        private final double utilization;
+
+        public CarUtilization(Car car, double bookedHours, double utilization) {
+            this.car = car;
+            this.bookedHours = bookedHours;
+            this.utilization = utilization;
+        }
+
+        public Car getCar() { return car; }
+        public double getBookedHours() { return bookedHours; }
+        /** @return The booked share of the range, from 0 to 1 */
+        public double getUtilization() { return utilization; }
+    }
+
+    /** A customer's rentals and revenue within the range. */
+    public static final class CustomerRevenue {
+        private final int customerId;
+        private final String name;
+        private final long rentals;
+        private final BigDecimal revenue;
+
+        public CustomerRevenue(int customerId, String name, long rentals, BigDecimal revenue) {
+            this.customerId = customerId;
+            this.name = name;
+            this.rentals = rentals;
+            this.revenue = revenue;
+        }
+
+        public int getCustomerId() { return customerId; }
+        public String getName() { return name; }
+        public long getRentals() { return rentals; }
+        public BigDecimal getRevenue() { return revenue; }
+    }
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final Period period;
+    private final String make;
+    private final List<RevenueRow> revenue;
+    private final List<CarUtilization> utilization;
+    private final List<CustomerRevenue> topCustomers;
+    private final double averageRentalHours;
+
+    /**
+     * Constructs a new Report.
+     *
+     * @param from The first day of the range
+     * @param to The last day of the range, inclusive
+     * @param period The period revenue is grouped by
+     * @param make The car make the report is limited to, or null for all cars
+     * @param revenue Revenue per period, in date order
+     * @param utilization Utilization per car, in car ID order
+     * @param topCustomers The customers with the highest revenue, highest first
+     * @param averageRentalHours The average duration of completed rentals, or NaN if there were none
+     */
+    public Report(LocalDate from, LocalDate to, Period period, String make, List<RevenueRow> revenue,
+                  List<CarUtilization> utilization, List<CustomerRevenue> topCustomers, double averageRentalHours) {
+        this.from = from;
+        this.to = to;
+        this.period = period;
+        this.make = make;
+        this.revenue = List.copyOf(revenue);
+        this.utilization = List.copyOf(utilization);
+        this.topCustomers = List.copyOf(topCustomers);
+        this.averageRentalHours = averageRentalHours;
+    }
+
+    // Getters
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public Period getPeriod() { return period; }
+    public String getMake() { return make; }
+    public List<RevenueRow> getRevenue() { return revenue; }
+    public List<CarUtilization> getUtilization() { return utilization; }
+    public List<CustomerRevenue> getTopCustomers() { return topCustomers; }
+    public double getAverageRentalHours() { return averageRentalHours; }
+
+    /** @return The revenue of the whole range */
+    public BigDecimal getTotalRevenue() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (RevenueRow row : revenue) {
+            total = total.add(row.getRevenue());
+        }
+        return total;
+    }
+
+    /** @return The number of rentals started within the range */
+    public long getTotalRentals() {
+        long total = 0;
+        for (RevenueRow row : revenue) {
+            total += row.getRentals();
+        }
+        return total;
+    }
+}
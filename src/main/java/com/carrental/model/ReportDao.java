@@ -0,0 +1,118 @@
+package main.java.com.carrental.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aggregate queries over the rentals table for {@link ReportService}, for
+ * the figures the {@link DailySummaryDao daily summary} cannot answer. The
+ * grouping is done by the database, so only one row per car or customer is
+ * transferred however many rentals the range holds.
+ */
+public final class ReportDao {
+    // Groups and ranks on rentals alone, so only the top rows are joined to customers
+    private static final String TOP_CUSTOMERS =
+        "SELECT c.customer_id, c.first_name, c.last_name, t.rentals, t.revenue FROM ("
+        + "SELECT customer_id, COUNT(*) AS rentals, SUM(total_cost) AS revenue FROM rentals "
+        + "WHERE rental_datetime >= ? AND rental_datetime < ? "
+        + "GROUP BY customer_id ORDER BY revenue DESC, customer_id LIMIT ?) t "
+        + "JOIN customers c ON c.customer_id = t.customer_id ORDER BY t.revenue DESC, t.customer_id";
+
+    private static final String OPEN_BOOKED_SECONDS =
+        "SELECT car_id, SUM(GREATEST(0, TIMESTAMPDIFF(SECOND, GREATEST(rental_datetime, ?), ?))) AS booked "
+        + "FROM rentals WHERE return_datetime IS NULL AND rental_datetime < ? GROUP BY car_id";
+    private static final String AVERAGE_DURATION =
+        "SELECT AVG(TIMESTAMPDIFF(SECOND, rental_datetime, return_datetime)) AS seconds FROM rentals "
+        + "WHERE rental_datetime >= ? AND rental_datetime < ? AND return_datetime IS NOT NULL";
+
+    private ReportDao() {
+    }
+
+    /**
+     * Finds the customers with the highest revenue.
+     *
+     * @param conn The connection to use
+     * @param from Only rentals starting at or after this time
+     * @param to Only rentals starting before this time
+     * @param limit The maximum number of customers to return
+     * @return The customers, highest revenue first
+     * @throws SQLException If a database access error occurs
+     */
+    public static List<Report.CustomerRevenue> topCustomers(Connection conn, LocalDateTime from, LocalDateTime to,
+                                                            int limit) throws SQLException {
+        List<Report.CustomerRevenue> rows = new ArrayList<>(limit);
+        try (PreparedStatement stmt = conn.prepareStatement(TOP_CUSTOMERS)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(from));
+            stmt.setTimestamp(2, Timestamp.valueOf(to));
+            stmt.setInt(3, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new Report.CustomerRevenue(rs.getInt("customer_id"),
+                        rs.getString("first_name") + " " + rs.getString("last_name"),
+                        rs.getLong("rentals"), revenue(rs)));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Sums the time rentals without a return time have been booked so far,
+     * clipped to a range. The daily summary only counts returned rentals.
+     *
+     * @param conn The connection to use
+     * @param from The start of the range
+     * @param to The end of the range, exclusive
+     * @param now The current time, up to which open rentals count as booked
+     * @return Booked seconds per car ID; cars without open rentals in the range are absent
+     * @throws SQLException If a database access error occurs
+     */
+    public static IntObjectMap<long[]> openBookedSeconds(Connection conn, LocalDateTime from, LocalDateTime to,
+                                                         LocalDateTime now) throws SQLException {
+        IntObjectMap<long[]> booked = new IntObjectMap<>();
+        Timestamp until = Timestamp.valueOf(now.isBefore(to) ? now : to);
+        try (PreparedStatement stmt = conn.prepareStatement(OPEN_BOOKED_SECONDS)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(from));
+            stmt.setTimestamp(2, until);
+            stmt.setTimestamp(3, until);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    booked.put(rs.getInt("car_id"), new long[] {rs.getLong("booked")});
+                }
+            }
+        }
+        return booked;
+    }
+
+    /**
+     * @param conn The connection to use
+     * @param from Only rentals starting at or after this time
+     * @param to Only rentals starting before this time
+     * @return The average duration in seconds of returned rentals, or NaN if there are none
+     * @throws SQLException If a database access error occurs
+     */
+    public static double averageDurationSeconds(Connection conn, LocalDateTime from, LocalDateTime to)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(AVERAGE_DURATION)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(from));
+            stmt.setTimestamp(2, Timestamp.valueOf(to));
+            try (ResultSet rs = stmt.executeQuery()) {
+                double seconds = rs.next() ? rs.getDouble("seconds") : 0;
+                return rs.wasNull() ? Double.NaN : seconds;
+            }
+        }
+    }
+
+    private static BigDecimal revenue(ResultSet rs) throws SQLException {
+        BigDecimal revenue = rs.getBigDecimal("revenue");
+        return (revenue != null ? revenue : BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP);
+    }
+}
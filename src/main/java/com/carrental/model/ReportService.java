@@ -0,0 +1,138 @@
+package main.java.com.carrental.model;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Computes the revenue and utilization reports shown on the Reports tab.
+ *
+ * <p>For the whole fleet, revenue and booked time are read from the
+ * {@link DailySummaryDao daily summary}, completed by GROUP BY queries over
+ * the rentals for the figures it does not hold ({@link ReportDao}); days are
+ * then rolled up into weeks or months here. A report limited to one car make is an ad-hoc slice
+ * without matching queries: the rentals of the range are streamed once into
+ * a {@link RentalColumns} snapshot and all figures are computed from it in
+ * memory.</p>
+ */
+public final class ReportService {
+    private static final long SECONDS_PER_HOUR = 3_600;
+
+    private ReportService() {
+    }
+
+    /**
+     * Builds a report for a date range.
+     *
+     * @param from The first day of the range
+     * @param to The last day of the range, inclusive
+     * @param period The period revenue is grouped by
+     * @param make Limits the report to cars of this make (case-insensitive), or null for all cars
+     * @param topCustomers The number of top customers to list
+     * @return The report
+     * @throws SQLException If a database access error occurs
+     * @throws IllegalArgumentException If the range ends before it starts
+     */
+    public static Report build(LocalDate from, LocalDate to, Report.Period period, String make, int topCustomers)
+            throws SQLException {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The report range ends before it starts");
+        }
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        long startSeconds = RentalColumns.toSeconds(start);
+        long endSeconds = RentalColumns.toSeconds(end);
+
+        List<Car> cars = new ArrayList<>();
+        IntObjectMap<Car> selected = new IntObjectMap<>();
+        for (Car car : Car.getAllCars()) {
+            if (make == null || car.getMake().equalsIgnoreCase(make)) {
+                cars.add(car);
+                selected.put(car.getCarId(), car);
+            }
+        }
+        cars.sort(Comparator.comparingInt(Car::getCarId));
+        IntPredicate inSlice = selected::containsKey;
+
+        LocalDateTime now = LocalDateTime.now(); // Open rentals count as booked until now
+        List<Report.RevenueRow> daily;
+        List<Report.CustomerRevenue> customers;
+        IntObjectMap<long[]> booked;
+        double averageSeconds;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (make == null) {
+                daily = DailySummaryDao.dailyRevenue(conn, from, to);
+                customers = ReportDao.topCustomers(conn, start, end, topCustomers);
+                booked = DailySummaryDao.bookedSeconds(conn, from, to);
+                IntObjectMap<long[]> open = ReportDao.openBookedSeconds(conn, start, end, now);
+                for (int carId : open.keys()) {
+                    long[] seconds = booked.get(carId);
+                    if (seconds == null) {
+                        booked.put(carId, open.get(carId));
+                    } else {
+                        seconds[0] += open.get(carId)[0];
+                    }
+                }
+                averageSeconds = ReportDao.averageDurationSeconds(conn, start, end);
+            } else {
+                RentalColumns columns = RentalColumns.load(conn, start, end,
+                    DatabaseConnection.getConfig().getStreamingFetchSize());
+                daily = columns.dailyRevenue(from, to, inSlice);
+                booked = columns.bookedSeconds(startSeconds, endSeconds, RentalColumns.toSeconds(now));
+                averageSeconds = columns.averageDurationSeconds(startSeconds, endSeconds, inSlice);
+                customers = new ArrayList<>(topCustomers);
+                for (long[] total : columns.topCustomers(startSeconds, endSeconds, inSlice, topCustomers)) {
+                    Customer customer = CustomerDao.findById(conn, (int) total[0]);
+                    String name = customer != null
+                        ? customer.getFirstName() + " " + customer.getLastName()
+                        : "#" + total[0];
+                    customers.add(new Report.CustomerRevenue((int) total[0], name, total[1],
+                        BigDecimal.valueOf(total[2], 2)));
+                }
+            }
+        }
+
+        double rangeHours = (double) (endSeconds - startSeconds) / SECONDS_PER_HOUR;
+        List<Report.CarUtilization> utilization = new ArrayList<>(cars.size());
+        for (Car car : cars) {
+            long[] seconds = booked.get(car.getCarId());
+            double bookedHours = seconds != null ? (double) seconds[0] / SECONDS_PER_HOUR : 0;
+            utilization.add(new Report.CarUtilization(car, bookedHours, Math.min(1, bookedHours / rangeHours)));
+        }
+
+        return new Report(from, to, period, make, rollUp(daily, period), utilization, customers,
+            averageSeconds / SECONDS_PER_HOUR);
+    }
+
+    /**
+     * Merges daily rows into the rows of a longer period.
+     *
+     * @param daily Revenue per day, in date order
+     * @param period The period to roll up to
+     * @return Revenue per period, in date order
+     */
+    static List<Report.RevenueRow> rollUp(List<Report.RevenueRow> daily, Report.Period period) {
+        if (period == Report.Period.DAY) {
+            return daily;
+        }
+        List<Report.RevenueRow> rolled = new ArrayList<>();
+        for (Report.RevenueRow day : daily) {
+            LocalDate periodStart = period.startOf(day.getPeriodStart());
+            int last = rolled.size() - 1;
+            if (last >= 0 && rolled.get(last).getPeriodStart().equals(periodStart)) {
+                Report.RevenueRow merged = rolled.get(last);
+                rolled.set(last, new Report.RevenueRow(periodStart, merged.getRentals() + day.getRentals(),
+                    merged.getRevenue().add(day.getRevenue())));
+            } else {
+                rolled.add(new Report.RevenueRow(periodStart, day.getRentals(), day.getRevenue()));
+            }
+        }
+        return rolled;
+    }
+}
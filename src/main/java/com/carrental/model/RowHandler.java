@@ -0,0 +1,20 @@
+package main.java.com.carrental.model;
+
+import java.io.IOException;
+
+/**
+ * Receives the rows of a streamed read one at a time, such as
+ * {@link RentalDao#scan}. The row objects are not retained by the DAO, so a
+ * scan of any size runs in constant memory as long as the handler does not
+ * keep them either.
+ *
+ * @param <T> The entity type
+ */
+@FunctionalInterface
+public interface RowHandler<T> {
+    /**
+     * @param row The next row
+     * @throws IOException If the handler cannot write the row
+     */
+    void handle(T row) throws IOException;
+}
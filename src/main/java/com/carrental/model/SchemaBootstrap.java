@@ -0,0 +1,121 @@
+package main.java.com.carrental.model;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Creates the application schema in an empty database by running the
+ * statements of an SQL script such as {@code db/car_rental_db.sql}.
+ *
+ * <p>{@code CREATE DATABASE} and {@code USE} statements are skipped, since an
+ * embedded database is already selected by its JDBC URL. The script is only
+ * run when the {@code users} table does not exist yet, so a file-backed
+ * embedded database keeps its data across restarts.</p>
+ */
+class SchemaBootstrap {
+
+    private SchemaBootstrap() {
+    }
+
+    /**
+     * Runs the script against the connection unless the schema already exists.
+     *
+     * @param conn The connection to the target database
+     * @param script The SQL script to run
+     * @return true if the script was run, false if the schema already existed
+     * @throws SQLException If the script cannot be read or a statement fails
+     */
+    static boolean bootstrap(Connection conn, Path script) throws SQLException {
+        if (tableExists(conn, "users")) {
+            return false;
+        }
+
+        String sql;
+        try {
+            sql = Files.readString(script, StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new SQLException("Cannot read schema script " + script.toAbsolutePath(), ex);
+        }
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            for (String statement : splitStatements(sql)) {
+                String keyword = statement.split("\\s+", 2)[0].toUpperCase(Locale.ROOT);
+                if (keyword.equals("USE") || statement.toUpperCase(Locale.ROOT).startsWith("CREATE DATABASE")) {
+                    continue;
+                }
+                stmt.execute(statement);
+            }
+            conn.commit();
+        } catch (SQLException ex) {
+            conn.rollback();
+            throw ex;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        return true;
+    }
+
+    /**
+     * Splits a script into statements on semicolons outside quoted strings
+     * and drops {@code --} line comments.
+     */
+    static List<String> splitStatements(String sql) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        char quote = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                current.append(c);
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+                current.append(c);
+            } else if (c == '-' && sql.startsWith("--", i)) {
+                int lineEnd = sql.indexOf('\n', i);
+                i = lineEnd < 0 ? sql.length() : lineEnd;
+                current.append('\n');
+            } else if (c == ';') {
+                addStatement(statements, current);
+            } else {
+                current.append(c);
+            }
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String statement = current.toString().trim();
+        if (!statement.isEmpty()) {
+            statements.add(statement);
+        }
+        current.setLength(0);
+    }
+
+    private static boolean tableExists(Connection conn, String table) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        for (String name : new String[] {table, table.toUpperCase(Locale.ROOT)}) {
+            try (ResultSet rs = metaData.getTables(conn.getCatalog(), conn.getSchema(), name, new String[] {"TABLE"})) {
+                if (rs.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
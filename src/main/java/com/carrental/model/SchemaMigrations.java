@@ -0,0 +1,211 @@
+package main.java.com.carrental.model;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Versioned schema changes applied on top of {@code db/car_rental_db.sql}.
+ *
+ * <p>The version of a database is the highest version recorded in its
+ * {@code schema_version} table. On startup {@link DatabaseConnection} applies
+ * every migration with a higher version, in order, and records each one as
+ * it completes. Migrations are never edited once released; a change to the
+ * schema is a new migration at the end of the list.</p>
+ *
+ * <p>Each migration that adds an index names the queries the index is meant
+ * for. {@link #verify} runs {@code EXPLAIN} on those queries and checks that
+ * the plan uses the index.</p>
+ */
+public final class SchemaMigrations {
+    private static final String CREATE_VERSION_TABLE = "CREATE TABLE IF NOT EXISTS schema_version ("
+        + "version INT PRIMARY KEY, "
+        + "description VARCHAR(200) NOT NULL, "
+        + "applied_at TIMESTAMP NOT NULL)";
+    private static final String CURRENT_VERSION = "SELECT MAX(version) FROM schema_version";
+    private static final String RECORD_VERSION =
+        "INSERT INTO schema_version (version, description, applied_at) VALUES (?, ?, ?)";
+
+    private static final List<Migration> MIGRATIONS = List.of(
+        new Migration(1, "Daily rental summary table, filled from existing rentals",
+            (conn, config) -> {
+                DailySummaryDao.createTableIfMissing(conn);
+                DailySummaryDao.rebuild(conn, config.getStreamingFetchSize());
+            }),
+        new Migration(2, "Covering indexes for availability, customer history and date-range queries",
+            (conn, config) -> execute(conn,
+                // The isCarAvailable predicate: one car's bookings around a period
+                "CREATE INDEX idx_rentals_car_period ON rentals (car_id, rental_datetime, return_datetime)",
+                // A customer's rentals, newest first
+                "CREATE INDEX idx_rentals_customer_history "
+                    + "ON rentals (customer_id, rental_datetime, car_id, return_datetime, total_cost)",
+                // Exports and reports over a range of start times
+                "CREATE INDEX idx_rentals_period "
+                    + "ON rentals (rental_datetime, return_datetime, car_id, customer_id, total_cost)"),
+            new Check("idx_rentals_car_period",
+                "SELECT rental_id FROM rentals WHERE car_id = 1 "
+                    + "AND rental_datetime < TIMESTAMP '2025-01-02 00:00:00' "
+                    + "AND (return_datetime IS NULL OR return_datetime > TIMESTAMP '2025-01-01 00:00:00')"),
+            new Check("idx_rentals_customer_history",
+                "SELECT rental_id, car_id, rental_datetime, return_datetime, total_cost FROM rentals "
+                    + "WHERE customer_id = 1 ORDER BY rental_datetime DESC, rental_id DESC"),
+            new Check("idx_rentals_period",
+                "SELECT customer_id, COUNT(*), SUM(total_cost) FROM rentals "
+                    + "WHERE rental_datetime >= TIMESTAMP '2025-01-01 00:00:00' "
+                    + "AND rental_datetime < TIMESTAMP '2025-02-01 00:00:00' GROUP BY customer_id"))
+    );
+
+    private SchemaMigrations() {
+    }
+
+    /**
+     * A schema change; applied with the database's privileges in one go.
+     * MySQL commits each DDL statement implicitly, so a migration that fails
+     * halfway may have to be cleaned up by hand before it can run again.
+     */
+    private record Migration(int version, String description, Step step, Check... checks) {
+    }
+
+    /** The body of a migration. */
+    @FunctionalInterface
+    private interface Step {
+        void apply(Connection conn, DatabaseConfig config) throws SQLException;
+    }
+
+    /**
+     * A query an index is meant to serve.
+     *
+     * @param index The index name
+     * @param query The query; its plan must mention the index
+     */
+    private record Check(String index, String query) {
+    }
+
+    /**
+     * The outcome of one {@code EXPLAIN} check.
+     *
+     * @param version The migration that added the index
+     * @param index The index name
+     * @param query The query checked
+     * @param used Whether the plan uses the index
+     * @param plan The plan as reported by the database, one row per line
+     */
+    public record Verification(int version, String index, String query, boolean used, String plan) {
+    }
+
+    /**
+     * @return The highest migration version known to this build
+     */
+    public static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+    }
+
+    /**
+     * Reads the version of a database.
+     *
+     * @param conn The connection to use
+     * @return The highest applied migration, or 0 if none has been applied
+     * @throws SQLException If a database access error occurs
+     */
+    public static int currentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(CREATE_VERSION_TABLE);
+            try (ResultSet rs = stmt.executeQuery(CURRENT_VERSION)) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Applies the migrations a database has not seen yet.
+     *
+     * @param conn The connection to use; left in auto-commit mode
+     * @param config The configuration the database was opened with
+     * @return The number of migrations applied
+     * @throws SQLException If a migration fails; the migrations before it stay applied
+     */
+    static int migrate(Connection conn, DatabaseConfig config) throws SQLException {
+        int current = currentVersion(conn);
+        int applied = 0;
+        for (Migration migration : MIGRATIONS) {
+            if (migration.version() <= current) {
+                continue;
+            }
+            conn.setAutoCommit(false);
+            try {
+                migration.step().apply(conn, config);
+                try (PreparedStatement stmt = conn.prepareStatement(RECORD_VERSION)) {
+                    stmt.setInt(1, migration.version());
+                    stmt.setString(2, migration.description());
+                    stmt.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+                    stmt.executeUpdate();
+                }
+                conn.commit();
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw new SQLException("Schema migration " + migration.version() + " (" + migration.description()
+                    + ") failed: " + ex.getMessage(), ex.getSQLState(), ex);
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            applied++;
+        }
+        return applied;
+    }
+
+    /**
+     * Checks with {@code EXPLAIN} that the applied index migrations serve
+     * their queries. An optimizer may still prefer a table scan on a table
+     * with only a few rows, so verify against realistic data.
+     *
+     * @param conn The connection to use
+     * @return One result per check of each applied migration
+     * @throws SQLException If a database access error occurs
+     */
+    public static List<Verification> verify(Connection conn) throws SQLException {
+        int current = currentVersion(conn);
+        List<Verification> results = new ArrayList<>();
+        try (Statement stmt = conn.createStatement()) {
+            for (Migration migration : MIGRATIONS) {
+                if (migration.version() > current) {
+                    continue;
+                }
+                for (Check check : migration.checks()) {
+                    StringBuilder plan = new StringBuilder();
+                    try (ResultSet rs = stmt.executeQuery("EXPLAIN " + check.query())) {
+                        int columns = rs.getMetaData().getColumnCount();
+                        while (rs.next()) {
+                            for (int i = 1; i <= columns; i++) {
+                                if (i > 1) {
+                                    plan.append(" | ");
+                                }
+                                plan.append(rs.getString(i));
+                            }
+                            plan.append('\n');
+                        }
+                    }
+                    boolean used = plan.toString().toLowerCase(Locale.ROOT)
+                        .contains(check.index().toLowerCase(Locale.ROOT));
+                    results.add(new Verification(migration.version(), check.index(), check.query(), used,
+                        plan.toString().trim()));
+                }
+            }
+        }
+        return results;
+    }
+
+    private static void execute(Connection conn, String... statements) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String statement : statements) {
+                stmt.executeUpdate(statement);
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package main.java.com.carrental.model;
+
+import java.security.SecureRandom;
+import java.sql.SQLException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the sessions of logged-in users. {@link #open} issues a random
+ * token after a successful {@link User#authenticate}; the session lasts
+ * until it is closed or has been idle longer than
+ * {@link DatabaseConfig#getSessionIdleMinutes()}.
+ *
+ * <p>Looking up a session is a map lookup, so a privilege check or a
+ * lock screen can ask who is logged in without touching the database.
+ * {@link #reauthenticate} checks the password again against the
+ * {@link UserCache cached} user record, which only reads the {@code users}
+ * table once the cache entry has expired.</p>
+ *
+ * <p>Expired sessions are removed when a session is opened. Switching the
+ * database with {@link DatabaseConnection#configure} closes every session.</p>
+ */
+public final class SessionManager {
+    private static final SessionManager INSTANCE = new SessionManager();
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Session> sessions = new HashMap<>();
+
+    private SessionManager() {
+    }
+
+    /**
+     * @return The shared session manager
+     */
+    public static SessionManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts a session for an authenticated user.
+     *
+     * @param user The user returned by {@link User#authenticate}
+     * @return The new session
+     * @throws SQLException If the database settings have to be loaded and loading fails
+     */
+    public Session open(User user) throws SQLException {
+        long idleNanos = TimeUnit.MINUTES.toNanos(DatabaseConnection.getConfig().getSessionIdleMinutes());
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        long now = System.nanoTime();
+        Session session = new Session(token, user.getUserId(), user.getUsername(), idleNanos, now);
+        synchronized (this) {
+            for (Iterator<Session> it = sessions.values().iterator(); it.hasNext(); ) {
+                if (it.next().isExpired(now)) {
+                    it.remove();
+                }
+            }
+            sessions.put(token, session);
+        }
+        return session;
+    }
+
+    /**
+     * Returns a live session and records activity on it, restarting its
+     * idle timeout.
+     *
+     * @param token The session token
+     * @return The session, or null if the token is unknown, closed or expired
+     */
+    public Session touch(String token) {
+        long now = System.nanoTime();
+        synchronized (this) {
+            Session session = sessions.get(token);
+            if (session == null) {
+                return null;
+            }
+            if (session.isExpired(now)) {
+                sessions.remove(token);
+                return null;
+            }
+            session.lastAccess = now;
+            return session;
+        }
+    }
+
+    /**
+     * Checks the password of a session's user again, e.g. to unlock a
+     * locked screen, and restarts the idle timeout on success. A session
+     * that expired meanwhile cannot be resumed.
+     *
+     * @param token The session token
+     * @param password The password in plain text
+     * @return true if the session is live and the password matches
+     * @throws SQLException If the user record has to be read and the read fails
+     *
+     * @implNote Verifying a password takes a deliberate fraction of a second,
+     *           so do not call this on the Event Dispatch Thread.
+     */
+    public boolean reauthenticate(String token, char[] password) throws SQLException {
+        Session session = touch(token);
+        if (session == null) {
+            return false;
+        }
+        User user = UserCache.getInstance().get(session.username);
+        if (user == null || user.getUserId() != session.userId) {
+            close(token); // The account was removed or replaced
+            return false;
+        }
+        if (!PasswordHasher.verify(password, user.getPassword())) {
+            return false;
+        }
+        return touch(token) != null;
+    }
+
+    /**
+     * Ends a session, e.g. on logout.
+     *
+     * @param token The session token
+     */
+    public synchronized void close(String token) {
+        sessions.remove(token);
+    }
+
+    /**
+     * Ends every session, e.g. after a switch of database.
+     */
+    synchronized void closeAll() {
+        sessions.clear();
+    }
+
+    /**
+     * A logged-in user's session. The user is identified by ID and name only;
+     * the password hash is never held here.
+     */
+    public static final class Session {
+        private final String token;
+        private final int userId;
+        private final String username;
+        private final long idleNanos;
+        private long lastAccess;
+
+        private Session(String token, int userId, String username, long idleNanos, long now) {
+            this.token = token;
+            this.userId = userId;
+            this.username = username;
+            this.idleNanos = idleNanos;
+            this.lastAccess = now;
+        }
+
+        /** @return The token identifying the session */
+        public String getToken() { return token; }
+
+        /** @return The ID of the logged-in user */
+        public int getUserId() { return userId; }
+
+        /** @return The username of the logged-in user */
+        public String getUsername() { return username; }
+
+        // Called with the SessionManager lock held
+        private boolean isExpired(long now) {
+            return now - lastAccess > idleNanos;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package main.java.com.carrental.model;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the prepared statements of one pooled physical connection open
+ * across borrows, so a DAO statement is parsed and planned once per
+ * connection and then only re-bound and executed.
+ *
+ * <p>Each prepare hands out a new proxy for the cached statement, valid for
+ * that one lease. Its {@code close()} clears the parameters and batch,
+ * restores any fetch size, row limit or timeout the borrower changed, and
+ * returns the statement to the cache instead of closing it; closing a lease
+ * again, or after the statement was lent to someone else, does nothing. A
+ * statement is lent to one caller at a time; if the same SQL is prepared
+ * again while its cached statement is still open, an uncached statement is
+ * returned. The least recently used statement is closed once the cache is
+ * full.</p>
+ *
+ * <p>The cache is used only by the thread that currently holds the
+ * connection, so it is not synchronized.</p>
+ */
+final class StatementCache {
+    private final Connection physical;
+    private final int capacity;
+    private final Map<Key, Entry> entries;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+
+    /**
+     * @param physical The physical connection that prepares the statements
+     * @param capacity The maximum number of cached statements (0 disables caching)
+     * @param hits Counts prepares served from the cache; may be shared between caches
+     * @param misses Counts prepares that reached the driver; may be shared between caches
+     */
+    StatementCache(Connection physical, int capacity, AtomicLong hits, AtomicLong misses) {
+        this.physical = physical;
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    /**
+     * Returns a cached statement for the SQL, preparing it on first use.
+     *
+     * @param sql The SQL text
+     * @param autoGeneratedKeys {@link java.sql.Statement#RETURN_GENERATED_KEYS} or
+     *                          {@link java.sql.Statement#NO_GENERATED_KEYS}
+     * @param lease The connection proxy the caller borrowed, returned by {@code getConnection()}
+     * @return A statement whose {@code close()} returns it to the cache
+     * @throws SQLException If the statement cannot be prepared
+     */
+    PreparedStatement prepare(String sql, int autoGeneratedKeys, Connection lease) throws SQLException {
+        if (capacity == 0) {
+            misses.incrementAndGet();
+            return physical.prepareStatement(sql, autoGeneratedKeys);
+        }
+        Key key = new Key(sql, autoGeneratedKeys);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.inUse) {
+                misses.incrementAndGet(); // Same SQL open twice on one connection; do not share it
+                return physical.prepareStatement(sql, autoGeneratedKeys);
+            }
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            entry = new Entry(physical.prepareStatement(sql, autoGeneratedKeys));
+            entries.put(key, entry);
+            evictOverflow();
+        }
+        return entry.lend(lease);
+    }
+
+    /**
+     * Reclaims statements the last borrower did not close. Called when the
+     * connection is returned to the pool.
+     */
+    void releaseAll() {
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            Entry entry = it.next();
+            if (entry.inUse && !entry.recycle()) {
+                it.remove();
+                entry.closeQuietly();
+            }
+        }
+    }
+
+    /**
+     * Closes every cached statement. Called when the connection is retired.
+     */
+    void closeAll() {
+        List<Entry> all = new ArrayList<>(entries.values());
+        entries.clear();
+        for (Entry entry : all) {
+            entry.closeQuietly();
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > capacity && it.hasNext()) {
+            Entry eldest = it.next();
+            it.remove();
+            if (eldest.inUse) {
+                eldest.evicted = true; // Closed for real when its borrower closes it
+            } else {
+                eldest.closeQuietly();
+            }
+        }
+    }
+
+    private record Key(String sql, int autoGeneratedKeys) {
+    }
+
+    /**
+     * A cached statement, the settings it was prepared with, and the lease it
+     * is currently lent under.
+     */
+    private final class Entry {
+        private final PreparedStatement statement;
+        private final int defaultFetchSize;
+        private final int defaultFetchDirection;
+        private final int defaultMaxRows;
+        private final int defaultMaxFieldSize;
+        private final int defaultQueryTimeout;
+        private Lease current;
+        private boolean inUse;
+        private boolean evicted;
+        private boolean settingsChanged;
+
+        Entry(PreparedStatement statement) throws SQLException {
+            this.statement = statement;
+            this.defaultFetchSize = statement.getFetchSize();
+            this.defaultFetchDirection = statement.getFetchDirection();
+            this.defaultMaxRows = statement.getMaxRows();
+            this.defaultMaxFieldSize = statement.getMaxFieldSize();
+            this.defaultQueryTimeout = statement.getQueryTimeout();
+        }
+
+        PreparedStatement lend(Connection connection) {
+            inUse = true;
+            current = new Lease(this, connection);
+            return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                current);
+        }
+
+        /**
+         * Returns the statement to the cache, or closes it if it was evicted
+         * or cannot be reset.
+         */
+        void giveBack() {
+            if (evicted || !recycle()) {
+                entries.values().remove(this);
+                closeQuietly();
+            }
+        }
+
+        /**
+         * Resets the statement for the next borrower.
+         *
+         * @return false if the statement could not be reset and must be discarded
+         */
+        private boolean recycle() {
+            endLease();
+            try {
+                statement.clearParameters();
+                statement.clearBatch();
+                if (settingsChanged) {
+                    settingsChanged = false;
+                    // Row limit first: some drivers reject a fetch size above it
+                    statement.setMaxRows(defaultMaxRows);
+                    statement.setFetchSize(defaultFetchSize);
+                    statement.setFetchDirection(defaultFetchDirection);
+                    statement.setMaxFieldSize(defaultMaxFieldSize);
+                    statement.setQueryTimeout(defaultQueryTimeout);
+                    statement.setEscapeProcessing(true);
+                }
+                return true;
+            } catch (SQLException ex) {
+                return false;
+            }
+        }
+
+        private void closeQuietly() {
+            endLease();
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // The statement is being discarded anyway
+            }
+        }
+
+        private void endLease() {
+            inUse = false;
+            if (current != null) {
+                current.closed = true;
+                current = null;
+            }
+        }
+    }
+
+    /**
+     * One borrower's view of a cached statement. Once closed, by its borrower
+     * or because the connection was returned, it no longer reaches the
+     * statement, so a late or repeated {@code close()} cannot recycle the
+     * statement under its next borrower.
+     */
+    private static final class Lease implements InvocationHandler {
+        private final Entry entry;
+        private final Connection connection;
+        private boolean closed;
+
+        Lease(Entry entry, Connection connection) {
+            this.entry = entry;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        entry.giveBack();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached[" + entry.statement + "]";
+                case "setFetchSize":
+                case "setFetchDirection":
+                case "setMaxRows":
+                case "setLargeMaxRows":
+                case "setMaxFieldSize":
+                case "setQueryTimeout":
+                case "setEscapeProcessing":
+                    if (!closed) {
+                        entry.settingsChanged = true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+            try {
+                return method.invoke(entry.statement, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+}
@@ -5,22 +5,31 @@ import java.sql.*;
 /**
  * Represents a user entity in the car rental system.
  * This class models user authentication information and provides
- * database operations for user management.
+ * database operations for user management. The SQL itself lives in {@link UserDao}.
  * 
- * <p><b>Security Note:</b> In a production environment, passwords should
- * be hashed and never stored in plain text.</p>
+ * <p>Passwords are stored as salted {@link PasswordHasher} hashes. Rows
+ * written by older versions may still hold a plain-text password; it is
+ * replaced by a hash the first time its user logs in.</p>
+ *
+ * <p>Lookups by username are served from a {@link UserCache} whose entries
+ * expire after {@link DatabaseConfig#getUserCacheTtlSeconds()}; the write
+ * operations here drop the entries they change. A successful login is
+ * usually followed by {@link SessionManager#open}.</p>
  */
 public class User {
     private int userId;
     private String username;
     private String password;
 
+    private static String dummyHash;
+    private static int dummyHashIterations;
+
     /**
      * Constructs a new User instance.
      * 
      * @param userId The unique identifier for the user
      * @param username The username for authentication
-     * @param password The password for authentication (should be hashed in production)
+     * @param password The stored password hash (a plain-text password for {@link #addUser})
      */
     public User(int userId, String username, String password) {
         this.userId = userId;
@@ -35,71 +44,115 @@ public class User {
     /** @return The username for authentication */
     public String getUsername() { return username; }
     
-    /** @return The password for authentication */
+    /** @return The stored password hash, or a legacy plain-text password */
     public String getPassword() { return password; }
 
     // Setters
     /** @param username The username to set */
     public void setUsername(String username) { this.username = username; }
     
-    /** @param password The password to set (should be hashed in production) */
+    /** @param password The stored password hash to set (a plain-text password for {@link #addUser}) */
     public void setPassword(String password) { this.password = password; }
 
+    /**
+     * @return A new user with the same field values
+     */
+    User copy() {
+        return new User(userId, username, password);
+    }
+
     // Database operations
     
     /**
-     * Retrieves a user from the database by username.
+     * Retrieves a user by username, from the user cache when it holds a
+     * recent copy.
      * 
      * @param username The username to search for
      * @return User object if found, null otherwise
      * @throws SQLException If a database access error occurs
      */
     public static User getUserByUsername(String username) throws SQLException {
-        String sql = "SELECT * FROM users WHERE username = ?";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, username);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return new User(
-                        rs.getInt("user_id"),
-                        rs.getString("username"),
-                        rs.getString("password")
-                    );
-                }
+        return UserCache.getInstance().get(username);
+    }
+
+    /**
+     * Checks a username and password. On success, a password still stored in
+     * plain text or hashed with fewer iterations than configured is rehashed.
+     * A hash is computed even for an unknown username, so the response time
+     * does not reveal which usernames exist.
+     * 
+     * @param username The username
+     * @param password The password in plain text
+     * @return The user if the credentials match, null otherwise
+     * @throws SQLException If a database access error occurs
+     * 
+     * @implNote Hashing takes a deliberate fraction of a second, so do not
+     *           call this on the Event Dispatch Thread. No connection is held
+     *           while hashing.
+     */
+    public static User authenticate(String username, char[] password) throws SQLException {
+        int iterations = DatabaseConnection.getConfig().getPasswordHashIterations();
+        User user = getUserByUsername(username);
+        if (user == null) {
+            PasswordHasher.verify(password, dummyHash(iterations));
+            return null;
+        }
+        if (!PasswordHasher.verify(password, user.password)) {
+            return null;
+        }
+        if (PasswordHasher.needsRehash(user.password, iterations)) {
+            String hash = PasswordHasher.hash(password, iterations);
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                UserDao.updatePassword(conn, user.userId, hash);
             }
+            UserCache.getInstance().invalidate(user.userId);
+            user.password = hash;
         }
-        return null;
+        return user;
     }
 
     /**
-     * Adds a new user to the database.
+     * Adds a new user to the database, storing a hash of its password.
      * 
-     * @param user The user object to be added
+     * @param user The user object to be added; its password must be plain text
+     *             and is replaced by the stored hash
      * @throws SQLException If a database access error occurs
-     * 
-     * @implNote This method stores passwords in plain text. In production,
-     *           passwords should be hashed before storage.
      */
     public static void addUser(User user) throws SQLException {
-        String sql = "INSERT INTO users (username, password) VALUES (?, ?)";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            stmt.setString(1, user.getUsername());
-            stmt.setString(2, user.getPassword());
-            stmt.executeUpdate();
+        user.password = PasswordHasher.hash(user.password.toCharArray(),
+            DatabaseConnection.getConfig().getPasswordHashIterations());
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            user.userId = UserDao.insert(conn, user);
+        }
+        UserCache.getInstance().invalidate(user.userId);
+    }
 
-            // Retrieve the auto-generated user ID
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    user.userId = generatedKeys.getInt(1);
-                }
-            }
+    /**
+     * Sets a new password for a user.
+     * 
+     * @param userId The ID of the user
+     * @param newPassword The new password in plain text
+     * @return true if the user exists and its password was changed
+     * @throws SQLException If a database access error occurs
+     */
+    public static boolean changePassword(int userId, char[] newPassword) throws SQLException {
+        String hash = PasswordHasher.hash(newPassword, DatabaseConnection.getConfig().getPasswordHashIterations());
+        boolean updated;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            updated = UserDao.updatePassword(conn, userId, hash);
+        }
+        UserCache.getInstance().invalidate(userId);
+        return updated;
+    }
+
+    /**
+     * @return A hash of no one's password with the given cost, to verify against for unknown usernames
+     */
+    private static synchronized String dummyHash(int iterations) {
+        if (dummyHash == null || dummyHashIterations != iterations) {
+            dummyHash = PasswordHasher.hash("unknown-user".toCharArray(), iterations);
+            dummyHashIterations = iterations;
         }
+        return dummyHash;
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package main.java.com.carrental.model;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of user records by username, so a repeated login, a lock-screen
+ * unlock or a privilege check does not read the {@code users} table each time.
+ * An entry expires {@link DatabaseConfig#getUserCacheTtlSeconds()} seconds
+ * after it was read, which bounds how long a change made by another
+ * application instance can go unnoticed.
+ *
+ * <p>{@link User#addUser}, {@link User#changePassword} and the rehash in
+ * {@link User#authenticate} drop the entries they touch. As in
+ * {@link CustomerHistoryCache}, a user is read from the database outside the
+ * lock, and the result is not cached if the cache was invalidated meanwhile.
+ * Unknown usernames are not cached.</p>
+ *
+ * <p>Like {@link CarCatalog}, the cache keeps private copies and hands out
+ * new ones.</p>
+ */
+class UserCache {
+    private static final UserCache INSTANCE = new UserCache();
+
+    private final Map<String, Entry> users = new HashMap<>();
+    private long generation;
+
+    private UserCache() {
+    }
+
+    /**
+     * @return The shared cache instance
+     */
+    static UserCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a user by username, reading it from the database on a miss or
+     * once its entry has expired.
+     *
+     * @param username The username to search for
+     * @return A copy of the user, or null if no such user exists
+     * @throws SQLException If the user has to be read and the read fails
+     */
+    User get(String username) throws SQLException {
+        long now = System.nanoTime();
+        long readGeneration;
+        synchronized (this) {
+            Entry cached = users.get(username);
+            if (cached != null && now - cached.expiresAt < 0) {
+                return cached.user.copy();
+            }
+            readGeneration = generation;
+        }
+
+        DatabaseConfig config = DatabaseConnection.getConfig();
+        User loaded;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            loaded = UserDao.findByUsername(conn, username);
+        }
+        if (loaded == null) {
+            return null;
+        }
+
+        long ttl = TimeUnit.SECONDS.toNanos(config.getUserCacheTtlSeconds());
+        synchronized (this) {
+            if (generation == readGeneration && ttl > 0) {
+                purgeExpired(now); // The users table is small; keep the map from growing stale
+                users.put(username, new Entry(loaded.copy(), now + ttl));
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops a user's entry after its record changed.
+     *
+     * @param userId The ID of the user
+     */
+    synchronized void invalidate(int userId) {
+        users.values().removeIf(entry -> entry.user.getUserId() == userId);
+        generation++;
+    }
+
+    /**
+     * Drops every entry, e.g. after a new user was added or a switch of database.
+     */
+    synchronized void invalidateAll() {
+        users.clear();
+        generation++;
+    }
+
+    private void purgeExpired(long now) {
+        for (Iterator<Entry> it = users.values().iterator(); it.hasNext(); ) {
+            if (now - it.next().expiresAt >= 0) {
+                it.remove();
+            }
+        }
+    }
+
+    private record Entry(User user, long expiresAt) {
+    }
+}
@@ -0,0 +1,82 @@
+package main.java.com.carrental.model;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Data access object for the users table.
+ * The username lookup runs on every login, so its statement is kept in the
+ * connection's {@link StatementCache} rather than prepared per attempt.
+ */
+public final class UserDao {
+    private static final String FIND_BY_USERNAME = "SELECT * FROM users WHERE username = ?";
+    private static final String INSERT = "INSERT INTO users (username, password) VALUES (?, ?)";
+    private static final String UPDATE_PASSWORD = "UPDATE users SET password = ? WHERE user_id = ?";
+
+    private UserDao() {
+    }
+
+    /**
+     * Reads a user by username.
+     *
+     * @param conn The connection to use
+     * @param username The username to search for
+     * @return The user, or null if no such user exists
+     * @throws SQLException If a database access error occurs
+     */
+    public static User findByUsername(Connection conn, String username) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(FIND_BY_USERNAME)) {
+            stmt.setString(1, username);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return new User(
+                        rs.getInt("user_id"),
+                        rs.getString("username"),
+                        rs.getString("password")
+                    );
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Inserts a user.
+     *
+     * @param conn The connection to use
+     * @param user The user to insert; its ID is ignored
+     * @return The generated user ID, or 0 if the driver returned none
+     * @throws SQLException If a database access error occurs
+     */
+    public static int insert(Connection conn, User user) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, user.getUsername());
+            stmt.setString(2, user.getPassword());
+            stmt.executeUpdate();
+
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                return generatedKeys.next() ? generatedKeys.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Replaces a user's stored password.
+     *
+     * @param conn The connection to use
+     * @param userId The ID of the user
+     * @param password The new stored value, normally a {@link PasswordHasher} hash
+     * @return true if a row was updated
+     * @throws SQLException If a database access error occurs
+     */
+    public static boolean updatePassword(Connection conn, int userId, String password) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(UPDATE_PASSWORD)) {
+            stmt.setString(1, password);
+            stmt.setInt(2, userId);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package main.java.com.carrental.view;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.MatteBorder;
@@ -10,14 +9,22 @@ import javax.swing.border.TitledBorder;
 /**
  * The CarPanel class represents the graphical user interface for managing cars in the car rental system.
  * It provides a table view of existing cars and a form for adding/editing car information.
+ * A filter bar above the table narrows it by make, model, year, hourly rate and
+ * availability, and the column headers sort it; both work on the loaded rows
+ * through a {@link CarRowSorter}.
  */
 public class CarPanel extends JPanel {
     // UI Components
     private JTable carTable;
-    private DefaultTableModel tableModel;
-    private JButton addButton, updateButton, deleteButton;
+    private CarTableModel tableModel;
+    private CarRowSorter rowSorter;
+    private JButton addButton, updateButton, deleteButton, refreshButton;
     private JTextField makeField, modelField, yearField, licensePlateField, hourlyRateField;
     private JCheckBox availableCheckBox;
+    private JTextField filterMakeField, filterModelField, minYearField, maxYearField, minRateField, maxRateField;
+    private JCheckBox availableOnlyCheckBox;
+    private JLabel filterResultLabel;
+    private JProgressBar progressBar;
 
     /**
      * Constructs a new CarPanel with all UI components initialized.
@@ -34,24 +41,20 @@ public class CarPanel extends JPanel {
         initializeTable();
         initializeFormPanel();
         initializeButtonPanel();
+        initializeFilterBar();
     }
 
     /**
      * Initializes and configures the car table with appropriate styling.
      */
     private void initializeTable() {
-        // Create table model with column headers
-        tableModel = new DefaultTableModel(
-            new Object[]{"ID", "Make", "Model", "Year", "License Plate", "Hourly Rate", "Available"}, 
-            0) {
-            @Override
-            public Class<?> getColumnClass(int columnIndex) {
-                return columnIndex == 6 ? Boolean.class : String.class;
-            }
-        };
+        // Create table model and the sorter that filters and sorts it
+        tableModel = new CarTableModel();
+        rowSorter = new CarRowSorter(tableModel);
         
         // Configure table appearance
         carTable = new JTable(tableModel);
+        carTable.setRowSorter(rowSorter);
         carTable.setRowHeight(25);
         carTable.setFillsViewportHeight(true);
         carTable.setSelectionBackground(Theme.LIGHT_RED);
@@ -123,16 +126,67 @@ public class CarPanel extends JPanel {
         addButton = createStyledButton("Add Car");
         updateButton = createStyledButton("Update Car");
         deleteButton = createStyledButton("Delete Car");
+        refreshButton = createStyledButton("Refresh");
         
         // Add buttons to panel
         buttonPanel.add(addButton);
         buttonPanel.add(updateButton);
         buttonPanel.add(deleteButton);
+        buttonPanel.add(refreshButton);
 
         // Add button panel to south panel
         ((BorderLayout) ((JPanel) getComponent(1)).getLayout()).addLayoutComponent(buttonPanel, BorderLayout.SOUTH);
     }
 
+    /**
+     * Initializes the filter bar and the loading indicator shown above the table.
+     */
+    private void initializeFilterBar() {
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 5));
+        filterPanel.setBackground(Theme.SECONDARY_COLOR);
+
+        addFilterField(filterPanel, "Make:", filterMakeField = new JTextField(8));
+        addFilterField(filterPanel, "Model:", filterModelField = new JTextField(8));
+        addFilterField(filterPanel, "Year:", minYearField = new JTextField(4));
+        addFilterField(filterPanel, "to", maxYearField = new JTextField(4));
+        addFilterField(filterPanel, "Rate:", minRateField = new JTextField(5));
+        addFilterField(filterPanel, "to", maxRateField = new JTextField(5));
+
+        availableOnlyCheckBox = new JCheckBox("Available only");
+        availableOnlyCheckBox.setFont(Theme.BODY_FONT);
+        availableOnlyCheckBox.setBackground(Theme.SECONDARY_COLOR);
+        filterPanel.add(availableOnlyCheckBox);
+
+        filterResultLabel = new JLabel(" ");
+        filterResultLabel.setFont(Theme.BODY_FONT);
+        filterPanel.add(filterResultLabel);
+
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setString("Loading...");
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+
+        JPanel northPanel = new JPanel(new BorderLayout(5, 5));
+        northPanel.setBackground(Theme.SECONDARY_COLOR);
+        northPanel.add(filterPanel, BorderLayout.NORTH);
+        northPanel.add(progressBar, BorderLayout.SOUTH);
+        add(northPanel, BorderLayout.NORTH);
+    }
+
+    /**
+     * Adds a labeled filter field to the filter bar.
+     */
+    private void addFilterField(JPanel panel, String labelText, JTextField field) {
+        JLabel label = new JLabel(labelText);
+        label.setFont(Theme.BODY_FONT);
+        panel.add(label);
+
+        field.setFont(Theme.BODY_FONT);
+        field.setBorder(Theme.INPUT_BORDER);
+        panel.add(field);
+    }
+
     /**
      * Adds a labeled form field to the specified panel.
      * 
@@ -181,10 +235,13 @@ public class CarPanel extends JPanel {
     }
 
     // Getters for UI components
-    public DefaultTableModel getTableModel() { return tableModel; }
+    public CarTableModel getTableModel() { return tableModel; }
+    public CarRowSorter getRowSorter() { return rowSorter; }
+    public JProgressBar getProgressBar() { return progressBar; }
     public JButton getAddButton() { return addButton; }
     public JButton getUpdateButton() { return updateButton; }
     public JButton getDeleteButton() { return deleteButton; }
+    public JButton getRefreshButton() { return refreshButton; }
     public JTextField getMakeField() { return makeField; }
     public JTextField getModelField() { return modelField; }
     public JTextField getYearField() { return yearField; }
@@ -192,6 +249,14 @@ public class CarPanel extends JPanel {
     public JTextField getHourlyRateField() { return hourlyRateField; }
     public JCheckBox getAvailableCheckBox() { return availableCheckBox; }
     public JTable getCarTable() { return carTable; }
+    public JTextField getFilterMakeField() { return filterMakeField; }
+    public JTextField getFilterModelField() { return filterModelField; }
+    public JTextField getMinYearField() { return minYearField; }
+    public JTextField getMaxYearField() { return maxYearField; }
+    public JTextField getMinRateField() { return minRateField; }
+    public JTextField getMaxRateField() { return maxRateField; }
+    public JCheckBox getAvailableOnlyCheckBox() { return availableOnlyCheckBox; }
+    public JLabel getFilterResultLabel() { return filterResultLabel; }
 
     /**
      * Clears all input fields in the form.
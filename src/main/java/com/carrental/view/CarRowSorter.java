@@ -0,0 +1,259 @@
+package main.java.com.carrental.view;
+
+import main.java.com.carrental.model.Car;
+import main.java.com.carrental.model.CarSearchCriteria;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Filters and sorts the rows of a {@link CarTableModel} without touching the
+ * database and without boxing a value per comparison.
+ *
+ * <p>{@link javax.swing.table.TableRowSorter} reads every cell through
+ * {@code getValueAt} as an object and compares with a {@link java.util.Comparator},
+ * so each sort boxes every year and rate and runs a collator on every string
+ * comparison. This sorter instead keeps, per column, one {@code int} rank per
+ * model row: the ID, year, rate in cents or availability flag as is, and for
+ * text columns the position of the value in collator order. The ranks are
+ * computed the first time a column is sorted and kept until the model
+ * changes. A sort packs rank and model row into a {@code long} and sorts a
+ * {@code long[]}, so rows with equal keys keep their model order.</p>
+ *
+ * <p>The filter is a {@link CarSearchCriteria}, checked directly against the
+ * cars in the model. One column is sorted at a time; clicking a header cycles
+ * through ascending, descending and unsorted.</p>
+ */
+public class CarRowSorter extends RowSorter<CarTableModel> {
+    private final CarTableModel model;
+    private final Collator collator = Collator.getInstance();
+    private final int[][] ranks = new int[CarTableModel.AVAILABLE + 1][];
+    private CarSearchCriteria filter;
+    private List<SortKey> sortKeys = Collections.emptyList();
+    private int[] viewToModel = new int[0];
+    private int[] modelToView = new int[0];
+
+    /**
+     * @param model The model whose rows are filtered and sorted
+     */
+    public CarRowSorter(CarTableModel model) {
+        this.model = model;
+        sort();
+    }
+
+    /**
+     * Shows only the cars matching the criteria.
+     *
+     * @param filter The criteria, or null to show every car
+     */
+    public void setFilter(CarSearchCriteria filter) {
+        this.filter = filter != null && !filter.isEmpty() ? filter : null;
+        sort();
+    }
+
+    @Override
+    public CarTableModel getModel() {
+        return model;
+    }
+
+    @Override
+    public void toggleSortOrder(int column) {
+        SortOrder order = SortOrder.ASCENDING;
+        if (!sortKeys.isEmpty() && sortKeys.get(0).getColumn() == column) {
+            switch (sortKeys.get(0).getSortOrder()) {
+                case ASCENDING: order = SortOrder.DESCENDING; break;
+                case DESCENDING: order = SortOrder.UNSORTED; break;
+                default: break;
+            }
+        }
+        setSortKeys(order == SortOrder.UNSORTED
+            ? Collections.emptyList()
+            : Collections.singletonList(new SortKey(column, order)));
+    }
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        if (index < 0 || index >= viewToModel.length) {
+            throw new IndexOutOfBoundsException("Invalid view index " + index);
+        }
+        return viewToModel[index];
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        if (index < 0 || index >= modelToView.length) {
+            throw new IndexOutOfBoundsException("Invalid model index " + index);
+        }
+        return modelToView[index];
+    }
+
+    /**
+     * Sorts by the first key only; further keys are ignored.
+     */
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        List<SortKey> newKeys = keys == null || keys.isEmpty()
+            ? Collections.emptyList()
+            : Collections.singletonList(keys.get(0));
+        if (!newKeys.equals(sortKeys)) {
+            sortKeys = newKeys;
+            fireSortOrderChanged();
+            sort();
+        }
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return viewToModel.length;
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public void modelStructureChanged() {
+        modelChanged();
+    }
+
+    @Override
+    public void allRowsChanged() {
+        modelChanged();
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        modelChanged();
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        modelChanged();
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        modelChanged();
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        modelChanged();
+    }
+
+    private void modelChanged() {
+        Arrays.fill(ranks, null);
+        sort();
+    }
+
+    /**
+     * Rebuilds the view order from the filter and sort key and tells the
+     * table, which uses the previous order to keep its selection.
+     */
+    private void sort() {
+        int[] previous = viewToModel;
+        int rowCount = model.getRowCount();
+
+        int[] included = new int[rowCount];
+        int count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (filter == null || filter.matches(model.getCarAt(row))) {
+                included[count++] = row;
+            }
+        }
+
+        if (!sortKeys.isEmpty() && sortKeys.get(0).getSortOrder() != SortOrder.UNSORTED) {
+            int[] keys = ranks(sortKeys.get(0).getColumn());
+            boolean descending = sortKeys.get(0).getSortOrder() == SortOrder.DESCENDING;
+            long[] packed = new long[count];
+            for (int i = 0; i < count; i++) {
+                int row = included[i];
+                long key = descending ? -(long) keys[row] : keys[row];
+                packed[i] = key << 32 | row;
+            }
+            Arrays.sort(packed);
+            for (int i = 0; i < count; i++) {
+                included[i] = (int) packed[i];
+            }
+        }
+
+        viewToModel = Arrays.copyOf(included, count);
+        modelToView = new int[rowCount];
+        Arrays.fill(modelToView, -1);
+        for (int i = 0; i < count; i++) {
+            modelToView[viewToModel[i]] = i;
+        }
+        fireRowSorterChanged(previous);
+    }
+
+    /**
+     * @return The non-negative sort rank of every model row in a column
+     */
+    private int[] ranks(int column) {
+        if (ranks[column] != null) {
+            return ranks[column];
+        }
+        int rowCount = model.getRowCount();
+        int[] keys = new int[rowCount];
+        switch (column) {
+            case CarTableModel.MAKE:
+            case CarTableModel.MODEL:
+            case CarTableModel.LICENSE_PLATE:
+                rankText(column, keys);
+                break;
+            default:
+                for (int row = 0; row < rowCount; row++) {
+                    keys[row] = numericKey(model.getCarAt(row), column);
+                }
+                break;
+        }
+        ranks[column] = keys;
+        return keys;
+    }
+
+    private static int numericKey(Car car, int column) {
+        switch (column) {
+            case CarTableModel.ID: return car.getCarId();
+            case CarTableModel.YEAR: return Math.max(0, car.getYear());
+            case CarTableModel.HOURLY_RATE: return (int) Math.max(0, Math.min(Integer.MAX_VALUE, Math.round(car.getHourlyRate() * 100)));
+            case CarTableModel.AVAILABLE: return car.isAvailable() ? 1 : 0;
+            default: return 0;
+        }
+    }
+
+    /**
+     * Ranks a text column in collator order; equal values share a rank.
+     * Collation keys are built once per row here, so sorting itself never
+     * calls the collator.
+     */
+    private void rankText(int column, int[] keys) {
+        int rowCount = keys.length;
+        RankedKey[] sorted = new RankedKey[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            Object value = model.getValueAt(row, column);
+            sorted[row] = new RankedKey(collator.getCollationKey(value != null ? value.toString() : ""), row);
+        }
+        Arrays.sort(sorted, (a, b) -> a.key.compareTo(b.key));
+        int rank = 0;
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0 && sorted[i].key.compareTo(sorted[i - 1].key) != 0) {
+                rank++;
+            }
+            keys[sorted[i].row] = rank;
+        }
+    }
+
+    private record RankedKey(CollationKey key, int row) {
+    }
+}
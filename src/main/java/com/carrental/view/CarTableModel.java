@@ -0,0 +1,131 @@
+package main.java.com.carrental.view;
+
+import main.java.com.carrental.model.Car;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Table model for the cars table, holding the {@link Car} objects themselves
+ * rather than boxed cell values, so {@link CarRowSorter} can filter and sort
+ * on the primitive fields.
+ *
+ * <p>All methods must be called on the Event Dispatch Thread.</p>
+ */
+public class CarTableModel extends AbstractTableModel {
+    /** Column indexes, in display order. */
+    public static final int ID = 0, MAKE = 1, MODEL = 2, YEAR = 3, LICENSE_PLATE = 4, HOURLY_RATE = 5, AVAILABLE = 6;
+
+    private static final String[] COLUMN_NAMES =
+        {"ID", "Make", "Model", "Year", "License Plate", "Hourly Rate", "Available"};
+
+    private final List<Car> cars = new ArrayList<>();
+
+    /**
+     * Replaces all rows.
+     *
+     * @param newCars The cars to show, in model order
+     */
+    public void setCars(List<Car> newCars) {
+        cars.clear();
+        cars.addAll(newCars);
+        fireTableDataChanged();
+    }
+
+    /**
+     * Appends a row.
+     *
+     * @param car The car to show
+     */
+    public void addCar(Car car) {
+        cars.add(car);
+        fireTableRowsInserted(cars.size() - 1, cars.size() - 1);
+    }
+
+    /**
+     * Replaces the row of the car with the same ID, if it is shown.
+     *
+     * @param car The updated car
+     */
+    public void updateCar(Car car) {
+        int row = findRow(car.getCarId());
+        if (row >= 0) {
+            cars.set(row, car);
+            fireTableRowsUpdated(row, row);
+        }
+    }
+
+    /**
+     * Removes the row of a car, if it is shown.
+     *
+     * @param carId The ID of the car
+     */
+    public void removeCar(int carId) {
+        int row = findRow(carId);
+        if (row >= 0) {
+            cars.remove(row);
+            fireTableRowsDeleted(row, row);
+        }
+    }
+
+    /**
+     * @param row A model row index
+     * @return The car shown in the row
+     */
+    public Car getCarAt(int row) {
+        return cars.get(row);
+    }
+
+    /**
+     * Finds a row by car ID. The ID is looked up rather than taken from the
+     * selection, since a background load may have replaced the rows while a
+     * confirmation dialog was open.
+     *
+     * @param carId The ID to look for
+     * @return The model row, or -1 if no row holds the ID
+     */
+    public int findRow(int carId) {
+        for (int row = 0; row < cars.size(); row++) {
+            if (cars.get(row).getCarId() == carId) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int getRowCount() {
+        return cars.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return columnIndex == AVAILABLE ? Boolean.class : String.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Car car = cars.get(row);
+        switch (column) {
+            case ID: return car.getCarId();
+            case MAKE: return car.getMake();
+            case MODEL: return car.getModel();
+            case YEAR: return car.getYear();
+            case LICENSE_PLATE: return car.getLicensePlate();
+            case HOURLY_RATE: return car.getHourlyRate();
+            case AVAILABLE: return car.isAvailable();
+            default: return null;
+        }
+    }
+}
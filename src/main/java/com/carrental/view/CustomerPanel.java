@@ -10,14 +10,22 @@ import javax.swing.border.TitledBorder;
 /**
  * The CustomerPanel class represents the graphical user interface for managing customers
  * in the car rental system. It provides a table view of existing customers and a form
- * for adding/editing customer information.
+ * for adding/editing customer information. A search box above the table narrows
+ * it to matching customers, and below it the rental history of the selected
+ * customer is shown.
  */
 public class CustomerPanel extends JPanel {
     // UI Components
     private JTable customerTable;
-    private DefaultTableModel tableModel;
-    private JButton addButton, updateButton, deleteButton;
+    private CustomerTableModel tableModel;
+    private DefaultTableModel historyTableModel;
+    private TitledBorder historyBorder;
+    private JScrollPane historyScroll;
+    private JButton addButton, updateButton, deleteButton, refreshButton;
     private JTextField firstNameField, lastNameField, emailField, phoneField;
+    private JTextField searchField;
+    private JLabel searchResultLabel;
+    private JProgressBar progressBar;
 
     /**
      * Constructs a new CustomerPanel with all UI components initialized.
@@ -34,16 +42,14 @@ public class CustomerPanel extends JPanel {
         initializeTable();
         initializeFormPanel();
         initializeButtonPanel();
+        initializeSearchBar();
     }
 
     /**
      * Initializes and configures the customer table with appropriate styling.
      */
     private void initializeTable() {
-        // Create table model with column headers
-        tableModel = new DefaultTableModel(
-            new Object[]{"ID", "First Name", "Last Name", "Email", "Phone"}, 
-            0);
+        tableModel = new CustomerTableModel();
         
         // Configure table appearance
         customerTable = new JTable(tableModel);
@@ -55,7 +61,44 @@ public class CustomerPanel extends JPanel {
         // Add table to scroll pane with themed border
         JScrollPane tableScroll = new JScrollPane(customerTable);
         tableScroll.setBorder(Theme.PANEL_BORDER);
-        add(tableScroll, BorderLayout.CENTER);
+
+        JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, tableScroll, createHistoryTable());
+        splitPane.setResizeWeight(0.65);
+        splitPane.setBorder(null);
+        splitPane.setBackground(Theme.SECONDARY_COLOR);
+        add(splitPane, BorderLayout.CENTER);
+    }
+
+    /**
+     * Creates the read-only table listing the selected customer's rentals.
+     */
+    private JScrollPane createHistoryTable() {
+        historyTableModel = new DefaultTableModel(
+            new Object[]{"Rental ID", "Car", "Rental Date", "Return Date", "Total Cost"},
+            0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+
+        JTable historyTable = new JTable(historyTableModel);
+        historyTable.setRowHeight(25);
+        historyTable.setFillsViewportHeight(true);
+        historyTable.setSelectionBackground(Theme.LIGHT_RED);
+        historyTable.setSelectionForeground(Theme.TERTIARY_COLOR);
+
+        historyBorder = BorderFactory.createTitledBorder(
+            Theme.PANEL_BORDER,
+            "Rental History",
+            TitledBorder.LEFT,
+            TitledBorder.TOP,
+            Theme.SUBTITLE_FONT,
+            Theme.PRIMARY_COLOR
+        );
+        historyScroll = new JScrollPane(historyTable);
+        historyScroll.setBorder(historyBorder);
+        return historyScroll;
     }
 
     /**
@@ -108,16 +151,52 @@ public class CustomerPanel extends JPanel {
         addButton = createStyledButton("Add Customer");
         updateButton = createStyledButton("Update Customer");
         deleteButton = createStyledButton("Delete Customer");
+        refreshButton = createStyledButton("Refresh");
         
         // Add buttons to panel
         buttonPanel.add(addButton);
         buttonPanel.add(updateButton);
         buttonPanel.add(deleteButton);
+        buttonPanel.add(refreshButton);
 
         // Add button panel to south panel
         ((BorderLayout) ((JPanel) getComponent(1)).getLayout()).addLayoutComponent(buttonPanel, BorderLayout.SOUTH);
     }
 
+    /**
+     * Initializes the search box and the loading indicator shown above the table.
+     */
+    private void initializeSearchBar() {
+        JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+        searchPanel.setBackground(Theme.SECONDARY_COLOR);
+
+        JLabel searchLabel = new JLabel("Search:");
+        searchLabel.setFont(Theme.BODY_FONT);
+        searchPanel.add(searchLabel);
+
+        searchField = new JTextField(30);
+        searchField.setFont(Theme.BODY_FONT);
+        searchField.setBorder(Theme.INPUT_BORDER);
+        searchField.setToolTipText("Name, email or phone number; separate several terms with spaces");
+        searchPanel.add(searchField);
+
+        searchResultLabel = new JLabel(" ");
+        searchResultLabel.setFont(Theme.BODY_FONT);
+        searchPanel.add(searchResultLabel);
+
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setString("Loading...");
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+
+        JPanel northPanel = new JPanel(new BorderLayout(5, 5));
+        northPanel.setBackground(Theme.SECONDARY_COLOR);
+        northPanel.add(searchPanel, BorderLayout.NORTH);
+        northPanel.add(progressBar, BorderLayout.SOUTH);
+        add(northPanel, BorderLayout.NORTH);
+    }
+
     /**
      * Adds a labeled form field to the specified panel.
      * 
@@ -166,16 +245,31 @@ public class CustomerPanel extends JPanel {
     }
 
     // Getters for UI components
-    public DefaultTableModel getTableModel() { return tableModel; }
+    public CustomerTableModel getTableModel() { return tableModel; }
+    public DefaultTableModel getHistoryTableModel() { return historyTableModel; }
+    public JProgressBar getProgressBar() { return progressBar; }
     public JButton getAddButton() { return addButton; }
     public JButton getUpdateButton() { return updateButton; }
     public JButton getDeleteButton() { return deleteButton; }
+    public JButton getRefreshButton() { return refreshButton; }
     public JTextField getFirstNameField() { return firstNameField; }
     public JTextField getLastNameField() { return lastNameField; }
     public JTextField getEmailField() { return emailField; }
     public JTextField getPhoneField() { return phoneField; }
+    public JTextField getSearchField() { return searchField; }
+    public JLabel getSearchResultLabel() { return searchResultLabel; }
     public JTable getCustomerTable() { return customerTable; }
 
+    /**
+     * Sets the title above the rental history table.
+     * 
+     * @param title The title, e.g. naming the selected customer
+     */
+    public void setHistoryTitle(String title) {
+        historyBorder.setTitle(title);
+        historyScroll.repaint();
+    }
+
     /**
      * Clears all input fields in the form.
      */
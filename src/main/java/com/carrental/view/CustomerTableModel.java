@@ -0,0 +1,120 @@
+package main.java.com.carrental.view;
+
+import main.java.com.carrental.model.Customer;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Table model for the customers table, holding the {@link Customer} objects
+ * themselves, like {@link CarTableModel} does for cars.
+ *
+ * <p>All methods must be called on the Event Dispatch Thread.</p>
+ */
+public class CustomerTableModel extends AbstractTableModel {
+    /** Column indexes, in display order. */
+    public static final int ID = 0, FIRST_NAME = 1, LAST_NAME = 2, EMAIL = 3, PHONE = 4;
+
+    private static final String[] COLUMN_NAMES = {"ID", "First Name", "Last Name", "Email", "Phone"};
+
+    private final List<Customer> customers = new ArrayList<>();
+
+    /**
+     * Replaces all rows.
+     *
+     * @param newCustomers The customers to show, in model order
+     */
+    public void setCustomers(List<Customer> newCustomers) {
+        customers.clear();
+        customers.addAll(newCustomers);
+        fireTableDataChanged();
+    }
+
+    /**
+     * Appends a row.
+     *
+     * @param customer The customer to show
+     */
+    public void addCustomer(Customer customer) {
+        customers.add(customer);
+        fireTableRowsInserted(customers.size() - 1, customers.size() - 1);
+    }
+
+    /**
+     * Replaces the row of the customer with the same ID, if it is shown.
+     *
+     * @param customer The updated customer
+     */
+    public void updateCustomer(Customer customer) {
+        int row = findRow(customer.getCustomerId());
+        if (row >= 0) {
+            customers.set(row, customer);
+            fireTableRowsUpdated(row, row);
+        }
+    }
+
+    /**
+     * Removes the row of a customer, if it is shown.
+     *
+     * @param customerId The ID of the customer
+     */
+    public void removeCustomer(int customerId) {
+        int row = findRow(customerId);
+        if (row >= 0) {
+            customers.remove(row);
+            fireTableRowsDeleted(row, row);
+        }
+    }
+
+    /**
+     * @param row A model row index
+     * @return The customer shown in the row
+     */
+    public Customer getCustomerAt(int row) {
+        return customers.get(row);
+    }
+
+    /**
+     * Finds a row by customer ID, for the same reason as {@link CarTableModel#findRow}.
+     *
+     * @param customerId The ID to look for
+     * @return The model row, or -1 if no row holds the ID
+     */
+    public int findRow(int customerId) {
+        for (int row = 0; row < customers.size(); row++) {
+            if (customers.get(row).getCustomerId() == customerId) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int getRowCount() {
+        return customers.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Customer customer = customers.get(row);
+        switch (column) {
+            case ID: return customer.getCustomerId();
+            case FIRST_NAME: return customer.getFirstName();
+            case LAST_NAME: return customer.getLastName();
+            case EMAIL: return customer.getEmail();
+            case PHONE: return customer.getPhoneNumber();
+            default: return null;
+        }
+    }
+}
@@ -6,13 +6,14 @@ import java.awt.image.BufferedImage;
 
 /**
  * The MainFrame class represents the main application window of the Car Rental Management System.
- * It contains tabbed panels for managing cars, customers, and rentals with emoji-based icons.
+ * It contains tabbed panels for managing cars, customers, and rentals, and for reports, with emoji-based icons.
  */
 public class MainFrame extends JFrame {
     private JTabbedPane tabbedPane;
     private CarPanel carPanel;
     private CustomerPanel customerPanel;
     private RentalPanel rentalPanel;
+    private ReportPanel reportPanel;
     
     /**
      * Creates an icon from an emoji character for use in tab headers.
@@ -73,11 +74,13 @@ public class MainFrame extends JFrame {
         carPanel = new CarPanel();
         customerPanel = new CustomerPanel();
         rentalPanel = new RentalPanel();
+        reportPanel = new ReportPanel();
 
         // Add tabs with emoji icons
         tabbedPane.addTab("Cars", createTabIcon("🚗"), carPanel);
         tabbedPane.addTab("Customers", createTabIcon("👤"), customerPanel);
         tabbedPane.addTab("Rentals", createTabIcon("📝"), rentalPanel);
+        tabbedPane.addTab("Reports", createTabIcon("📊"), reportPanel);
         
         // Style all tabs
         for (int i = 0; i < tabbedPane.getTabCount(); i++) {
@@ -143,4 +146,11 @@ public class MainFrame extends JFrame {
     public RentalPanel getRentalPanel() {
         return rentalPanel;
     }
+
+    /**
+     * @return The ReportPanel instance
+     */
+    public ReportPanel getReportPanel() {
+        return reportPanel;
+    }
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package main.java.com.carrental.view;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.time.LocalDate;
 import org.jdesktop.swingx.JXDatePicker;
@@ -22,12 +21,13 @@ import javax.swing.border.TitledBorder;
  */
 public class RentalPanel extends JPanel {
     private JTable rentalTable;
-    private DefaultTableModel tableModel;
-    private JButton addButton, updateButton, deleteButton, calculateCostButton;
+    private RentalTableModel tableModel;
+    private JButton addButton, updateButton, deleteButton, calculateCostButton, refreshButton;
     private JTextField carIdField, customerIdField;
     private JXDatePicker rentalDatePicker, returnDatePicker;
     private JSpinner rentalTimeSpinner, returnTimeSpinner;
     private JLabel totalCostLabel;
+    private JProgressBar progressBar;
 
     /**
      * Constructs a new RentalPanel with all UI components initialized.
@@ -43,16 +43,15 @@ public class RentalPanel extends JPanel {
 
         initializeTable();
         initializeFormPanel();
+        initializeProgressBar();
     }
 
     /**
      * Initializes and configures the rental table.
+     * Rows are fetched page by page as the table is scrolled.
      */
     private void initializeTable() {
-        tableModel = new DefaultTableModel(
-            new Object[]{"ID", "Car", "Customer", "Rental Date", "Return Date", "Total Cost"}, 
-            0
-        );
+        tableModel = new RentalTableModel();
         
         rentalTable = new JTable(tableModel);
         rentalTable.setRowHeight(25);
@@ -175,15 +174,29 @@ public class RentalPanel extends JPanel {
         updateButton = createStyledButton("Update Rental");
         deleteButton = createStyledButton("Delete Rental");
         calculateCostButton = createStyledButton("Calculate Cost");
+        refreshButton = createStyledButton("Refresh");
         
         buttonPanel.add(addButton);
         buttonPanel.add(updateButton);
         buttonPanel.add(deleteButton);
         buttonPanel.add(calculateCostButton);
+        buttonPanel.add(refreshButton);
 
         return buttonPanel;
     }
 
+    /**
+     * Initializes the loading indicator shown above the table while data loads.
+     */
+    private void initializeProgressBar() {
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setString("Loading...");
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+        add(progressBar, BorderLayout.NORTH);
+    }
+
     /**
      * Creates a new time spinner with default settings.
      */
@@ -255,11 +268,13 @@ public class RentalPanel extends JPanel {
     }
 
     // Getters for UI components
-    public DefaultTableModel getTableModel() { return tableModel; }
+    public RentalTableModel getTableModel() { return tableModel; }
+    public JProgressBar getProgressBar() { return progressBar; }
     public JButton getAddButton() { return addButton; }
     public JButton getUpdateButton() { return updateButton; }
     public JButton getDeleteButton() { return deleteButton; }
     public JButton getCalculateCostButton() { return calculateCostButton; }
+    public JButton getRefreshButton() { return refreshButton; }
     public JTextField getCarIdField() { return carIdField; }
     public JTextField getCustomerIdField() { return customerIdField; }
     public JLabel getTotalCostLabel() { return totalCostLabel; }
@@ -0,0 +1,267 @@
+package main.java.com.carrental.view;
+
+import main.java.com.carrental.model.Rental;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A virtualized table model for the rentals table.
+ * Only the sorted rental IDs are held for the whole table; the rows themselves
+ * are fetched a page at a time when the table first asks for them, and at most
+ * {@link #MAX_RESIDENT_PAGES} pages stay in memory, evicting the least
+ * recently used page first.
+ *
+ * <p>The model never touches the database itself. When a row that is not
+ * resident is painted, it asks its {@link PageFetcher} to load the page
+ * (keyed by the last rental ID before it) and shows empty cells until
+ * {@link #putPage} delivers the rows. A page whose fetch never completes is
+ * not requested again until the next {@link #reset}, so a failing database
+ * does not trigger a fetch on every repaint.</p>
+ *
+ * <p>All methods must be called on the Event Dispatch Thread.</p>
+ */
+public class RentalTableModel extends AbstractTableModel {
+    /** Number of rows fetched per page. */
+    public static final int PAGE_SIZE = 200;
+
+    /** Maximum number of pages kept in memory. */
+    public static final int MAX_RESIDENT_PAGES = 10;
+
+    private static final String[] COLUMN_NAMES =
+        {"ID", "Car", "Customer", "Rental Date", "Return Date", "Total Cost"};
+
+    /**
+     * Loads pages on behalf of the model, typically in the background.
+     */
+    public interface PageFetcher {
+        /**
+         * Requests a page of rentals. The implementation must eventually call
+         * {@link #putPage} on the Event Dispatch Thread with the same request ID and page.
+         *
+         * @param requestId Identifies this request; responses to outdated requests are ignored
+         * @param page The page index
+         * @param afterRentalId The keyset bound: the page holds rentals with greater IDs
+         * @param limit The number of rows in the page
+         */
+        void fetchPage(int requestId, int page, int afterRentalId, int limit);
+    }
+
+    private int[] rentalIds = new int[0];
+    private int rowCount;
+    private int nextRequestId;
+    private PageFetcher pageFetcher;
+    private final Map<Integer, Integer> pendingRequests = new HashMap<>();
+    private final Map<Integer, Rental[]> residentPages =
+        new LinkedHashMap<Integer, Rental[]>(MAX_RESIDENT_PAGES + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Rental[]> eldest) {
+                return size() > MAX_RESIDENT_PAGES;
+            }
+        };
+
+    /**
+     * @param pageFetcher The fetcher used to load pages that are not resident
+     */
+    public void setPageFetcher(PageFetcher pageFetcher) {
+        this.pageFetcher = pageFetcher;
+    }
+
+    /**
+     * Replaces the table contents with a new set of rental IDs and drops all
+     * resident pages. Page loads still in flight for the old contents are ignored.
+     *
+     * @param sortedRentalIds All rental IDs in ascending order
+     */
+    public void reset(int[] sortedRentalIds) {
+        rentalIds = sortedRentalIds;
+        rowCount = sortedRentalIds.length;
+        residentPages.clear();
+        pendingRequests.clear();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Stores a fetched page and repaints its rows.
+     *
+     * @param requestId The request ID passed to {@link PageFetcher#fetchPage}
+     * @param page The page index
+     * @param rentals The rentals in the page, in ascending ID order
+     */
+    public void putPage(int requestId, int page, List<Rental> rentals) {
+        Integer pending = pendingRequests.get(page);
+        if (pending == null || pending != requestId) {
+            return; // Fetched for rows that have since been reset or shifted
+        }
+        pendingRequests.remove(page);
+        int first = page * PAGE_SIZE;
+        int last = Math.min(first + PAGE_SIZE, rowCount) - 1;
+        if (first > last) {
+            return;
+        }
+
+        // Place each rental at the row of its ID, so rows deleted elsewhere leave blanks
+        Rental[] rows = new Rental[last - first + 1];
+        int next = 0;
+        for (Rental rental : rentals) {
+            while (next < rows.length && rentalIds[first + next] < rental.getRentalId()) {
+                next++;
+            }
+            if (next < rows.length && rentalIds[first + next] == rental.getRentalId()) {
+                rows[next++] = rental;
+            }
+        }
+        residentPages.put(page, rows);
+        fireTableRowsUpdated(first, last);
+    }
+
+    /**
+     * Inserts a newly created rental as a single row. New IDs normally sort
+     * last, in which case the row is appended to the resident last page;
+     * otherwise pages from the insertion point onwards are dropped and
+     * re-fetched when next painted.
+     *
+     * @param rental The rental as written to the database, with its generated ID
+     */
+    public void addRental(Rental rental) {
+        int row = -(Arrays.binarySearch(rentalIds, 0, rowCount, rental.getRentalId()) + 1);
+        if (row < 0) {
+            updateRental(rental); // Already present
+            return;
+        }
+        if (rowCount == rentalIds.length) {
+            rentalIds = Arrays.copyOf(rentalIds, Math.max(16, rowCount + (rowCount >> 1)));
+        }
+        System.arraycopy(rentalIds, row, rentalIds, row + 1, rowCount - row);
+        rentalIds[row] = rental.getRentalId();
+        rowCount++;
+
+        int page = row / PAGE_SIZE;
+        Rental[] rows = residentPages.get(page);
+        if (row == rowCount - 1 && rows != null) {
+            Rental[] grown = Arrays.copyOf(rows, rows.length + 1);
+            grown[grown.length - 1] = rental;
+            residentPages.put(page, grown);
+        } else {
+            dropPagesFrom(page);
+        }
+        fireTableRowsInserted(row, row);
+    }
+
+    /**
+     * Replaces an edited rental in its row, if that row's page is resident.
+     *
+     * @param rental The rental as written to the database
+     */
+    public void updateRental(Rental rental) {
+        int row = Arrays.binarySearch(rentalIds, 0, rowCount, rental.getRentalId());
+        if (row < 0) {
+            return;
+        }
+        int page = row / PAGE_SIZE;
+        Rental[] rows = residentPages.get(page);
+        if (rows != null) {
+            rows[row - page * PAGE_SIZE] = rental;
+        }
+        fireTableRowsUpdated(row, row);
+    }
+
+    /**
+     * Removes a deleted rental's row. Later rows shift up, so pages from the
+     * row's page onwards are dropped and re-fetched when next painted.
+     *
+     * @param rentalId The ID of the deleted rental
+     */
+    public void removeRental(int rentalId) {
+        int row = Arrays.binarySearch(rentalIds, 0, rowCount, rentalId);
+        if (row < 0) {
+            return;
+        }
+        System.arraycopy(rentalIds, row + 1, rentalIds, row, rowCount - row - 1);
+        rowCount--;
+        dropPagesFrom(row / PAGE_SIZE);
+        fireTableRowsDeleted(row, row);
+    }
+
+    /**
+     * @param row The model row
+     * @return The ID of the rental in that row
+     */
+    public int getRentalIdAt(int row) {
+        return rentalIds[row];
+    }
+
+    /**
+     * Returns the rental in a row, requesting its page if it is not resident.
+     *
+     * @param row The model row
+     * @return The rental, or null while its page is loading
+     */
+    public Rental getRentalAt(int row) {
+        int page = row / PAGE_SIZE;
+        Rental[] rows = residentPages.get(page);
+        if (rows == null) {
+            requestPage(page);
+            return null;
+        }
+        return rows[row - page * PAGE_SIZE];
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (column == 0) {
+            return rentalIds[row];
+        }
+        Rental rental = getRentalAt(row);
+        if (rental == null) {
+            return null;
+        }
+        switch (column) {
+            case 1: return rental.getCarId();
+            case 2: return rental.getCustomerId();
+            case 3: return rental.getRentalDatetime();
+            case 4: return rental.getReturnDatetime();
+            case 5: return rental.getTotalCost();
+            default: return null;
+        }
+    }
+
+    /**
+     * Forgets resident and requested pages at or after the given page,
+     * whose rows no longer line up with the ID array.
+     */
+    private void dropPagesFrom(int page) {
+        residentPages.keySet().removeIf(p -> p >= page);
+        pendingRequests.keySet().removeIf(p -> p >= page);
+    }
+
+    private void requestPage(int page) {
+        if (pageFetcher == null || pendingRequests.containsKey(page)) {
+            return;
+        }
+        int requestId = ++nextRequestId;
+        pendingRequests.put(page, requestId);
+        int afterRentalId = page == 0 ? 0 : rentalIds[page * PAGE_SIZE - 1];
+        int limit = Math.min(PAGE_SIZE, rowCount - page * PAGE_SIZE);
+        pageFetcher.fetchPage(requestId, page, afterRentalId, limit);
+    }
+}
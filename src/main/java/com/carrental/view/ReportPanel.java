@@ -0,0 +1,219 @@
+package main.java.com.carrental.view;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import org.jdesktop.swingx.JXDatePicker;
+import javax.swing.border.TitledBorder;
+
+/**
+ * The ReportPanel class shows revenue, utilization and top customer reports
+ * for a date range. A filter bar selects the range, the revenue period and
+ * optionally a car make; the figures are shown in three read-only tables
+ * with a summary line above them.
+ */
+public class ReportPanel extends JPanel {
+    private JXDatePicker fromDatePicker, toDatePicker;
+    private JComboBox<String> periodComboBox, makeComboBox;
+    private JButton runButton;
+    private JLabel summaryLabel;
+    private DefaultTableModel revenueTableModel, utilizationTableModel, customerTableModel;
+    private JProgressBar progressBar;
+
+    /**
+     * Constructs a new ReportPanel with all UI components initialized.
+     */
+    public ReportPanel() {
+        // Apply theme before creating components
+        Theme.applyTheme();
+
+        // Set up main panel properties
+        setLayout(new BorderLayout(10, 10));
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        setBackground(Theme.SECONDARY_COLOR);
+
+        initializeFilterPanel();
+        initializeTables();
+    }
+
+    /**
+     * Initializes the filter bar, summary line and loading indicator above the tables.
+     */
+    private void initializeFilterPanel() {
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+        filterPanel.setBackground(Theme.SECONDARY_COLOR);
+
+        addFilter(filterPanel, "From:", fromDatePicker = new JXDatePicker());
+        addFilter(filterPanel, "To:", toDatePicker = new JXDatePicker());
+        addFilter(filterPanel, "Revenue per:", periodComboBox = new JComboBox<>(new String[]{"Day", "Week", "Month"}));
+        addFilter(filterPanel, "Make:", makeComboBox = new JComboBox<>(new String[]{"All makes"}));
+        styleDatePicker(fromDatePicker);
+        styleDatePicker(toDatePicker);
+        periodComboBox.setSelectedItem("Month");
+
+        runButton = createStyledButton("Run Report");
+        filterPanel.add(runButton);
+
+        summaryLabel = new JLabel(" ");
+        summaryLabel.setFont(Theme.BODY_FONT);
+        summaryLabel.setBorder(BorderFactory.createEmptyBorder(0, 10, 0, 10));
+
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setString("Loading...");
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+
+        JPanel northPanel = new JPanel(new BorderLayout(5, 5));
+        northPanel.setBackground(Theme.SECONDARY_COLOR);
+        northPanel.add(filterPanel, BorderLayout.NORTH);
+        northPanel.add(summaryLabel, BorderLayout.CENTER);
+        northPanel.add(progressBar, BorderLayout.SOUTH);
+        add(northPanel, BorderLayout.NORTH);
+    }
+
+    /**
+     * Initializes the revenue, utilization and top customer tables side by side.
+     */
+    private void initializeTables() {
+        revenueTableModel = createTableModel("Period", "Rentals", "Revenue");
+        utilizationTableModel = createTableModel("Car", "Booked Hours", "Utilization");
+        customerTableModel = createTableModel("Customer", "Rentals", "Revenue");
+
+        JPanel tablesPanel = new JPanel(new GridLayout(1, 3, 10, 10));
+        tablesPanel.setBackground(Theme.SECONDARY_COLOR);
+        tablesPanel.add(createTableScroll(revenueTableModel, "Revenue"));
+        tablesPanel.add(createTableScroll(utilizationTableModel, "Utilization"));
+        tablesPanel.add(createTableScroll(customerTableModel, "Top Customers"));
+        add(tablesPanel, BorderLayout.CENTER);
+    }
+
+    /**
+     * Creates a table model whose cells cannot be edited.
+     */
+    private DefaultTableModel createTableModel(String... columns) {
+        return new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Wraps a table for the given model in a scroll pane with a themed title.
+     */
+    private JScrollPane createTableScroll(DefaultTableModel model, String title) {
+        JTable table = new JTable(model);
+        table.setRowHeight(25);
+        table.setFillsViewportHeight(true);
+        table.setSelectionBackground(Theme.LIGHT_RED);
+        table.setSelectionForeground(Theme.TERTIARY_COLOR);
+
+        JScrollPane tableScroll = new JScrollPane(table);
+        tableScroll.setBorder(BorderFactory.createTitledBorder(
+            Theme.PANEL_BORDER,
+            title,
+            TitledBorder.LEFT,
+            TitledBorder.TOP,
+            Theme.SUBTITLE_FONT,
+            Theme.PRIMARY_COLOR
+        ));
+        return tableScroll;
+    }
+
+    /**
+     * Adds a labeled filter component to the filter bar.
+     */
+    private void addFilter(JPanel panel, String labelText, JComponent component) {
+        JLabel label = new JLabel(labelText);
+        label.setFont(Theme.BODY_FONT);
+        panel.add(label);
+
+        component.setFont(Theme.BODY_FONT);
+        panel.add(component);
+    }
+
+    /**
+     * Styles a date picker component with consistent theme.
+     */
+    private void styleDatePicker(JXDatePicker picker) {
+        picker.setFormats("dd/MM/yyyy");
+        picker.getEditor().setFont(Theme.BODY_FONT);
+        picker.getEditor().setBorder(Theme.INPUT_BORDER);
+        picker.getEditor().setBackground(Theme.SECONDARY_COLOR);
+        picker.getEditor().setForeground(Theme.TERTIARY_COLOR);
+        picker.setBorder(BorderFactory.createEmptyBorder());
+    }
+
+    /**
+     * Creates a styled button with hover effects.
+     *
+     * @param text The button text
+     * @return The configured JButton
+     */
+    private JButton createStyledButton(String text) {
+        JButton button = new JButton(text);
+        button.setFont(Theme.BUTTON_FONT);
+        button.setBackground(Theme.PRIMARY_COLOR);
+        button.setForeground(Theme.SECONDARY_COLOR);
+        button.setFocusPainted(false);
+        button.setPreferredSize(new Dimension(120, 30));
+        button.setBorder(Theme.ROUNDED_BORDER);
+
+        // Add hover effects
+        button.addMouseListener(new java.awt.event.MouseAdapter() {
+            public void mouseEntered(java.awt.event.MouseEvent evt) {
+                button.setBackground(Theme.PRIMARY_COLOR.brighter());
+            }
+
+            public void mouseExited(java.awt.event.MouseEvent evt) {
+                button.setBackground(Theme.PRIMARY_COLOR);
+            }
+        });
+
+        return button;
+    }
+
+    /**
+     * @return The selected start date, or null if none is selected
+     */
+    public LocalDate getFromDate() {
+        return toLocalDate(fromDatePicker.getDate());
+    }
+
+    /**
+     * @return The selected end date, or null if none is selected
+     */
+    public LocalDate getToDate() {
+        return toLocalDate(toDatePicker.getDate());
+    }
+
+    /**
+     * Selects the report range.
+     *
+     * @param from The first day
+     * @param to The last day, inclusive
+     */
+    public void setDateRange(LocalDate from, LocalDate to) {
+        fromDatePicker.setDate(Date.from(from.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        toDatePicker.setDate(Date.from(to.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date != null ? date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate() : null;
+    }
+
+    // Getters for UI components
+    public JComboBox<String> getPeriodComboBox() { return periodComboBox; }
+    public JComboBox<String> getMakeComboBox() { return makeComboBox; }
+    public JButton getRunButton() { return runButton; }
+    public JLabel getSummaryLabel() { return summaryLabel; }
+    public DefaultTableModel getRevenueTableModel() { return revenueTableModel; }
+    public DefaultTableModel getUtilizationTableModel() { return utilizationTableModel; }
+    public DefaultTableModel getCustomerTableModel() { return customerTableModel; }
+    public JProgressBar getProgressBar() { return progressBar; }
+}